@@ -0,0 +1,112 @@
+package com.example.aoi_endka.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with fixed settings and compares the scores with benchmarks/baseline.json
+ *
+ * Settings: 1 fork with a 1 GB heap, 3 warmup and 5 measured iterations of 1 s each. The full JMH
+ * result goes to target/jmh-result.json. With -Dbenchmarks.saveBaseline=true the scores replace the
+ * baseline, together with the JVM and processor count they were measured on
+ */
+public final class BenchmarkRunner {
+
+    private static final File BASELINE = new File("benchmarks/baseline.json");
+    private static final String RESULT = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 && !args[0].isBlank() ? args[0] : ".*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .exclude(BenchmarkRunner.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .jvmArgsAppend("-Xms1g", "-Xmx1g")
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        JsonMapper json = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+        Map<String, Map<String, Object>> scores = scores(results);
+        compare(json, scores);
+        if (Boolean.getBoolean("benchmarks.saveBaseline")) {
+            Map<String, Object> baseline = new LinkedHashMap<>();
+            baseline.put("date", LocalDate.now().toString());
+            baseline.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+            baseline.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+            baseline.put("processors", Runtime.getRuntime().availableProcessors());
+            baseline.put("scores", scores);
+            BASELINE.getParentFile().mkdirs();
+            json.writeValue(BASELINE, baseline);
+            System.out.println("Baseline written to " + BASELINE);
+        }
+    }
+
+    // "SortingBenchmark.sortByName size=100" -> score, error, unit
+    private static Map<String, Map<String, Object>> scores(Collection<RunResult> results) {
+        Map<String, Map<String, Object>> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            String benchmark = params.getBenchmark();
+            // Class and method without the package
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            for (String param : params.getParamsKeys()) {
+                key.append(' ').append(param).append('=').append(params.getParam(param));
+            }
+            Map<String, Object> score = new LinkedHashMap<>();
+            score.put("score", round(result.getPrimaryResult().getScore()));
+            score.put("error", round(result.getPrimaryResult().getScoreError()));
+            score.put("unit", result.getPrimaryResult().getScoreUnit());
+            scores.put(key.toString(), score);
+        }
+        return scores;
+    }
+
+    private static void compare(JsonMapper json, Map<String, Map<String, Object>> scores) {
+        if (!BASELINE.isFile()) {
+            System.out.println("No baseline at " + BASELINE + ", run with -Dbenchmarks.saveBaseline=true to create one");
+            return;
+        }
+        JsonNode baseline = json.readTree(BASELINE).path("scores");
+        System.out.println();
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "baseline", "now", "change");
+        scores.forEach((key, score) -> {
+            JsonNode before = baseline.path(key);
+            double now = (Double) score.get("score");
+            if (before.isMissingNode()) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", key, "-", now, "new", score.get("unit"));
+            } else {
+                double then = before.path("score").asDouble();
+                System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%n", key, then, now, (now - then) / then * 100, score.get("unit"));
+            }
+        });
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.aoi_endka.benchmarks;
+
+import com.example.aoi_endka.cache.SimpleCashe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimpleCashe get and put, alone and with 4 threads on the same keys
+ *
+ * The cache is the application singleton; keys are in the "characters" region like CharacterService's
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheBenchmark {
+
+    private static final int KEYS = 1024;
+
+    private final SimpleCashe cache = SimpleCashe.getInstance();
+    private final String[] keys = new String[KEYS];
+    private final String[] missingKeys = new String[KEYS];
+    private final Object value = new Object();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & (KEYS - 1);
+            return next;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "characters:" + i;
+            missingKeys[i] = "characters:missing:" + i;
+            cache.put(keys[i], value);
+        }
+    }
+
+    @Benchmark
+    public Optional<Object> getHit(Cursor cursor) {
+        return cache.get(keys[cursor.advance()], Object.class);
+    }
+
+    @Benchmark
+    public Optional<Object> getMiss(Cursor cursor) {
+        return cache.get(missingKeys[cursor.advance()], Object.class);
+    }
+
+    @Benchmark
+    public void put(Cursor cursor) {
+        cache.put(keys[cursor.advance()], value);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Object> getHitContended(Cursor cursor) {
+        return cache.get(keys[cursor.advance()], Object.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void putContended(Cursor cursor) {
+        cache.put(keys[cursor.advance()], value);
+    }
+
+    // 3 readers and 1 writer on the same keys
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Optional<Object> reader(Cursor cursor) {
+        return cache.get(keys[cursor.advance()], Object.class);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void writer(Cursor cursor) {
+        cache.put(keys[cursor.advance()], value);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.aoi_endka.benchmarks;
+
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.model.Mage;
+import com.example.aoi_endka.model.Rogue;
+import com.example.aoi_endka.model.Warrior;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark fixtures: the same characters on every run, a third of each type
+ */
+public final class Characters {
+
+    private static final long SEED = 42;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final String[] WEAPONS = {"Sword", "Axe", "Hammer", "Spear"};
+    private static final String[] SCHOOLS = {"Fire", "Ice", "Arcane", "Nature"};
+
+    private Characters() {
+    }
+
+    public static List<GameEntity> generate(int count) {
+        Random random = new Random(SEED);
+        List<GameEntity> characters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            characters.add(create(i + 1, random));
+        }
+        return characters;
+    }
+
+    private static GameEntity create(int id, Random random) {
+        String name = "Char" + Integer.toString(random.nextInt(1_000_000), 36) + "-" + id;
+        int level = 1 + random.nextInt(100);
+        int experience = random.nextInt(100_000);
+        switch (id % 3) {
+            case 0:
+                return new Warrior(id, name, level, experience, CREATED,
+                        10 + random.nextInt(90), 5 + random.nextInt(60), WEAPONS[random.nextInt(WEAPONS.length)]);
+            case 1:
+                return new Mage(id, name, level, experience, CREATED,
+                        50 + random.nextInt(450), 10 + random.nextInt(90), SCHOOLS[random.nextInt(SCHOOLS.length)]);
+            default:
+                return new Rogue(id, name, level, experience, CREATED,
+                        10 + random.nextInt(90), 5 + random.nextInt(60), random.nextInt(50) / 100.0);
+        }
+    }
+}
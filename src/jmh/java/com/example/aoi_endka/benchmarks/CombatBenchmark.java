@@ -0,0 +1,73 @@
+package com.example.aoi_endka.benchmarks;
+
+import com.example.aoi_endka.interfaces.Combatant;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * calculatePower, baseDamage and attack of one character type, or of all three in turn (mixed),
+ * which makes the calls megamorphic as in the services
+ *
+ * attack publishes an AttackResolved event; the bus gets the metrics sink only, so the event is
+ * queued and counted but never printed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CombatBenchmark {
+
+    private static final int CHARACTERS = 3 * 256;
+
+    @Param({"WARRIOR", "MAGE", "ROGUE", "mixed"})
+    public String type;
+
+    private GameEntity[] characters;
+    // The same characters as Combatant
+    private Combatant[] combatants;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Before any character is created, the event bus reads its sinks once
+        ConfigurationManager.getInstance().setProperty("events.sinks", "metrics");
+        List<GameEntity> all = Characters.generate(CHARACTERS);
+        characters = all.stream()
+                .filter(c -> type.equals("mixed") || c.getCharacterType().equals(type))
+                .toArray(GameEntity[]::new);
+        combatants = new Combatant[characters.length];
+        for (int i = 0; i < characters.length; i++) {
+            combatants[i] = (Combatant) characters[i];
+        }
+    }
+
+    private int advance() {
+        next = next + 1 < characters.length ? next + 1 : 0;
+        return next;
+    }
+
+    @Benchmark
+    public int calculatePower() {
+        return characters[advance()].calculatePower();
+    }
+
+    @Benchmark
+    public int baseDamage() {
+        return combatants[advance()].baseDamage();
+    }
+
+    @Benchmark
+    public int attack() {
+        return combatants[advance()].attack();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.aoi_endka.benchmarks;
+
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * LoggingService.info per call, synchronous (log.async=false) and async under each log.overflow policy,
+ * to the console alone and with the log file on
+ *
+ * LoggingService reads its configuration once, so every parameter combination needs its own fork
+ * (BenchmarkRunner runs each in one). Console output goes to a discarding stream; the teardown prints
+ * the appender counters, because under drop and sample the score only covers the calls, not what was written
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoggingBenchmark {
+
+    @Param({"SYNC", "BLOCK", "DROP", "SAMPLE"})
+    public String mode;
+
+    @Param({"false", "true"})
+    public boolean file;
+
+    private final PrintStream console = System.out;
+    private LoggingService logging;
+    private Path dir;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("log.async", String.valueOf(!"SYNC".equals(mode)));
+        if (!"SYNC".equals(mode)) {
+            config.setProperty("log.overflow", mode);
+        }
+        config.setProperty("log.rotate.max.archives", "2");
+        config.setProperty("log.rotate.compress", "false");
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+
+        logging = LoggingService.getInstance();
+        if (file) {
+            dir = Files.createTempDirectory("logging-benchmark");
+            logging.setLogFilePath(dir.resolve("application.log").toString());
+            logging.setWriteToFile(true);
+        }
+    }
+
+    @Benchmark
+    public void info() {
+        logging.info("Character " + next++ + " updated");
+    }
+
+    // Queued records must not be written during the next iteration
+    @TearDown(Level.Iteration)
+    public void flush() {
+        logging.flush(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Map<String, Object> stats = logging.getStats();
+        logging.setWriteToFile(false);
+        logging.flush(TimeUnit.SECONDS.toMillis(30));
+        console.printf("%n%s, file %s: %d calls, %s%n", mode, file, next, stats);
+        if (dir != null) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
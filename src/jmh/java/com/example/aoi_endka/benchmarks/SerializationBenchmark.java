@@ -0,0 +1,79 @@
+package com.example.aoi_endka.benchmarks;
+
+import com.example.aoi_endka.cache.ResponseEncodings;
+import com.example.aoi_endka.cache.ResponseFormat;
+import com.example.aoi_endka.model.GameEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Polymorphic Jackson encoding and decoding of GameEntity lists ("type" discriminator) in every
+ * ResponseFormat, with the writers CharacterRestController prepares
+ * The setup prints the body size of each format, plain and gzipped, for the README table
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<GameEntity>> LIST = new TypeReference<>() {};
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    @Param({"JSON", "COMPACT_JSON", "CBOR", "SMILE"})
+    public ResponseFormat format;
+
+    private List<GameEntity> characters;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        characters = Characters.generate(size);
+        // Same as the application mapper, spring.jackson.serialization.indent-output=true
+        JsonMapper jsonMapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+        ResponseEncodings encodings = new ResponseEncodings(jsonMapper, CBORMapper.builder().build());
+        writer = encodings.writersFor(LIST).get(format);
+        reader = encodings.mapperFor(format).readerFor(LIST);
+        body = writer.writeValueAsBytes(characters);
+        System.out.printf("%n%s, %d characters: %d bytes, %d gzipped%n", format, size, body.length, gzippedLength(body));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return writer.writeValueAsBytes(characters);
+    }
+
+    @Benchmark
+    public List<GameEntity> decode() {
+        return reader.readValue(body);
+    }
+
+    private static int gzippedLength(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.aoi_endka.benchmarks;
+
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.utils.SortingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SortingUtils sorts and filters; each sort works on a fresh copy of the list, copy() is that cost alone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private List<GameEntity> characters;
+
+    @Setup
+    public void setUp() {
+        characters = Characters.generate(size);
+    }
+
+    @Benchmark
+    public List<GameEntity> copy() {
+        return new ArrayList<>(characters);
+    }
+
+    @Benchmark
+    public List<GameEntity> sortByName() {
+        List<GameEntity> copy = new ArrayList<>(characters);
+        SortingUtils.sortByName(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<GameEntity> sortByLevelDesc() {
+        List<GameEntity> copy = new ArrayList<>(characters);
+        SortingUtils.sortByLevelDesc(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<GameEntity> sortByExperienceDesc() {
+        List<GameEntity> copy = new ArrayList<>(characters);
+        SortingUtils.sortByExperienceDesc(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<GameEntity> sortByPowerDesc() {
+        List<GameEntity> copy = new ArrayList<>(characters);
+        SortingUtils.sortByPowerDesc(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<GameEntity> filterByMinLevel() {
+        return SortingUtils.filterByMinLevel(characters, 50);
+    }
+
+    @Benchmark
+    public List<GameEntity> filterByType() {
+        return SortingUtils.filterByType(characters, "MAGE");
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.aoi_endka.query;
+
+import com.example.aoi_endka.benchmarks.Characters;
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.model.Mage;
+import com.example.aoi_endka.model.Warrior;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+/**
+ * CharacterBitmapIndex queries against a filtered scan over the same 1 000 000 characters
+ * (the figures in the Character Queries section of the README)
+ * Both return the count and the 100 smallest matching ids; 60% of the characters are in one of 1000 guilds
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BitmapQueryBenchmark {
+
+    private static final int CHARACTERS = 1_000_000;
+    private static final int LIMIT = 100;
+
+    /**
+     * The same condition as a Predicate for the index and as a filter for the scan
+     */
+    public enum Query {
+        TYPE(Predicate.type("MAGE"),
+                (c, guild) -> c.getCharacterType().equals("MAGE")),
+        TYPES_AND_LEVEL(Predicate.and(List.of(Predicate.or(List.of(Predicate.type("MAGE"), Predicate.type("ROGUE"))), Predicate.level(10, 40))),
+                (c, guild) -> (c.getCharacterType().equals("MAGE") || c.getCharacterType().equals("ROGUE")) && c.getLevel() >= 10 && c.getLevel() <= 40),
+        WARRIORS_WITHOUT_GUILD(Predicate.and(List.of(Predicate.type("WARRIOR"), Predicate.hasGuild(false))),
+                (c, guild) -> c.getCharacterType().equals("WARRIOR") && guild == null),
+        WEAPON_IN_GUILDS(Predicate.and(List.of(Predicate.weaponType("Axe"), Predicate.or(List.of(Predicate.guildId(1), Predicate.guildId(2), Predicate.guildId(3))))),
+                (c, guild) -> c instanceof Warrior && ((Warrior) c).getWeaponType().equals("Axe") && guild != null && guild <= 3),
+        LEVEL_RANGE(Predicate.level(33, 77),
+                (c, guild) -> c.getLevel() >= 33 && c.getLevel() <= 77),
+        SCHOOL_HIGH_LEVEL(Predicate.and(List.of(Predicate.spellSchool("Fire"), Predicate.level(90, null))),
+                (c, guild) -> c instanceof Mage && ((Mage) c).getSpellSchool().equals("Fire") && c.getLevel() >= 90),
+        GUILD_WITHOUT_MAGES(Predicate.and(List.of(Predicate.guildId(7), Predicate.not(Predicate.type("MAGE")))),
+                (c, guild) -> guild != null && guild == 7 && !c.getCharacterType().equals("MAGE"));
+
+        final Predicate predicate;
+        final BiPredicate<GameEntity, Integer> filter;
+
+        Query(Predicate predicate, BiPredicate<GameEntity, Integer> filter) {
+            this.predicate = predicate;
+            this.filter = filter;
+        }
+    }
+
+    @Param
+    public Query query;
+
+    private List<GameEntity> characters;
+    private Map<Integer, Integer> guilds;
+    private CharacterBitmapIndex index;
+
+    @Setup
+    public void setUp() {
+        characters = Characters.generate(CHARACTERS);
+        guilds = new HashMap<>();
+        Random random = new Random(42);
+        for (GameEntity character : characters) {
+            if (random.nextInt(10) < 6) {
+                guilds.put(character.getId(), 1 + random.nextInt(1000));
+            }
+        }
+        index = new CharacterBitmapIndex();
+        index.load(characters, guilds);
+    }
+
+    @Benchmark
+    public QueryResult bitmap() throws DatabaseOperationException {
+        return index.query(query.predicate, LIMIT);
+    }
+
+    @Benchmark
+    public QueryResult scan() {
+        // Characters are generated in id order, so the first matches are the smallest ids
+        int[] ids = new int[LIMIT];
+        int count = 0;
+        for (GameEntity character : characters) {
+            if (query.filter.test(character, guilds.get(character.getId()))) {
+                if (count < LIMIT) {
+                    ids[count] = character.getId();
+                }
+                count++;
+            }
+        }
+        return new QueryResult(count, Arrays.copyOf(ids, Math.min(count, LIMIT)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.aoi_endka.repository;
+
+import com.example.aoi_endka.model.GameEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CharacterRepository.buildCharacterFromResultSet for one row of each character type
+ *
+ * The ResultSet is a JDK proxy over a column map; a real driver also finds a column by name with a
+ * hash lookup, so the difference is mostly the proxy call. lookupOnly() is the ResultSet reads of a
+ * Warrior row without building the character
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CharacterMappingBenchmark {
+
+    @Param({"WARRIOR", "MAGE", "ROGUE"})
+    public String type;
+
+    private final CharacterRepository repository = new CharacterRepository();
+    private ResultSet row;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", 17);
+        columns.put("name", "Benchmark");
+        columns.put("character_type", type);
+        columns.put("level", 42);
+        columns.put("experience", 12_345);
+        columns.put("created_date", Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0)));
+        columns.put("strength", 70);
+        columns.put("armor", 40);
+        columns.put("weapon_type", "Sword");
+        columns.put("mana", 300);
+        columns.put("intelligence", 80);
+        columns.put("spell_school", "Fire");
+        columns.put("agility", 65);
+        columns.put("stealth", 30);
+        columns.put("critical_chance", 0.25);
+        row = row(columns);
+    }
+
+    @Benchmark
+    public GameEntity build() throws SQLException {
+        return repository.buildCharacterFromResultSet(row);
+    }
+
+    @Benchmark
+    public int lookupOnly() throws SQLException {
+        return row.getInt("id") + row.getString("name").length() + row.getString("character_type").length()
+                + row.getInt("level") + row.getInt("experience") + row.getTimestamp("created_date").getNanos()
+                + row.getInt("strength") + row.getInt("armor") + row.getString("weapon_type").length();
+    }
+
+    // getInt / getDouble / getString / getTimestamp by column label, wasNull and close; anything else fails
+    private static ResultSet row(Map<String, Object> columns) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInt":
+                        case "getDouble":
+                        case "getString":
+                        case "getTimestamp":
+                            return columns.get((String) args[0]);
+                        case "wasNull":
+                        case "isClosed":
+                            return false;
+                        case "close":
+                            return null;
+                        default:
+                            throw new SQLException("Not supported by the benchmark ResultSet: " + method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.aoi_endka.search;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.model.Guild;
+import com.example.aoi_endka.model.Warrior;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CharacterNameIndex prefix, substring and fuzzy search, GuildNameIndex fuzzy search and the index build,
+ * over 1 000 000 generated names (the figures in the Name Search section of the README)
+ * Queries cycle through 200 fixed ones; fuzzy queries are names with up to distance random typos
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+
+    private static final int NAMES = 1_000_000;
+    private static final int GUILDS = 10_000;
+    private static final int QUERIES = 200;
+    private static final int PAGE = 20;
+    private static final int FUZZY_LIMIT = 10;
+    private static final String[] SYLLABLES = {
+            "ka", "dra", "mor", "vel", "thi", "gan", "ro", "sha", "el", "dor", "ny", "zar", "qui", "bel", "ur", "fen",
+            "lia", "tor", "mis", "vai", "ren", "go", "sil", "ash", "ith", "ox", "pra", "hel", "cu", "wyn", "jo", "ste"};
+
+    private List<GameEntity> characters;
+    private CharacterNameIndex index;
+    private String[] prefixes;
+    private String[] substrings;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        characters = characters(NAMES, random);
+        index = new CharacterNameIndex();
+        index.load(characters);
+        prefixes = new String[QUERIES];
+        substrings = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String name = CharacterNameIndex.fold(characters.get(random.nextInt(NAMES)).getName());
+            prefixes[i] = name.substring(0, 2 + random.nextInt(3));
+            int from = random.nextInt(name.length() - 2);
+            substrings[i] = name.substring(from, from + 3);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public SearchPage prefixFirstPage() throws DatabaseOperationException {
+        return index.search(prefixes[next++ % QUERIES], 0, PAGE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public SearchPage substringPageAt5000() throws DatabaseOperationException {
+        return index.search(substrings[next++ % QUERIES], 5000, PAGE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<FuzzyMatch> fuzzy(FuzzyQueries queries) throws DatabaseOperationException {
+        return index.fuzzy(queries.next(), queries.distance, FUZZY_LIMIT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CharacterNameIndex build() {
+        CharacterNameIndex built = new CharacterNameIndex();
+        built.load(characters);
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<FuzzyMatch> guildFuzzy(GuildNames guilds) throws DatabaseOperationException {
+        return guilds.index.fuzzy(guilds.queries[next++ % QUERIES], 2, FUZZY_LIMIT);
+    }
+
+    /**
+     * Misspelled character names, the same ones for every distance
+     */
+    @State(Scope.Benchmark)
+    public static class FuzzyQueries {
+
+        @Param({"1", "2", "3"})
+        public int distance;
+
+        private String[] queries;
+        private int next;
+
+        @Setup
+        public void setUp(NameSearchBenchmark benchmark) {
+            Random random = new Random(7);
+            queries = new String[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                String name = benchmark.characters.get(random.nextInt(NAMES)).getName();
+                queries[i] = typos(name, random.nextInt(distance + 1), random);
+            }
+        }
+
+        String next() {
+            return queries[next++ % QUERIES];
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GuildNames {
+
+        private GuildNameIndex index;
+        private String[] queries;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(11);
+            List<Guild> guilds = new ArrayList<>(GUILDS);
+            for (int i = 1; i <= GUILDS; i++) {
+                guilds.add(new Guild(i, name(random) + " " + name(random), 1, 0, LocalDateTime.of(2025, 1, 1, 12, 0)));
+            }
+            index = new GuildNameIndex();
+            index.load(guilds);
+            queries = new String[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                queries[i] = typos(guilds.get(random.nextInt(GUILDS)).getGuildName(), random.nextInt(3), random);
+            }
+        }
+    }
+
+    private static List<GameEntity> characters(int count, Random random) {
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<GameEntity> characters = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            characters.add(new Warrior(id, name(random), 1 + random.nextInt(100), 0, created, 50, 20, "Sword"));
+        }
+        return characters;
+    }
+
+    // Two to four syllables, capitalized: "Dramorvel"
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    // Random substitutions, insertions and deletions
+    private static String typos(String name, int count, Random random) {
+        StringBuilder typed = new StringBuilder(name);
+        for (int i = 0; i < count; i++) {
+            int at = random.nextInt(typed.length());
+            char letter = (char) ('a' + random.nextInt(26));
+            switch (random.nextInt(3)) {
+                case 0:
+                    typed.setCharAt(at, letter);
+                    break;
+                case 1:
+                    typed.insert(at, letter);
+                    break;
+                default:
+                    if (typed.length() > 3) {
+                        typed.deleteCharAt(at);
+                    }
+            }
+        }
+        return typed.toString();
+    }
+}
@@ -26,6 +26,10 @@ public class CharacterManagementApplication {
         System.out.println("  DELETE /api/characters/{id}  - Delete character");
         System.out.println("  GET    /api/guilds           - Get all guilds");
         System.out.println("  POST   /api/guilds           - Create guild");
+        System.out.println("  GET    /api/leaderboard      - Strongest characters");
+        System.out.println("  GET    /api/simulations/duel - Monte Carlo combat simulation");
+        System.out.println("  GET    /api/simulations/guild-war - Guild vs guild duel preview");
+        System.out.println("  POST   /api/simulations/tournament - Tournament win probabilities");
         System.out.println();
     }
 }
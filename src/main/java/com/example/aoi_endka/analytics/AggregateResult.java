@@ -0,0 +1,74 @@
+package com.example.aoi_endka.analytics;
+
+import java.util.List;
+
+/**
+ * Result of a ColumnarCharacterStore aggregate: count/sum/min/max/avg of one column per group
+ */
+public class AggregateResult {
+
+    private final Column column;
+    private final GroupBy groupBy;
+    private final List<Group> groups;
+
+    public AggregateResult(Column column, GroupBy groupBy, List<Group> groups) {
+        this.column = column;
+        this.groupBy = groupBy;
+        this.groups = groups;
+    }
+
+    public Column getColumn() {
+        return column;
+    }
+
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Aggregates of one group, key is null for GroupBy.NONE and for rows without the grouped value
+     */
+    public static class Group {
+        private final String key;
+        private final long count;
+        private final double sum;
+        private final double min;
+        private final double max;
+
+        public Group(String key, long count, double sum, double min, double max) {
+            this.key = key;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getAverage() {
+            return count == 0 ? 0 : sum / count;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.aoi_endka.analytics;
+
+/**
+ * Row filter for ColumnarCharacterStore scans
+ * Unset conditions match every row, all set conditions must hold
+ */
+public class CharacterFilter {
+
+    /** guildId value that matches any guild and characters without one */
+    public static final int ANY_GUILD = Integer.MIN_VALUE;
+    /** guildId value that matches characters without a guild */
+    public static final int NO_GUILD = -1;
+
+    private String type;
+    private String weaponType;
+    private String spellSchool;
+    private int minLevel = Integer.MIN_VALUE;
+    private int maxLevel = Integer.MAX_VALUE;
+    private int minPower = Integer.MIN_VALUE;
+    private int maxPower = Integer.MAX_VALUE;
+    private int guildId = ANY_GUILD;
+
+    public static CharacterFilter all() {
+        return new CharacterFilter();
+    }
+
+    public CharacterFilter type(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public CharacterFilter weaponType(String weaponType) {
+        this.weaponType = weaponType;
+        return this;
+    }
+
+    public CharacterFilter spellSchool(String spellSchool) {
+        this.spellSchool = spellSchool;
+        return this;
+    }
+
+    public CharacterFilter minLevel(int minLevel) {
+        this.minLevel = minLevel;
+        return this;
+    }
+
+    public CharacterFilter maxLevel(int maxLevel) {
+        this.maxLevel = maxLevel;
+        return this;
+    }
+
+    public CharacterFilter minPower(int minPower) {
+        this.minPower = minPower;
+        return this;
+    }
+
+    public CharacterFilter maxPower(int maxPower) {
+        this.maxPower = maxPower;
+        return this;
+    }
+
+    public CharacterFilter guildId(int guildId) {
+        this.guildId = guildId;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getWeaponType() {
+        return weaponType;
+    }
+
+    public String getSpellSchool() {
+        return spellSchool;
+    }
+
+    public int getMinLevel() {
+        return minLevel;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    public int getMinPower() {
+        return minPower;
+    }
+
+    public int getMaxPower() {
+        return maxPower;
+    }
+
+    public int getGuildId() {
+        return guildId;
+    }
+}
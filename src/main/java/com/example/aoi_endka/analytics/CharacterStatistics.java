@@ -0,0 +1,395 @@
+package com.example.aoi_endka.analytics;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.repository.CharacterRepository;
+import com.example.aoi_endka.service.CharacterChangeListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Live character statistics for dashboards (counts, averages, histograms)
+ * Counters are adjusted on every write, so a read never scans characters:
+ * the snapshot is built once after a change and then served as is
+ * A scheduled GROUP BY query checks the counters against the database and reloads on drift
+ */
+@Component
+public class CharacterStatistics implements CharacterChangeListener {
+
+    // Bucket 0 holds experience 0, bucket k holds [2^(k-1), 2^k - 1]
+    private static final int EXPERIENCE_BUCKETS = 32;
+    // Indexes into the per-type totals
+    private static final int COUNT = 0;
+    private static final int LEVEL = 1;
+    private static final int POWER = 2;
+    private static final int EXPERIENCE = 3;
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final CharacterRepository characterRepository = new CharacterRepository();
+    private final int levelBucketSize = Math.max(1, ConfigurationManager.getInstance().getIntProperty("stats.level.bucket.size", 10));
+
+    private final Object reloadLock = new Object();
+    private boolean loaded;
+    private Counters counters = new Counters();
+    // Bumped on every change under the monitor, lets reconcile notice writes that raced its query
+    private long modifications;
+    // Changes seen while a reload reads the database, replayed onto the reloaded counters
+    private List<Consumer<Counters>> pending;
+    private LocalDateTime lastReconciled;
+    private volatile StatsSnapshot snapshot;
+
+    /**
+     * State of one character as far as the statistics care
+     */
+    private static final class Row {
+        final String type;
+        final int level;
+        final int experience;
+        final int power;
+        final Integer guildId;
+
+        Row(String type, int level, int experience, int power, Integer guildId) {
+            this.type = type;
+            this.level = level;
+            this.experience = experience;
+            this.power = power;
+            this.guildId = guildId;
+        }
+
+        static Row of(GameEntity character, Integer guildId) {
+            return new Row(character.getCharacterType(), character.getLevel(), character.getExperience(),
+                    character.calculatePower(), guildId);
+        }
+    }
+
+    /**
+     * All counters, built off the monitor by a reload and swapped in whole
+     */
+    private final class Counters {
+        final Map<Integer, Row> rows = new HashMap<>();
+        final Map<String, long[]> typeTotals = new TreeMap<>();
+        final Map<Integer, Long> guildCounts = new TreeMap<>();
+        long withoutGuild;
+        long[] levelBuckets = new long[16];
+        final long[] experienceBuckets = new long[EXPERIENCE_BUCKETS];
+
+        void saved(GameEntity character) {
+            Row previous = rows.get(character.getId());
+            replace(character.getId(), previous, Row.of(character, previous != null ? previous.guildId : null));
+        }
+
+        void deleted(int characterId) {
+            replace(characterId, rows.get(characterId), null);
+        }
+
+        void guildChanged(int characterId, Integer guildId) {
+            Row previous = rows.get(characterId);
+            if (previous != null) {
+                replace(characterId, previous, new Row(previous.type, previous.level, previous.experience, previous.power, guildId));
+            }
+        }
+
+        private void replace(int characterId, Row previous, Row next) {
+            if (previous != null) {
+                apply(previous, -1);
+                rows.remove(characterId);
+            }
+            if (next != null) {
+                apply(next, 1);
+                rows.put(characterId, next);
+            }
+        }
+
+        private void apply(Row row, int sign) {
+            long[] totals = typeTotals.computeIfAbsent(row.type, t -> new long[4]);
+            totals[COUNT] += sign;
+            totals[LEVEL] += (long) sign * row.level;
+            totals[POWER] += (long) sign * row.power;
+            totals[EXPERIENCE] += (long) sign * row.experience;
+            if (totals[COUNT] == 0) {
+                typeTotals.remove(row.type);
+            }
+
+            if (row.guildId == null) {
+                withoutGuild += sign;
+            } else if (guildCounts.merge(row.guildId, (long) sign, Long::sum) == 0) {
+                guildCounts.remove(row.guildId);
+            }
+
+            int levelBucket = Math.max(0, (row.level - 1) / levelBucketSize);
+            if (levelBucket >= levelBuckets.length) {
+                levelBuckets = Arrays.copyOf(levelBuckets, levelBucket + 1);
+            }
+            levelBuckets[levelBucket] += sign;
+
+            int experienceBucket = row.experience <= 0 ? 0 : 32 - Integer.numberOfLeadingZeros(row.experience);
+            experienceBuckets[experienceBucket] += sign;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (DatabaseOperationException e) {
+            logger.warn("Statistics not loaded at startup, will retry on first request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Current statistics, O(1) unless a write happened since the last call
+     */
+    public StatsSnapshot getSnapshot() throws DatabaseOperationException {
+        ensureLoaded();
+        StatsSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = buildSnapshot();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Recompute every counter from the database
+     * The table is read without holding the monitor, so writes keep going; the changes
+     * they report meanwhile are replayed onto the new counters before they are swapped in
+     */
+    public void reload() throws DatabaseOperationException {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                long start = System.currentTimeMillis();
+                List<GameEntity> characters = characterRepository.getAll();
+                Map<Integer, Integer> guilds = characterRepository.getGuildAssignments();
+
+                Counters reloaded = new Counters();
+                for (GameEntity character : characters) {
+                    reloaded.replace(character.getId(), null, Row.of(character, guilds.get(character.getId())));
+                }
+
+                synchronized (this) {
+                    // Replaying is idempotent, so a change the query already saw is harmless
+                    pending.forEach(change -> change.accept(reloaded));
+                    counters = reloaded;
+                    loaded = true;
+                    modifications++;
+                    lastReconciled = LocalDateTime.now();
+                    snapshot = null;
+                }
+                logger.info("Statistics loaded for " + reloaded.rows.size() + " characters in " + (System.currentTimeMillis() - start) + " ms");
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Outcome of one reconcile() run
+     */
+    public enum Reconciliation {
+        // Counters equal the GROUP BY totals
+        MATCHED,
+        // Counters differed twice in a row and were reloaded
+        DRIFTED,
+        // No comparison was made: not loaded yet, a write raced the query or the query failed
+        SKIPPED
+    }
+
+    /**
+     * Compare counters with a GROUP BY over the characters table, reload when they differ
+     * A mismatch is checked a second time before reloading, a write can be committed
+     * a moment before its listener call reaches the counters
+     */
+    @Scheduled(initialDelayString = "${stats.reconcile.interval.ms:60000}",
+            fixedDelayString = "${stats.reconcile.interval.ms:60000}")
+    public Reconciliation reconcile() {
+        Boolean matches;
+        try {
+            matches = compareWithDatabase();
+            if (Boolean.FALSE.equals(matches)) {
+                matches = compareWithDatabase();
+            }
+        } catch (DatabaseOperationException e) {
+            logger.error("Statistics reconciliation failed: " + e.getMessage());
+            return Reconciliation.SKIPPED;
+        }
+        if (matches == null) {
+            return Reconciliation.SKIPPED;
+        }
+        if (matches) {
+            return Reconciliation.MATCHED;
+        }
+        logger.warn("Statistics drifted from the database, reloading");
+        try {
+            reload();
+        } catch (DatabaseOperationException e) {
+            logger.error("Statistics reload failed: " + e.getMessage());
+        }
+        return Reconciliation.DRIFTED;
+    }
+
+    /**
+     * @return whether the counters match the database, null when not loaded
+     *         or when a write landed while the query ran
+     */
+    private Boolean compareWithDatabase() throws DatabaseOperationException {
+        long before;
+        synchronized (this) {
+            if (!loaded) {
+                return null;
+            }
+            before = modifications;
+        }
+        Map<String, long[]> expectedTypes = new TreeMap<>();
+        Map<Integer, Long> expectedGuilds = new TreeMap<>();
+        long expectedWithoutGuild = 0;
+        for (Map<String, Object> group : characterRepository.getGroupTotals()) {
+            long count = (Long) group.get("count");
+            long[] totals = expectedTypes.computeIfAbsent((String) group.get("type"), t -> new long[3]);
+            totals[0] += count;
+            totals[1] += (Long) group.get("totalLevel");
+            totals[2] += (Long) group.get("totalExperience");
+            Integer guildId = (Integer) group.get("guildId");
+            if (guildId == null) {
+                expectedWithoutGuild += count;
+            } else {
+                expectedGuilds.merge(guildId, count, Long::sum);
+            }
+        }
+
+        synchronized (this) {
+            if (modifications != before) {
+                logger.debug("Statistics changed during reconciliation, skipping the comparison");
+                return null;
+            }
+            Map<String, long[]> actualTypes = new TreeMap<>();
+            counters.typeTotals.forEach((type, t) -> actualTypes.put(type, new long[] {t[COUNT], t[LEVEL], t[EXPERIENCE]}));
+            boolean matches = expectedWithoutGuild == counters.withoutGuild
+                    && expectedGuilds.equals(counters.guildCounts)
+                    && sameTotals(expectedTypes, actualTypes);
+            if (matches) {
+                lastReconciled = LocalDateTime.now();
+                snapshot = null;
+            }
+            return matches;
+        }
+    }
+
+    @Override
+    public synchronized void onCharacterSaved(GameEntity character) {
+        change(state -> state.saved(character));
+    }
+
+    @Override
+    public synchronized void onCharacterDeleted(int characterId) {
+        change(state -> state.deleted(characterId));
+    }
+
+    @Override
+    public synchronized void onGuildChanged(int characterId, Integer guildId) {
+        change(state -> state.guildChanged(characterId, guildId));
+    }
+
+    // Caller holds the monitor
+    private void change(Consumer<Counters> change) {
+        modifications++;
+        if (pending != null) {
+            pending.add(change);
+        }
+        if (loaded) {
+            change.accept(counters);
+            snapshot = null;
+        }
+    }
+
+    private void ensureLoaded() throws DatabaseOperationException {
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+        }
+        synchronized (reloadLock) {
+            synchronized (this) {
+                if (loaded) {
+                    return;
+                }
+            }
+            reload();
+        }
+    }
+
+    private StatsSnapshot buildSnapshot() {
+        long total = 0;
+        long level = 0;
+        long power = 0;
+        long experience = 0;
+        Map<String, StatsSnapshot.TypeStats> byType = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : counters.typeTotals.entrySet()) {
+            long[] t = entry.getValue();
+            total += t[COUNT];
+            level += t[LEVEL];
+            power += t[POWER];
+            experience += t[EXPERIENCE];
+            byType.put(entry.getKey(), new StatsSnapshot.TypeStats(t[COUNT],
+                    average(t[LEVEL], t[COUNT]), average(t[POWER], t[COUNT]), average(t[EXPERIENCE], t[COUNT])));
+        }
+
+        List<StatsSnapshot.Bucket> levelHistogram = new ArrayList<>();
+        for (int i = 0; i < counters.levelBuckets.length; i++) {
+            if (counters.levelBuckets[i] > 0) {
+                levelHistogram.add(new StatsSnapshot.Bucket((long) i * levelBucketSize + 1, (long) (i + 1) * levelBucketSize, counters.levelBuckets[i]));
+            }
+        }
+        List<StatsSnapshot.Bucket> experienceHistogram = new ArrayList<>();
+        for (int i = 0; i < EXPERIENCE_BUCKETS; i++) {
+            if (counters.experienceBuckets[i] > 0) {
+                long from = i == 0 ? 0 : 1L << (i - 1);
+                long to = i == 0 ? 0 : (1L << i) - 1;
+                experienceHistogram.add(new StatsSnapshot.Bucket(from, to, counters.experienceBuckets[i]));
+            }
+        }
+
+        return new StatsSnapshot(total, average(level, total), average(power, total), average(experience, total),
+                Collections.unmodifiableMap(byType), Collections.unmodifiableMap(new LinkedHashMap<>(counters.guildCounts)), counters.withoutGuild,
+                Collections.unmodifiableList(levelHistogram), Collections.unmodifiableList(experienceHistogram), lastReconciled);
+    }
+
+    private static double average(long sum, long count) {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    private static boolean sameTotals(Map<String, long[]> a, Map<String, long[]> b) {
+        if (!a.keySet().equals(b.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, long[]> entry : a.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), b.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
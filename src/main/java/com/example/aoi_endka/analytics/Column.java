@@ -0,0 +1,31 @@
+package com.example.aoi_endka.analytics;
+
+/**
+ * Numeric columns of the columnar character store
+ * Subtype columns only hold values for rows of their owner type, aggregates skip other rows
+ */
+public enum Column {
+    LEVEL(null),
+    EXPERIENCE(null),
+    POWER(null),
+    STRENGTH("WARRIOR"),
+    ARMOR("WARRIOR"),
+    MANA("MAGE"),
+    INTELLIGENCE("MAGE"),
+    AGILITY("ROGUE"),
+    STEALTH("ROGUE"),
+    CRITICAL_CHANCE("ROGUE");
+
+    private final String ownerType;
+
+    Column(String ownerType) {
+        this.ownerType = ownerType;
+    }
+
+    /**
+     * Character type that has this column, null when every character has it
+     */
+    public String getOwnerType() {
+        return ownerType;
+    }
+}
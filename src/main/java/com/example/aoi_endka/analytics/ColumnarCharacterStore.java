@@ -0,0 +1,460 @@
+package com.example.aoi_endka.analytics;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.model.Mage;
+import com.example.aoi_endka.model.Rogue;
+import com.example.aoi_endka.model.Warrior;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.repository.CharacterRepository;
+import com.example.aoi_endka.service.CharacterChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory struct-of-arrays copy of the characters table for analytics scans
+ * Every attribute is a primitive column indexed by row, strings are dictionary-encoded,
+ * so filters and aggregates run over arrays without building GameEntity objects
+ * Loaded from the database on first use, then kept in sync through CharacterChangeListener
+ */
+@Component
+public class ColumnarCharacterStore implements CharacterChangeListener {
+
+    private static final int INITIAL_CAPACITY = 256;
+    // Resolved filter values: ANY skips the check, NO_MATCH is a value no row has
+    private static final int ANY = Integer.MIN_VALUE;
+    private static final int NO_MATCH = -2;
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final CharacterRepository characterRepository = new CharacterRepository();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    private final StringDictionary types = new StringDictionary();
+    private final StringDictionary weaponTypes = new StringDictionary();
+    private final StringDictionary spellSchools = new StringDictionary();
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+
+    private int size;
+    private int[] ids;
+    private int[] typeCodes;
+    private int[] levels;
+    private int[] experience;
+    private int[] powers;
+    private int[] strength;
+    private int[] armor;
+    private int[] weaponCodes;
+    private int[] mana;
+    private int[] intelligence;
+    private int[] spellCodes;
+    private int[] agility;
+    private int[] stealth;
+    private double[] criticalChance;
+    private int[] guildIds;
+
+    public ColumnarCharacterStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Load the store from the database if that has not happened yet
+     */
+    public void ensureLoaded() throws DatabaseOperationException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all rows and load them again from the database
+     */
+    public void reload() throws DatabaseOperationException {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of characters in the store
+     */
+    public int size() throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count characters matching the filter
+     */
+    public int count(CharacterFilter filter) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] f = resolve(filter);
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (matches(row, f)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of characters matching the filter, in row order
+     */
+    public int[] matchingIds(CharacterFilter filter) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] f = resolve(filter);
+            int[] result = new int[size];
+            int n = 0;
+            for (int row = 0; row < size; row++) {
+                if (matches(row, f)) {
+                    result[n++] = ids[row];
+                }
+            }
+            return Arrays.copyOf(result, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count, sum, min and max of a column over the characters matching the filter
+     * Rows of other types are skipped for subtype columns (e.g. MANA only counts mages)
+     */
+    public AggregateResult aggregate(CharacterFilter filter, Column column, GroupBy groupBy) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] f = resolve(filter);
+            int owner = column.getOwnerType() == null ? ANY : code(types, column.getOwnerType());
+            int[] intValues = intColumn(column);
+            double[] doubleValues = column == Column.CRITICAL_CHANCE ? criticalChance : null;
+            StringDictionary dictionary = dictionaryFor(groupBy);
+            int[] groupCodes = groupColumn(groupBy);
+
+            // Slot 0 holds rows without a group value, slot code + 1 holds dictionary code
+            int slots = dictionary == null ? 1 : dictionary.size() + 1;
+            long[] counts = new long[slots];
+            double[] sums = new double[slots];
+            double[] mins = new double[slots];
+            double[] maxs = new double[slots];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+
+            for (int row = 0; row < size; row++) {
+                if (owner != ANY && typeCodes[row] != owner) {
+                    continue;
+                }
+                if (!matches(row, f)) {
+                    continue;
+                }
+                int slot = groupCodes == null ? 0 : groupCodes[row] + 1;
+                double value = intValues != null ? intValues[row] : doubleValues[row];
+                counts[slot]++;
+                sums[slot] += value;
+                if (value < mins[slot]) {
+                    mins[slot] = value;
+                }
+                if (value > maxs[slot]) {
+                    maxs[slot] = value;
+                }
+            }
+
+            List<AggregateResult.Group> groups = new ArrayList<>();
+            for (int slot = 0; slot < slots; slot++) {
+                if (counts[slot] > 0) {
+                    String key = dictionary == null ? null : dictionary.decode(slot - 1);
+                    groups.add(new AggregateResult.Group(key, counts[slot], sums[slot], mins[slot], maxs[slot]));
+                }
+            }
+            return new AggregateResult(column, groupBy, groups);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCharacterSaved(GameEntity character) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer row = rowById.get(character.getId());
+            if (row == null) {
+                row = appendRow(character.getId());
+            }
+            writeRow(row, character);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCharacterDeleted(int characterId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer row = rowById.remove(characterId);
+            if (row == null) {
+                return;
+            }
+            // Move the last row into the gap to keep the columns dense
+            int last = size - 1;
+            if (row != last) {
+                copyRow(last, row);
+                rowById.put(ids[row], row);
+            }
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onGuildChanged(int characterId, Integer guildId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer row = rowById.get(characterId);
+            if (row != null) {
+                guildIds[row] = guildId != null ? guildId : CharacterFilter.NO_GUILD;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void load() throws DatabaseOperationException {
+        long start = System.currentTimeMillis();
+        size = 0;
+        rowById.clear();
+        try {
+            List<GameEntity> characters = characterRepository.getAll();
+            Map<Integer, Integer> guilds = characterRepository.getGuildAssignments();
+
+            allocate(Math.max(INITIAL_CAPACITY, characters.size()));
+            for (GameEntity character : characters) {
+                int row = appendRow(character.getId());
+                writeRow(row, character);
+                Integer guildId = guilds.get(character.getId());
+                if (guildId != null) {
+                    guildIds[row] = guildId;
+                }
+            }
+            loaded = true;
+            logger.info("Columnar store loaded " + size + " characters in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (DatabaseOperationException e) {
+            logger.warn("Columnar store load failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private int appendRow(int id) {
+        if (size == ids.length) {
+            grow(size * 2);
+        }
+        int row = size++;
+        ids[row] = id;
+        guildIds[row] = CharacterFilter.NO_GUILD;
+        rowById.put(id, row);
+        return row;
+    }
+
+    private void writeRow(int row, GameEntity character) {
+        typeCodes[row] = types.encode(character.getCharacterType());
+        levels[row] = character.getLevel();
+        experience[row] = character.getExperience();
+        powers[row] = character.calculatePower();
+        strength[row] = 0;
+        armor[row] = 0;
+        weaponCodes[row] = StringDictionary.NONE;
+        mana[row] = 0;
+        intelligence[row] = 0;
+        spellCodes[row] = StringDictionary.NONE;
+        agility[row] = 0;
+        stealth[row] = 0;
+        criticalChance[row] = 0;
+
+        if (character instanceof Warrior) {
+            Warrior w = (Warrior) character;
+            strength[row] = w.getStrength();
+            armor[row] = w.getArmor();
+            weaponCodes[row] = weaponTypes.encode(w.getWeaponType());
+        } else if (character instanceof Mage) {
+            Mage m = (Mage) character;
+            mana[row] = m.getMana();
+            intelligence[row] = m.getIntelligence();
+            spellCodes[row] = spellSchools.encode(m.getSpellSchool());
+        } else if (character instanceof Rogue) {
+            Rogue r = (Rogue) character;
+            agility[row] = r.getAgility();
+            stealth[row] = r.getStealth();
+            criticalChance[row] = r.getCriticalChance();
+        }
+    }
+
+    private void copyRow(int from, int to) {
+        ids[to] = ids[from];
+        typeCodes[to] = typeCodes[from];
+        levels[to] = levels[from];
+        experience[to] = experience[from];
+        powers[to] = powers[from];
+        strength[to] = strength[from];
+        armor[to] = armor[from];
+        weaponCodes[to] = weaponCodes[from];
+        mana[to] = mana[from];
+        intelligence[to] = intelligence[from];
+        spellCodes[to] = spellCodes[from];
+        agility[to] = agility[from];
+        stealth[to] = stealth[from];
+        criticalChance[to] = criticalChance[from];
+        guildIds[to] = guildIds[from];
+    }
+
+    private void allocate(int capacity) {
+        ids = new int[capacity];
+        typeCodes = new int[capacity];
+        levels = new int[capacity];
+        experience = new int[capacity];
+        powers = new int[capacity];
+        strength = new int[capacity];
+        armor = new int[capacity];
+        weaponCodes = new int[capacity];
+        mana = new int[capacity];
+        intelligence = new int[capacity];
+        spellCodes = new int[capacity];
+        agility = new int[capacity];
+        stealth = new int[capacity];
+        criticalChance = new double[capacity];
+        guildIds = new int[capacity];
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        typeCodes = Arrays.copyOf(typeCodes, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        experience = Arrays.copyOf(experience, capacity);
+        powers = Arrays.copyOf(powers, capacity);
+        strength = Arrays.copyOf(strength, capacity);
+        armor = Arrays.copyOf(armor, capacity);
+        weaponCodes = Arrays.copyOf(weaponCodes, capacity);
+        mana = Arrays.copyOf(mana, capacity);
+        intelligence = Arrays.copyOf(intelligence, capacity);
+        spellCodes = Arrays.copyOf(spellCodes, capacity);
+        agility = Arrays.copyOf(agility, capacity);
+        stealth = Arrays.copyOf(stealth, capacity);
+        criticalChance = Arrays.copyOf(criticalChance, capacity);
+        guildIds = Arrays.copyOf(guildIds, capacity);
+    }
+
+    /**
+     * Turn a filter into primitive values once per scan:
+     * [type, weapon, spell, minLevel, maxLevel, minPower, maxPower, guild]
+     */
+    private int[] resolve(CharacterFilter filter) {
+        return new int[] {
+                filter.getType() == null ? ANY : code(types, filter.getType().toUpperCase()),
+                filter.getWeaponType() == null ? ANY : code(weaponTypes, filter.getWeaponType()),
+                filter.getSpellSchool() == null ? ANY : code(spellSchools, filter.getSpellSchool()),
+                filter.getMinLevel(),
+                filter.getMaxLevel(),
+                filter.getMinPower(),
+                filter.getMaxPower(),
+                filter.getGuildId() == CharacterFilter.ANY_GUILD ? ANY : filter.getGuildId()
+        };
+    }
+
+    private static int code(StringDictionary dictionary, String value) {
+        int code = dictionary.lookup(value);
+        return code == StringDictionary.NONE ? NO_MATCH : code;
+    }
+
+    private boolean matches(int row, int[] f) {
+        if (f[0] != ANY && typeCodes[row] != f[0]) {
+            return false;
+        }
+        if (f[1] != ANY && weaponCodes[row] != f[1]) {
+            return false;
+        }
+        if (f[2] != ANY && spellCodes[row] != f[2]) {
+            return false;
+        }
+        int level = levels[row];
+        if (level < f[3] || level > f[4]) {
+            return false;
+        }
+        int power = powers[row];
+        if (power < f[5] || power > f[6]) {
+            return false;
+        }
+        return f[7] == ANY || guildIds[row] == f[7];
+    }
+
+    private int[] intColumn(Column column) {
+        switch (column) {
+            case LEVEL: return levels;
+            case EXPERIENCE: return experience;
+            case POWER: return powers;
+            case STRENGTH: return strength;
+            case ARMOR: return armor;
+            case MANA: return mana;
+            case INTELLIGENCE: return intelligence;
+            case AGILITY: return agility;
+            case STEALTH: return stealth;
+            default: return null;
+        }
+    }
+
+    private StringDictionary dictionaryFor(GroupBy groupBy) {
+        switch (groupBy) {
+            case TYPE: return types;
+            case WEAPON_TYPE: return weaponTypes;
+            case SPELL_SCHOOL: return spellSchools;
+            default: return null;
+        }
+    }
+
+    private int[] groupColumn(GroupBy groupBy) {
+        switch (groupBy) {
+            case TYPE: return typeCodes;
+            case WEAPON_TYPE: return weaponCodes;
+            case SPELL_SCHOOL: return spellCodes;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.aoi_endka.analytics;
+
+/**
+ * Grouping keys for column aggregates, all of them are dictionary-encoded columns
+ */
+public enum GroupBy {
+    NONE,
+    TYPE,
+    WEAPON_TYPE,
+    SPELL_SCHOOL
+}
@@ -0,0 +1,146 @@
+package com.example.aoi_endka.analytics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the character statistics, served by GET /api/stats
+ */
+public class StatsSnapshot {
+
+    private final long totalCharacters;
+    private final double averageLevel;
+    private final double averagePower;
+    private final double averageExperience;
+    private final Map<String, TypeStats> byType;
+    private final Map<Integer, Long> byGuild;
+    private final long withoutGuild;
+    private final List<Bucket> levelHistogram;
+    private final List<Bucket> experienceHistogram;
+    private final LocalDateTime lastReconciled;
+
+    public StatsSnapshot(long totalCharacters, double averageLevel, double averagePower, double averageExperience,
+                         Map<String, TypeStats> byType, Map<Integer, Long> byGuild, long withoutGuild,
+                         List<Bucket> levelHistogram, List<Bucket> experienceHistogram, LocalDateTime lastReconciled) {
+        this.totalCharacters = totalCharacters;
+        this.averageLevel = averageLevel;
+        this.averagePower = averagePower;
+        this.averageExperience = averageExperience;
+        this.byType = byType;
+        this.byGuild = byGuild;
+        this.withoutGuild = withoutGuild;
+        this.levelHistogram = levelHistogram;
+        this.experienceHistogram = experienceHistogram;
+        this.lastReconciled = lastReconciled;
+    }
+
+    public long getTotalCharacters() {
+        return totalCharacters;
+    }
+
+    public double getAverageLevel() {
+        return averageLevel;
+    }
+
+    public double getAveragePower() {
+        return averagePower;
+    }
+
+    public double getAverageExperience() {
+        return averageExperience;
+    }
+
+    public Map<String, TypeStats> getByType() {
+        return byType;
+    }
+
+    /**
+     * Guild id -> number of members
+     */
+    public Map<Integer, Long> getByGuild() {
+        return byGuild;
+    }
+
+    public long getWithoutGuild() {
+        return withoutGuild;
+    }
+
+    public List<Bucket> getLevelHistogram() {
+        return levelHistogram;
+    }
+
+    /**
+     * Power-of-two buckets: 0, 1, 2-3, 4-7, ...
+     */
+    public List<Bucket> getExperienceHistogram() {
+        return experienceHistogram;
+    }
+
+    /**
+     * Last time the counters were checked against the database, null before the first check
+     */
+    public LocalDateTime getLastReconciled() {
+        return lastReconciled;
+    }
+
+    /**
+     * Aggregates of one character type
+     */
+    public static class TypeStats {
+        private final long count;
+        private final double averageLevel;
+        private final double averagePower;
+        private final double averageExperience;
+
+        public TypeStats(long count, double averageLevel, double averagePower, double averageExperience) {
+            this.count = count;
+            this.averageLevel = averageLevel;
+            this.averagePower = averagePower;
+            this.averageExperience = averageExperience;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getAverageLevel() {
+            return averageLevel;
+        }
+
+        public double getAveragePower() {
+            return averagePower;
+        }
+
+        public double getAverageExperience() {
+            return averageExperience;
+        }
+    }
+
+    /**
+     * Histogram bucket, from and to are inclusive
+     */
+    public static class Bucket {
+        private final long from;
+        private final long to;
+        private final long count;
+
+        public Bucket(long from, long to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public long getFrom() {
+            return from;
+        }
+
+        public long getTo() {
+            return to;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.aoi_endka.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for low-cardinality string columns
+ * Every distinct value gets a dense int code, null is NONE
+ * Not thread-safe, the owning store guards it with its lock
+ */
+public class StringDictionary {
+
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Get code for value, adds the value when it is new
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Get code for value without adding it
+     * @return code or NONE when the value was never seen
+     */
+    public int lookup(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : NONE;
+    }
+
+    public String decode(int code) {
+        return code == NONE ? null : values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
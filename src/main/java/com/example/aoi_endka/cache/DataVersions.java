@@ -0,0 +1,91 @@
+package com.example.aoi_endka.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data versions per resource collection and per entity
+ * Versions only grow: every write takes the next value of one shared clock,
+ * the clock starts from wall time so versions keep growing across restarts
+ */
+public final class DataVersions {
+
+    public static final String CHARACTERS = "characters";
+    public static final String GUILDS = "guilds";
+
+    private static final DataVersions INSTANCE = new DataVersions();
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final long startVersion = clock.get();
+    private final Map<String, ResourceVersions> resources = new ConcurrentHashMap<>();
+
+    private DataVersions() {}
+
+    public static DataVersions getInstance() {
+        return INSTANCE;
+    }
+
+    public ResourceVersions forResource(String resource) {
+        return resources.computeIfAbsent(resource, ResourceVersions::new);
+    }
+
+    /**
+     * Versions of one resource type
+     */
+    public final class ResourceVersions {
+        private final String resource;
+        private final AtomicLong collectionVersion = new AtomicLong(startVersion);
+        private final AtomicLong floorVersion = new AtomicLong(startVersion); // version of entities never written since the last bumpAll
+        private final Map<Integer, Long> entityVersions = new ConcurrentHashMap<>();
+
+        private ResourceVersions(String resource) {
+            this.resource = resource;
+        }
+
+        public long getCollectionVersion() {
+            return collectionVersion.get();
+        }
+
+        public long getEntityVersion(int id) {
+            long floor = floorVersion.get();
+            Long version = entityVersions.get(id);
+            return version == null ? floor : Math.max(version, floor);
+        }
+
+        /**
+         * Record a write to one entity, also changes the collection version
+         */
+        public long bump(int id) {
+            long version = clock.incrementAndGet();
+            entityVersions.put(id, version);
+            collectionVersion.accumulateAndGet(version, Math::max);
+            return version;
+        }
+
+        /**
+         * Record a write that can touch any entity of this resource
+         */
+        public long bumpAll() {
+            long version = clock.incrementAndGet();
+            floorVersion.accumulateAndGet(version, Math::max);
+            entityVersions.values().removeIf(v -> v <= version);
+            collectionVersion.accumulateAndGet(version, Math::max);
+            return version;
+        }
+
+        /**
+         * Strong ETag for a collection version
+         */
+        public String collectionETag(long version) {
+            return "\"" + resource + "-" + version + "\"";
+        }
+
+        /**
+         * Strong ETag for an entity version
+         */
+        public String entityETag(int id, long version) {
+            return "\"" + resource + "-" + id + "-" + version + "\"";
+        }
+    }
+}
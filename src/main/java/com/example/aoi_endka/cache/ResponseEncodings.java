@@ -0,0 +1,64 @@
+package com.example.aoi_endka.cache;
+
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Jackson mappers for every ResponseFormat
+ * All of them use the same annotations, so the "type" discriminator of
+ * GameEntity is written in binary formats too
+ */
+@Component
+public class ResponseEncodings {
+
+    private final Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+
+    public ResponseEncodings(JsonMapper jsonMapper, CBORMapper cborMapper) {
+        mappers.put(ResponseFormat.JSON, jsonMapper);
+        mappers.put(ResponseFormat.COMPACT_JSON, jsonMapper.rebuild()
+                .disable(SerializationFeature.INDENT_OUTPUT)
+                .build());
+        mappers.put(ResponseFormat.CBOR, cborMapper);
+        mappers.put(ResponseFormat.SMILE, SmileMapper.builder().build());
+    }
+
+    public ObjectMapper mapperFor(ResponseFormat format) {
+        return mappers.get(format);
+    }
+
+    public JsonMapper compactJsonMapper() {
+        return (JsonMapper) mappers.get(ResponseFormat.COMPACT_JSON);
+    }
+
+    public CBORMapper cborMapper() {
+        return (CBORMapper) mappers.get(ResponseFormat.CBOR);
+    }
+
+    public SmileMapper smileMapper() {
+        return (SmileMapper) mappers.get(ResponseFormat.SMILE);
+    }
+
+    /**
+     * One prepared writer per format for a declared type
+     */
+    public Map<ResponseFormat, ObjectWriter> writersFor(TypeReference<?> type) {
+        Map<ResponseFormat, ObjectWriter> writers = new EnumMap<>(ResponseFormat.class);
+        mappers.forEach((format, mapper) -> writers.put(format, mapper.writerFor(type)));
+        return writers;
+    }
+
+    public Map<ResponseFormat, ObjectWriter> writersFor(Class<?> type) {
+        Map<ResponseFormat, ObjectWriter> writers = new EnumMap<>(ResponseFormat.class);
+        mappers.forEach((format, mapper) -> writers.put(format, mapper.writerFor(type)));
+        return writers;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.aoi_endka.cache;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Wire encodings offered by the REST API
+ * JSON stays the default, the others are picked through the Accept header
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    COMPACT_JSON(MediaType.valueOf("application/vnd.aoi.compact+json"), "compact"),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor"),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"), "smile");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    ResponseFormat(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Strong ETags must differ between representations, so non-JSON bodies get a suffix
+     */
+    public String tagETag(String eTag) {
+        if (eTagSuffix.isEmpty()) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "-" + eTagSuffix + "\"";
+    }
+
+    /**
+     * Pick the format with the highest quality value in the Accept header
+     * Falls back to JSON for missing, wildcard or unsupported values
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> requested;
+        try {
+            requested = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+
+        ResponseFormat best = JSON;
+        double bestQuality = -1;
+        for (MediaType type : requested) {
+            ResponseFormat format = fromMediaType(type);
+            if (format != null && type.getQualityValue() > bestQuality) {
+                best = format;
+                bestQuality = type.getQualityValue();
+            }
+        }
+        return best;
+    }
+
+    private static ResponseFormat fromMediaType(MediaType type) {
+        for (ResponseFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(type)) {
+                return format;
+            }
+        }
+        if (type.isWildcardType() || MediaType.APPLICATION_JSON.isCompatibleWith(type)) {
+            return JSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.aoi_endka.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Already encoded response body stored in the cache
+ * Tagged with the data version (and its ETag) it was built from, gzip copy is made on first demand
+ */
+public final class SerializedResponse {
+
+    private final long version;
+    private final String eTag;
+    private final byte[] body;
+    private volatile byte[] gzipped;
+
+    public SerializedResponse(long version, String eTag, byte[] body) {
+        this.version = version;
+        this.eTag = eTag;
+        this.body = body;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public byte[] getGzipped() {
+        byte[] result = gzipped;
+        if (result == null) {
+            result = gzip(body);
+            gzipped = result;
+        }
+        return result;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress response body", e);
+        }
+        return out.toByteArray();
+    }
+}
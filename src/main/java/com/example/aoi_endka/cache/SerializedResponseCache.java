@@ -0,0 +1,93 @@
+package com.example.aoi_endka.cache;
+
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.tracing.Span;
+import com.example.aoi_endka.tracing.Tracer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectWriter;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache of encoded response bodies
+ * Lives next to the object cache in SimpleCashe, so a hit is written to the
+ * response as raw bytes without another Jackson pass
+ */
+@Component
+public class SerializedResponseCache {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final SimpleCashe cache = SimpleCashe.getInstance();
+    private final Duration ttl;
+
+    public SerializedResponseCache() {
+        int ttlSeconds = ConfigurationManager.getInstance().getIntProperty("cache.response.ttl.seconds", 300);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    /**
+     * Cache key of a body in one wire format, in the "responses" region of SimpleCashe
+     */
+    public static String key(String baseKey, ResponseFormat format) {
+        return "responses:" + baseKey + ":" + format.name();
+    }
+
+    /**
+     * Get cached body only if it was built from the given data version
+     */
+    public Optional<SerializedResponse> lookup(String key, long version) {
+        return cache.get(key, SerializedResponse.class)
+                .filter(r -> r.getVersion() == version);
+    }
+
+    /**
+     * Encode value once and keep the bytes for the given data version
+     */
+    public SerializedResponse store(String key, long version, String eTag, ObjectWriter writer, Object value) {
+        Span span = Tracer.getInstance().start("serialize");
+        byte[] body;
+        try {
+            body = writer.writeValueAsBytes(value);
+            span.tag("bytes", body.length);
+        } finally {
+            span.end();
+        }
+        SerializedResponse response = new SerializedResponse(version, eTag, body);
+        cache.put(key, response, ttl);
+        return response;
+    }
+
+    /**
+     * Build 200 response from cached bytes, gzipped when the client accepts it
+     */
+    public ResponseEntity<byte[]> toResponse(SerializedResponse response, ResponseFormat format, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .eTag(response.getETag())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(acceptEncoding) && response.getBody().length >= GZIP_MIN_BYTES) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzipped());
+        }
+        return builder.body(response.getBody());
+    }
+
+    /**
+     * 304 response for a conditional GET whose ETag still matches
+     */
+    public ResponseEntity<byte[]> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
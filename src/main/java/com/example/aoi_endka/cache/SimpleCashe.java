@@ -1,11 +1,28 @@
 package com.example.aoi_endka.cache;
 
 
+import com.example.aoi_endka.jfr.CacheLookupEvent;
+import com.example.aoi_endka.tracing.Span;
+import com.example.aoi_endka.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Key-value cache with optional TTL
+ *
+ * The part of a key before the first ':' is its region ("characters", "responses", "default" for keys
+ * without one). Every region has cache.gets (result = hit / miss), cache.puts, cache.evictions
+ * (cause = expired / invalidated / cleared) and a cache.size gauge, tagged cache = region, in
+ * Metrics.globalRegistry. Every get also emits a CacheLookupEvent for Flight Recorder; in a sampled
+ * trace gets and puts are spans "cache get" / "cache put" tagged with the region
+ */
 public final class SimpleCashe {
 
     private static volatile SimpleCashe instance;
@@ -13,14 +30,46 @@ public final class SimpleCashe {
     private static final class CacheEntry {
         private final Object value;
         private final long expiresAtMillis; // 0 = never expires
+        private final Region region;
 
-        private CacheEntry(Object value, long expiresAtMillis) {
+        private CacheEntry(Object value, long expiresAtMillis, Region region) {
             this.value = value;
             this.expiresAtMillis = expiresAtMillis;
+            this.region = region;
+        }
+    }
+
+    /**
+     * Meters of one region, created on first use
+     */
+    private static final class Region {
+        private final String name;
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter puts;
+        private final Counter expired;
+        private final Counter invalidated;
+        private final Counter cleared;
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Region(String name) {
+            this.name = name;
+            hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(Metrics.globalRegistry);
+            misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(Metrics.globalRegistry);
+            puts = Counter.builder("cache.puts").tag("cache", name).register(Metrics.globalRegistry);
+            expired = eviction(name, "expired");
+            invalidated = eviction(name, "invalidated");
+            cleared = eviction(name, "cleared");
+            Gauge.builder("cache.size", size, AtomicInteger::get).tag("cache", name).register(Metrics.globalRegistry);
+        }
+
+        private static Counter eviction(String name, String cause) {
+            return Counter.builder("cache.evictions").tag("cache", name).tag("cause", cause).register(Metrics.globalRegistry);
         }
     }
 
     private final Map<String, CacheEntry> store = new ConcurrentHashMap<>();
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
 
     private SimpleCashe() {}
 
@@ -34,31 +83,86 @@ public final class SimpleCashe {
     }
 
     public <T> Optional<T> get(String key, Class<T> clazz) {
+        Span span = Tracer.getInstance().start("cache get");
+        try {
+            Optional<T> value = lookup(key, clazz);
+            if (span.isRecording()) {
+                span.tag("cache.region", region(key).name).tag("cache.hit", value.isPresent());
+            }
+            return value;
+        } finally {
+            span.end();
+        }
+    }
+
+    private <T> Optional<T> lookup(String key, Class<T> clazz) {
         CacheEntry entry = store.get(key);
-        if (entry == null) return Optional.empty();
+        if (entry == null) {
+            Region region = region(key);
+            region.misses.increment();
+            CacheLookupEvent.emit(region.name, key, false);
+            return Optional.empty();
+        }
 
         if (entry.expiresAtMillis > 0 && System.currentTimeMillis() > entry.expiresAtMillis) {
-            store.remove(key);
+            if (store.remove(key, entry)) {
+                entry.region.size.decrementAndGet();
+                entry.region.expired.increment();
+            }
+            entry.region.misses.increment();
+            CacheLookupEvent.emit(entry.region.name, key, false);
             return Optional.empty();
         }
 
+        entry.region.hits.increment();
+        CacheLookupEvent.emit(entry.region.name, key, true);
         return Optional.of(clazz.cast(entry.value));
     }
 
     public void put(String key, Object value) {
-        store.put(key, new CacheEntry(value, 0));
+        store(key, new CacheEntry(value, 0, region(key)));
     }
 
     public void put(String key, Object value, Duration ttl) {
         long expiresAt = System.currentTimeMillis() + ttl.toMillis();
-        store.put(key, new CacheEntry(value, expiresAt));
+        store(key, new CacheEntry(value, expiresAt, region(key)));
     }
 
     public void invalidate(String key) {
-        store.remove(key);
+        CacheEntry removed = store.remove(key);
+        if (removed != null) {
+            removed.region.size.decrementAndGet();
+            removed.region.invalidated.increment();
+        }
     }
 
     public void clear() {
-        store.clear();
+        for (String key : store.keySet()) {
+            CacheEntry removed = store.remove(key);
+            if (removed != null) {
+                removed.region.size.decrementAndGet();
+                removed.region.cleared.increment();
+            }
+        }
+    }
+
+    private void store(String key, CacheEntry entry) {
+        Span span = Tracer.getInstance().start("cache put");
+        try {
+            span.tag("cache.region", entry.region.name);
+            entry.region.puts.increment();
+            if (store.put(key, entry) == null) {
+                entry.region.size.incrementAndGet();
+            }
+        } finally {
+            span.end();
+        }
+    }
+
+    private Region region(String key) {
+        int colon = key.indexOf(':');
+        String name = colon > 0 ? key.substring(0, colon) : "default";
+        Region region = regions.get(name);
+        return region != null ? region : regions.computeIfAbsent(name, Region::new);
     }
 }
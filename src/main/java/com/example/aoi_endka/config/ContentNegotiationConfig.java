@@ -0,0 +1,61 @@
+package com.example.aoi_endka.config;
+
+import com.example.aoi_endka.cache.ResponseEncodings;
+import com.example.aoi_endka.cache.ResponseFormat;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Registers the binary (CBOR, Smile) and compact JSON encodings with Spring MVC
+ * so every endpoint can negotiate them through the Accept header
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer responseFormatConverters(ResponseEncodings encodings) {
+        return builder -> {
+            JacksonJsonHttpMessageConverter compactJson = new CompactJsonHttpMessageConverter(encodings.compactJsonMapper());
+            compactJson.setSupportedMediaTypes(List.of(ResponseFormat.COMPACT_JSON.getMediaType()));
+
+            // Compact JSON goes right before the default JSON converter: that one also accepts
+            // application/*+json, and custom converters would come before the byte[] and String converters
+            builder.withCborConverter(new JacksonCborHttpMessageConverter(encodings.cborMapper()))
+                    .withSmileConverter(new JacksonSmileHttpMessageConverter(encodings.smileMapper()))
+                    .configureMessageConvertersList(converters -> {
+                        int jsonIndex = converters.size();
+                        for (int i = 0; i < converters.size(); i++) {
+                            if (converters.get(i) instanceof JacksonJsonHttpMessageConverter) {
+                                jsonIndex = i;
+                                break;
+                            }
+                        }
+                        converters.add(jsonIndex, compactJson);
+                    });
+        };
+    }
+
+    /**
+     * Writes compact JSON only when the client asks for it explicitly
+     * It does not advertise a producible type, so a wildcard Accept keeps getting the default JSON
+     */
+    private static class CompactJsonHttpMessageConverter extends JacksonJsonHttpMessageConverter {
+
+        CompactJsonHttpMessageConverter(JsonMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+            return List.of();
+        }
+    }
+}
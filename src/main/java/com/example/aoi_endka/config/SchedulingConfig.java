@@ -0,0 +1,12 @@
+package com.example.aoi_endka.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (power consistency check)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
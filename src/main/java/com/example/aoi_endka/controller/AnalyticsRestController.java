@@ -0,0 +1,90 @@
+package com.example.aoi_endka.controller;
+
+import com.example.aoi_endka.analytics.AggregateResult;
+import com.example.aoi_endka.analytics.CharacterFilter;
+import com.example.aoi_endka.analytics.Column;
+import com.example.aoi_endka.analytics.ColumnarCharacterStore;
+import com.example.aoi_endka.analytics.GroupBy;
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.exceptions.InvalidInputException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * REST Controller for balance analytics over the columnar character store
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsRestController {
+
+    @Autowired
+    private ColumnarCharacterStore characterStore;
+
+    /**
+     * GET /api/analytics/characters - Aggregate a character column
+     * e.g. ?column=power&groupBy=type&minLevel=10&guildId=3
+     * guildId=-1 selects characters without a guild
+     */
+    @GetMapping("/characters")
+    public ResponseEntity<?> aggregateCharacters(
+            @RequestParam(defaultValue = "power") String column,
+            @RequestParam(defaultValue = "type") String groupBy,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String weaponType,
+            @RequestParam(required = false) String spellSchool,
+            @RequestParam(required = false) Integer minLevel,
+            @RequestParam(required = false) Integer maxLevel,
+            @RequestParam(required = false) Integer minPower,
+            @RequestParam(required = false) Integer maxPower,
+            @RequestParam(required = false) Integer guildId) {
+        try {
+            CharacterFilter filter = CharacterFilter.all()
+                    .type(type)
+                    .weaponType(weaponType)
+                    .spellSchool(spellSchool);
+            if (minLevel != null) {
+                filter.minLevel(minLevel);
+            }
+            if (maxLevel != null) {
+                filter.maxLevel(maxLevel);
+            }
+            if (minPower != null) {
+                filter.minPower(minPower);
+            }
+            if (maxPower != null) {
+                filter.maxPower(maxPower);
+            }
+            if (guildId != null) {
+                filter.guildId(guildId);
+            }
+
+            AggregateResult result = characterStore.aggregate(filter,
+                    parseEnum(Column.class, column, "column"),
+                    parseEnum(GroupBy.class, groupBy, "groupBy"));
+            return ResponseEntity.ok(result);
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Accepts power, criticalChance, critical_chance, CRITICAL_CHANCE, ...
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String parameter) throws InvalidInputException {
+        String name = value.trim().replaceAll("([a-z])([A-Z])", "$1_$2").replace('-', '_').toUpperCase();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Unknown " + parameter + " '" + value + "'. Allowed values: "
+                    + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+}
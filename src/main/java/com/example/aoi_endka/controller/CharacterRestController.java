@@ -1,51 +1,236 @@
 package com.example.aoi_endka.controller;
 
+import com.example.aoi_endka.cache.ResponseEncodings;
+import com.example.aoi_endka.cache.ResponseFormat;
+import com.example.aoi_endka.cache.SerializedResponse;
+import com.example.aoi_endka.cache.SerializedResponseCache;
 import com.example.aoi_endka.exceptions.DatabaseOperationException;
 import com.example.aoi_endka.exceptions.InvalidInputException;
 import com.example.aoi_endka.exceptions.ResourceNotFoundException;
+import com.example.aoi_endka.leaderboard.CharacterRank;
+import com.example.aoi_endka.leaderboard.PowerLeaderboard;
+import com.example.aoi_endka.leaderboard.Ranking;
 import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
 import com.example.aoi_endka.service.CharacterService;
 import com.example.aoi_endka.patterns.factory.CharacterFactory;
 import com.example.aoi_endka.patterns.builder.CharacterBuilder;
+import com.example.aoi_endka.tracing.Traced;
+import com.example.aoi_endka.utils.FieldSelection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * REST Controller for Character operations
  * Handles HTTP requests for character management
  */
 @RestController
+@Traced
 @RequestMapping("/api/characters")
 @CrossOrigin(origins = "*")
 public class CharacterRestController {
 
+    private static final String BODY_KEY_ALL = "characters:all:body";
+    private static final String BODY_KEY_PREFIX = "characters:body:";
+
     @Autowired
     private CharacterService characterService;
 
+    @Autowired
+    private PowerLeaderboard leaderboard;
+
+    private final SerializedResponseCache responseCache;
+    private final Map<ResponseFormat, ObjectWriter> listWriters;
+    private final Map<ResponseFormat, ObjectWriter> entityWriters;
+    private final Map<ResponseFormat, ObjectWriter> projectionListWriters;
+    private final Map<ResponseFormat, ObjectWriter> projectionWriters;
+
+    public CharacterRestController(SerializedResponseCache responseCache, ResponseEncodings encodings) {
+        this.responseCache = responseCache;
+        this.listWriters = encodings.writersFor(new TypeReference<List<GameEntity>>() {});
+        this.entityWriters = encodings.writersFor(GameEntity.class);
+        this.projectionListWriters = encodings.writersFor(new TypeReference<List<Map<String, Object>>>() {});
+        this.projectionWriters = encodings.writersFor(new TypeReference<Map<String, Object>>() {});
+    }
+
     /**
      * GET /api/characters - Get all characters
+     * Optional fields= selects only the listed columns (e.g. fields=id,name,type,level)
+     * Answers If-None-Match with 304, otherwise serves the serialized response cache
+     * Body format follows the Accept header (JSON, compact JSON, CBOR, Smile)
      */
     @GetMapping
-    public ResponseEntity<List<GameEntity>> getAllCharacters() {
-        List<GameEntity> characters = characterService.getAllCharacters();
-        return ResponseEntity.ok(characters);
+    public ResponseEntity<?> getAllCharacters(
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        try {
+            ResponseFormat format = ResponseFormat.negotiate(accept);
+            long version = characterService.getDataVersion();
+            String eTag = characterService.getCollectionETag(version);
+
+            if (fields == null) {
+                return serveCached(BODY_KEY_ALL, version, eTag, format, listWriters, acceptEncoding, webRequest,
+                        characterService::getAllCharacters);
+            }
+
+            List<String> fieldList = characterService.parseFields(fields);
+            return serveCached(BODY_KEY_ALL, version, eTag, format, projectionListWriters, acceptEncoding, webRequest,
+                    fieldList, () -> characterService.getCharacterProjections(fieldList));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException | ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
 
     /**
      * GET /api/characters/{id} - Get character by ID
+     * Supports the same fields= parameter as the list endpoint
      */
     @GetMapping("/{id}")
-    public ResponseEntity<GameEntity> getCharacterById(@PathVariable int id) {
+    public ResponseEntity<?> getCharacterById(
+            @PathVariable int id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
         try {
-            GameEntity character = characterService.getCharacterById(id);
-            return ResponseEntity.ok(character);
+            ResponseFormat format = ResponseFormat.negotiate(accept);
+            long version = characterService.getCharacterVersion(id);
+            String eTag = characterService.getCharacterETag(id, version);
+            String key = BODY_KEY_PREFIX + id;
+
+            if (fields == null) {
+                return serveCached(key, version, eTag, format, entityWriters, acceptEncoding, webRequest,
+                        () -> characterService.getCharacterById(id));
+            }
+
+            List<String> fieldList = characterService.parseFields(fields);
+            return serveCached(key, version, eTag, format, projectionWriters, acceptEncoding, webRequest,
+                    fieldList, () -> characterService.getCharacterProjection(id, fieldList));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/characters/search?q=dra - Case-insensitive name search, paged
+     * Names starting with q come first, then names containing q (at least 3 characters)
+     * mode=fuzzy returns the closest character and guild names within maxDistance edits instead
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCharacters(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "name") String mode,
+            @RequestParam(defaultValue = "2") int maxDistance,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            if ("fuzzy".equalsIgnoreCase(mode)) {
+                return ResponseEntity.ok(characterService.fuzzySearch(q, maxDistance, limit));
+            }
+            if (!"name".equalsIgnoreCase(mode)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "mode must be name or fuzzy"));
+            }
+            return ResponseEntity.ok(characterService.searchCharacters(q, offset, limit));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * POST /api/characters/query - Characters matching an and/or/not tree of conditions
+     * {"where": {"and": [{"type": "MAGE"}, {"level": {"min": 10}}, {"not": {"hasGuild": true}}]}, "limit": 50}
+     * Answers with the number of matches and their ids (ascending), "select": "count" skips the ids
+     */
+    @PostMapping("/query")
+    public ResponseEntity<?> queryCharacters(@RequestBody Map<String, Object> body) {
+        try {
+            return ResponseEntity.ok(characterService.queryCharacters(body));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/characters/ranking - Characters ranked by stored power, computed in SQL
+     * Optional type= ranks inside one character type
+     */
+    @GetMapping("/ranking")
+    public ResponseEntity<?> getPowerRanking(
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(characterService.getPowerRanking(type, offset, limit));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/characters/power?min=100&max=200 - Characters in a power range with their rank
+     */
+    @GetMapping("/power")
+    public ResponseEntity<?> getCharactersByPower(
+            @RequestParam(defaultValue = "0") int min,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int max) {
+        try {
+            return ResponseEntity.ok(characterService.getCharactersByPower(min, max));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/characters/{id}/rank - Rank globally, among the same type and inside the guild
+     * by=power (default) or by=level, neighbors= entries above and below to include
+     */
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<?> getCharacterRank(
+            @PathVariable int id,
+            @RequestParam(defaultValue = "power") String by,
+            @RequestParam(defaultValue = "2") int neighbors) {
+        int maxNeighbors = ConfigurationManager.getInstance().getIntProperty("leaderboard.max.neighbors", 10);
+        if (neighbors < 0 || neighbors > maxNeighbors) {
+            return ResponseEntity.badRequest().body(Map.of("error", "neighbors must be between 0 and " + maxNeighbors));
+        }
+
+        Ranking ranking;
+        try {
+            ranking = Ranking.valueOf(by.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "by must be power or level"));
+        }
+
+        try {
+            Optional<CharacterRank> rank = leaderboard.rank(id, ranking, neighbors);
+            return rank.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (DatabaseOperationException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -150,6 +335,50 @@ public class CharacterRestController {
         return "Cache cleared";
     }
 
+    /**
+     * Loads the body of a cached GET endpoint
+     */
+    @FunctionalInterface
+    private interface BodyLoader {
+        Object load() throws DatabaseOperationException, ResourceNotFoundException;
+    }
+
+    private ResponseEntity<byte[]> serveCached(String baseKey, long version, String baseETag, ResponseFormat format,
+                                               Map<ResponseFormat, ObjectWriter> writers, String acceptEncoding,
+                                               WebRequest webRequest, BodyLoader loader)
+            throws DatabaseOperationException, ResourceNotFoundException {
+        return serveCached(baseKey, version, baseETag, format, writers, acceptEncoding, webRequest, null, loader);
+    }
 
+    /**
+     * Shared flow of the cached GET endpoints:
+     * 304 on matching ETag, then cached bytes for (query, format, version), then load and encode once
+     * A field projection is a different representation, so it gets its own cache key and ETag. Both use the
+     * sorted field list, so reordered fields= values share one entry; its field order is the one of the request
+     * that filled it
+     */
+    private ResponseEntity<byte[]> serveCached(String baseKey, long version, String baseETag, ResponseFormat format,
+                                               Map<ResponseFormat, ObjectWriter> writers, String acceptEncoding,
+                                               WebRequest webRequest, List<String> fields, BodyLoader loader)
+            throws DatabaseOperationException, ResourceNotFoundException {
+        String eTag = format.tagETag(baseETag);
+        String key = SerializedResponseCache.key(baseKey, format);
+        if (fields != null) {
+            eTag = FieldSelection.tagETag(eTag, fields);
+            key = key + ":fields=" + FieldSelection.canonical(fields);
+        }
 
-}
\ No newline at end of file
+        if (webRequest.checkNotModified(eTag)) {
+            return responseCache.notModified(eTag);
+        }
+
+        Optional<SerializedResponse> cached = responseCache.lookup(key, version);
+        if (cached.isPresent()) {
+            return responseCache.toResponse(cached.get(), format, acceptEncoding);
+        }
+
+        Object body = loader.load();
+        return responseCache.toResponse(
+                responseCache.store(key, version, eTag, writers.get(format), body), format, acceptEncoding);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.aoi_endka.controller;
+
+import com.example.aoi_endka.events.DomainEventBus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for the domain event bus
+ */
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventRestController {
+
+    /**
+     * GET /api/events/stats - Buffer usage, published/dispatched/dropped counters, sinks and per type counts
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return DomainEventBus.getInstance().getStats();
+    }
+}
@@ -1,14 +1,18 @@
 package com.example.aoi_endka.controller;
 
+import com.example.aoi_endka.cache.ResponseFormat;
 import com.example.aoi_endka.exceptions.DatabaseOperationException;
 import com.example.aoi_endka.exceptions.InvalidInputException;
 import com.example.aoi_endka.exceptions.ResourceNotFoundException;
 import com.example.aoi_endka.model.Guild;
 import com.example.aoi_endka.service.GuildService;
+import com.example.aoi_endka.utils.FieldSelection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -26,12 +30,28 @@ public class GuildRestController {
 
     /**
      * GET /api/guilds - Get all guilds
+     * Optional fields= selects only the listed columns (e.g. fields=id,guildName)
+     * Answers If-None-Match with 304 while the guild data version is unchanged
      */
     @GetMapping
-    public ResponseEntity<List<Guild>> getAllGuilds() {
+    public ResponseEntity<?> getAllGuilds(
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
         try {
-            List<Guild> guilds = guildService.getAllGuilds();
-            return ResponseEntity.ok(guilds);
+            List<String> fieldList = fields != null ? guildService.parseFields(fields) : null;
+            String eTag = ResponseFormat.negotiate(accept).tagETag(guildService.getCollectionETag(guildService.getDataVersion()));
+            if (fieldList != null) {
+                eTag = FieldSelection.tagETag(eTag, fieldList);
+            }
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+
+            Object guilds = fieldList != null ? guildService.getGuildProjections(fieldList) : guildService.getAllGuilds();
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(guilds);
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (DatabaseOperationException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -41,12 +61,27 @@ public class GuildRestController {
      * GET /api/guilds/{id} - Get guild by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Guild> getGuildById(@PathVariable int id) {
+    public ResponseEntity<?> getGuildById(
+            @PathVariable int id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
         try {
-            Guild guild = guildService.getGuildById(id);
-            return ResponseEntity.ok(guild);
+            List<String> fieldList = fields != null ? guildService.parseFields(fields) : null;
+            String eTag = ResponseFormat.negotiate(accept).tagETag(guildService.getGuildETag(id, guildService.getGuildVersion(id)));
+            if (fieldList != null) {
+                eTag = FieldSelection.tagETag(eTag, fieldList);
+            }
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+
+            Object guild = fieldList != null ? guildService.getGuildProjection(id, fieldList) : guildService.getGuildById(id);
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(guild);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (DatabaseOperationException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,68 @@
+package com.example.aoi_endka.controller;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.leaderboard.LeaderboardEntry;
+import com.example.aoi_endka.leaderboard.PowerLeaderboard;
+import com.example.aoi_endka.leaderboard.Ranking;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for the power leaderboard
+ */
+@RestController
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = "*")
+public class LeaderboardRestController {
+
+    private final ConfigurationManager config = ConfigurationManager.getInstance();
+
+    @Autowired
+    private PowerLeaderboard leaderboard;
+
+    /**
+     * GET /api/leaderboard - Strongest characters
+     * Optional type= (WARRIOR, MAGE, ROGUE) or guildId= narrows the board, by=level orders by level
+     */
+    @GetMapping
+    public ResponseEntity<?> getTop(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "power") String by,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer guildId) {
+        int maxLimit = config.getIntProperty("leaderboard.max.limit", 100);
+        if (limit < 1 || limit > maxLimit) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + maxLimit));
+        }
+        if (type != null && guildId != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Use either type or guildId, not both"));
+        }
+
+        Ranking ranking;
+        try {
+            ranking = Ranking.valueOf(by.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "by must be power or level"));
+        }
+
+        try {
+            List<LeaderboardEntry> top;
+            if (type != null) {
+                top = leaderboard.topByType(ranking, type, limit);
+            } else if (guildId != null) {
+                top = leaderboard.topByGuild(ranking, guildId, limit);
+            } else {
+                top = leaderboard.top(ranking, limit);
+            }
+            return ResponseEntity.ok(top);
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
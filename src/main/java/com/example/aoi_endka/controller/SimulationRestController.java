@@ -0,0 +1,145 @@
+package com.example.aoi_endka.controller;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.exceptions.InvalidInputException;
+import com.example.aoi_endka.exceptions.ResourceNotFoundException;
+import com.example.aoi_endka.service.SimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for Monte Carlo combat simulations
+ */
+@RestController
+@RequestMapping("/api/simulations")
+@CrossOrigin(origins = "*")
+public class SimulationRestController {
+
+    @Autowired
+    private SimulationService simulationService;
+
+    /**
+     * GET /api/simulations/duel?attackerId=1&defenderId=2&battles=10000&seed=42
+     * Win rates, damage distribution and 95% intervals over independent battles
+     */
+    @GetMapping("/duel")
+    public ResponseEntity<?> simulateDuel(
+            @RequestParam int attackerId,
+            @RequestParam int defenderId,
+            @RequestParam(defaultValue = "10000") int battles,
+            @RequestParam(required = false) Long seed) {
+        try {
+            return ResponseEntity.ok(simulationService.simulateDuel(attackerId, defenderId, battles, seed));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/simulations/guild-war?guildA=1&guildB=2&duels=100&seed=42
+     * Every member of guildA duels every member of guildB, per member and overall win rates
+     */
+    @GetMapping("/guild-war")
+    public ResponseEntity<?> simulateGuildWar(
+            @RequestParam int guildA,
+            @RequestParam int guildB,
+            @RequestParam(defaultValue = "100") int duels,
+            @RequestParam(required = false) Long seed) {
+        try {
+            return ResponseEntity.ok(simulationService.simulateGuildWar(guildA, guildB, duels, seed));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/simulations/battle - Roster against roster
+     * {"sideA": [1, 2, 3], "sideB": [4, 5], "battles": 10000, "seed": 42}
+     */
+    @PostMapping("/battle")
+    public ResponseEntity<?> simulateBattle(@RequestBody Map<String, Object> body) {
+        try {
+            Object battles = body.getOrDefault("battles", 10000);
+            Object seed = body.get("seed");
+            if (!(battles instanceof Integer) || seed != null && !(seed instanceof Integer || seed instanceof Long)) {
+                throw new InvalidInputException("battles and seed must be integers");
+            }
+            return ResponseEntity.ok(simulationService.simulateBattle(ids(body.get("sideA"), "sideA"), ids(body.get("sideB"), "sideB"),
+                    (Integer) battles, seed != null ? ((Number) seed).longValue() : null));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/simulations/tournament - Repeated tournament, win probability per entrant
+     * {"format": "single-elimination" | "swiss", "runs": 1000, "seed": 42, "limit": 100,
+     *  "characterIds": [1, 2, 3] or "guildId": 1 (default every character), "swissRounds": 7}
+     */
+    @PostMapping("/tournament")
+    public ResponseEntity<?> simulateTournament(@RequestBody Map<String, Object> body) {
+        try {
+            Object format = body.getOrDefault("format", "single-elimination");
+            Object seed = body.get("seed");
+            if (!(format instanceof String)) {
+                throw new InvalidInputException("format must be single-elimination or swiss");
+            }
+            if (seed != null && !(seed instanceof Integer || seed instanceof Long)) {
+                throw new InvalidInputException("seed must be an integer");
+            }
+            List<Integer> characterIds = body.get("characterIds") != null ? ids(body.get("characterIds"), "characterIds") : null;
+            return ResponseEntity.ok(simulationService.simulateTournament(characterIds, integer(body, "guildId", null),
+                    (String) format, integer(body, "runs", 1000), integer(body, "swissRounds", null),
+                    integer(body, "limit", 100), seed != null ? ((Number) seed).longValue() : null));
+        } catch (InvalidInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Integer integer(Map<String, Object> body, String field, Integer defaultValue) throws InvalidInputException {
+        Object value = body.get(field);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Integer)) {
+            throw new InvalidInputException(field + " must be an integer");
+        }
+        return (Integer) value;
+    }
+
+    private static List<Integer> ids(Object value, String field) throws InvalidInputException {
+        if (!(value instanceof List)) {
+            throw new InvalidInputException(field + " must be an array of character ids");
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (Object id : (List<?>) value) {
+            if (!(id instanceof Integer)) {
+                throw new InvalidInputException(field + " must be an array of character ids");
+            }
+            ids.add((Integer) id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.aoi_endka.controller;
+
+import com.example.aoi_endka.analytics.CharacterStatistics;
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for live character statistics
+ */
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+public class StatsRestController {
+
+    @Autowired
+    private CharacterStatistics statistics;
+
+    /**
+     * GET /api/stats - Counts per type and guild, averages, level and experience histograms
+     */
+    @GetMapping
+    public ResponseEntity<?> getStats() {
+        try {
+            return ResponseEntity.ok(statistics.getSnapshot());
+        } catch (DatabaseOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/stats/reconcile - Check the counters against the database now
+     * skipped is true when no comparison was made (not loaded yet, a write raced it, or the query failed)
+     */
+    @PostMapping("/reconcile")
+    public Map<String, Object> reconcile() {
+        CharacterStatistics.Reconciliation result = statistics.reconcile();
+        return Map.of("consistent", result == CharacterStatistics.Reconciliation.MATCHED,
+                "reloaded", result == CharacterStatistics.Reconciliation.DRIFTED,
+                "skipped", result == CharacterStatistics.Reconciliation.SKIPPED);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.aoi_endka.events;
+
+/**
+ * A character attacked through Combatant.attack()
+ */
+public class AttackResolved extends DomainEvent {
+
+    private final int characterId;
+    private final String characterName;
+    private final String characterType;
+    private final String weapon;
+    private final int damage;
+    private final boolean critical;
+
+    /**
+     * @param weapon weapon type of a warrior or spell school of a mage, null for a rogue
+     */
+    public AttackResolved(int characterId, String characterName, String characterType, String weapon, int damage, boolean critical) {
+        this.characterId = characterId;
+        this.characterName = characterName;
+        this.characterType = characterType;
+        this.weapon = weapon;
+        this.damage = damage;
+        this.critical = critical;
+    }
+
+    public int getCharacterId() {
+        return characterId;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    public String getCharacterType() {
+        return characterType;
+    }
+
+    public String getWeapon() {
+        return weapon;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+
+    @Override
+    public String describe() {
+        switch (characterType) {
+            case "WARRIOR":
+                return characterName + " attacks with " + weapon + " for " + damage + " damage!";
+            case "MAGE":
+                return characterName + " casts " + weapon + " spell for " + damage + " damage!";
+            default:
+                return characterName + (critical ? " strikes with a CRITICAL HIT for " : " strikes from the shadows for ")
+                        + damage + " damage!";
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.aoi_endka.events;
+
+/**
+ * Prints events to standard output, the console messages the models used to print themselves
+ */
+public class ConsoleEventSink implements EventSink {
+
+    @Override
+    public void accept(DomainEvent event) {
+        System.out.println(event.describe());
+    }
+
+    @Override
+    public String getName() {
+        return "console";
+    }
+}
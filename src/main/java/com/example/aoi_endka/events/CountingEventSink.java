@@ -0,0 +1,33 @@
+package com.example.aoi_endka.events;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events per type
+ */
+public class CountingEventSink implements EventSink {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public void accept(DomainEvent event) {
+        counts.computeIfAbsent(event.getType(), type -> new LongAdder()).increment();
+    }
+
+    /**
+     * Events seen so far per type, sorted by type
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((type, count) -> snapshot.put(type, count.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public String getName() {
+        return "metrics";
+    }
+}
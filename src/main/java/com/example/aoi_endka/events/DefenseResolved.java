@@ -0,0 +1,47 @@
+package com.example.aoi_endka.events;
+
+/**
+ * A character defended through Combatant.defend()
+ */
+public class DefenseResolved extends DomainEvent {
+
+    private final int characterId;
+    private final String characterName;
+    private final String characterType;
+    private final int defense;
+
+    public DefenseResolved(int characterId, String characterName, String characterType, int defense) {
+        this.characterId = characterId;
+        this.characterName = characterName;
+        this.characterType = characterType;
+        this.defense = defense;
+    }
+
+    public int getCharacterId() {
+        return characterId;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    public String getCharacterType() {
+        return characterType;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    @Override
+    public String describe() {
+        switch (characterType) {
+            case "WARRIOR":
+                return characterName + " defends with " + defense + " armor!";
+            case "MAGE":
+                return characterName + " creates magic shield with " + defense + " absorption!";
+            default:
+                return characterName + " evades with " + defense + " evasion!";
+        }
+    }
+}
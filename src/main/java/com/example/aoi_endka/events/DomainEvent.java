@@ -0,0 +1,23 @@
+package com.example.aoi_endka.events;
+
+/**
+ * Something that happened to a character or guild, published on the DomainEventBus
+ * Events are immutable and cheap to create; text is only built by describe(), on the dispatcher thread
+ */
+public abstract class DomainEvent {
+
+    private final long timestamp = System.currentTimeMillis();
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getType() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Human readable text, the line the model used to print
+     */
+    public abstract String describe();
+}
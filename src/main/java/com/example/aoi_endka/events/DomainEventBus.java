@@ -0,0 +1,209 @@
+package com.example.aoi_endka.events;
+
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.utils.MpscRingBuffer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Singleton event bus for domain events
+ *
+ * publish() only offers the event to a bounded lock-free ring buffer, it never blocks and never
+ * does I/O; when the buffer is full the event is dropped and counted. One daemon thread drains
+ * the buffer and hands every event to every sink.
+ *
+ * Sinks at startup come from events.sinks (comma separated: console, log, metrics; default console),
+ * more can be added with addSink or subscribe
+ */
+public class DomainEventBus {
+
+    private static final int BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final MpscRingBuffer<DomainEvent> buffer;
+    private final List<EventSink> sinks = new CopyOnWriteArrayList<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong sinkErrors = new AtomicLong();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+    // Set by the dispatcher before it parks, publishers only unpark it then
+    private volatile boolean idle;
+
+    private DomainEventBus() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        buffer = new MpscRingBuffer<>(Math.max(2, config.getIntProperty("events.buffer.capacity", 8192)));
+        for (String name : config.getProperty("events.sinks", "console").split(",")) {
+            switch (name.trim().toLowerCase()) {
+                case "console":
+                    sinks.add(new ConsoleEventSink());
+                    break;
+                case "log":
+                    sinks.add(new LogEventSink());
+                    break;
+                case "metrics":
+                    sinks.add(new CountingEventSink());
+                    break;
+                case "":
+                    break;
+                default:
+                    logger.warn("Unknown event sink ignored: " + name.trim());
+            }
+        }
+        dispatcher = new Thread(this::dispatchLoop, "domain-events");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "domain-events-shutdown"));
+    }
+
+    // Bill Pugh Singleton implementation
+    private static class SingletonHelper {
+        private static final DomainEventBus INSTANCE = new DomainEventBus();
+    }
+
+    public static DomainEventBus getInstance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    /**
+     * Queue an event for the sinks, safe from any thread and never blocking
+     * @return false if the event was dropped because the buffer is full or there are no sinks
+     */
+    public boolean publish(DomainEvent event) {
+        if (sinks.isEmpty()) {
+            return false;
+        }
+        published.increment();
+        if (!buffer.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        if (idle) {
+            LockSupport.unpark(dispatcher);
+        }
+        return true;
+    }
+
+    public void addSink(EventSink sink) {
+        sinks.add(sink);
+    }
+
+    public void removeSink(EventSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Call subscriber for every event of the given type
+     * @return the sink to pass to removeSink to unsubscribe
+     */
+    public <T extends DomainEvent> EventSink subscribe(Class<T> type, Consumer<? super T> subscriber) {
+        EventSink sink = new EventSink() {
+            @Override
+            public void accept(DomainEvent event) {
+                if (type.isInstance(event)) {
+                    subscriber.accept(type.cast(event));
+                }
+            }
+
+            @Override
+            public String getName() {
+                return "subscriber:" + type.getSimpleName();
+            }
+        };
+        addSink(sink);
+        return sink;
+    }
+
+    /**
+     * Wait until every event published so far has been dispatched or dropped
+     * @return false on timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = published.sum();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (dispatched.get() + dropped.sum() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(dispatcher);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Buffer usage, counters and sinks; includes the per type counts of a metrics sink
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", buffer.capacity());
+        stats.put("pending", buffer.size());
+        stats.put("published", published.sum());
+        stats.put("dispatched", dispatched.get());
+        stats.put("dropped", dropped.sum());
+        stats.put("sinkErrors", sinkErrors.get());
+        List<String> names = new ArrayList<>();
+        for (EventSink sink : sinks) {
+            names.add(sink.getName());
+            if (sink instanceof CountingEventSink) {
+                stats.put("counts", ((CountingEventSink) sink).getCounts());
+            }
+        }
+        stats.put("sinks", names);
+        return stats;
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            if (buffer.drain(this::dispatch, BATCH) > 0) {
+                continue;
+            }
+            if (!running && buffer.size() == 0) {
+                return;
+            }
+            idle = true;
+            // Checked again after idle is set, so a publish in between either is seen here or unparks us
+            if (buffer.size() == 0 && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+            idle = false;
+        }
+    }
+
+    private void dispatch(DomainEvent event) {
+        for (EventSink sink : sinks) {
+            try {
+                sink.accept(event);
+            } catch (RuntimeException e) {
+                sinkErrors.incrementAndGet();
+                logger.error("Event sink " + sink.getName() + " failed on " + event.getType() + ": " + e.getMessage());
+            }
+        }
+        dispatched.incrementAndGet();
+    }
+
+    // Stop after the events still in the buffer are dispatched, so console output is not lost at exit
+    private void shutdown() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.aoi_endka.events;
+
+/**
+ * Receives every published event on the bus dispatcher thread, in publish order per publishing thread
+ * A sink must not block for long, the dispatcher serves all sinks one after another
+ */
+public interface EventSink {
+
+    void accept(DomainEvent event);
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
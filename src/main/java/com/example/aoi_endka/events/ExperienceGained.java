@@ -0,0 +1,40 @@
+package com.example.aoi_endka.events;
+
+/**
+ * A character gained experience points
+ */
+public class ExperienceGained extends DomainEvent {
+
+    private final int characterId;
+    private final String characterName;
+    private final int gained;
+    private final int total;
+
+    public ExperienceGained(int characterId, String characterName, int gained, int total) {
+        this.characterId = characterId;
+        this.characterName = characterName;
+        this.gained = gained;
+        this.total = total;
+    }
+
+    public int getCharacterId() {
+        return characterId;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    public int getGained() {
+        return gained;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @Override
+    public String describe() {
+        return characterName + " gained " + gained + " XP! Total: " + total;
+    }
+}
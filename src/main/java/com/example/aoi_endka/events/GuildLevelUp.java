@@ -0,0 +1,34 @@
+package com.example.aoi_endka.events;
+
+/**
+ * A guild reached a new level
+ */
+public class GuildLevelUp extends DomainEvent {
+
+    private final int guildId;
+    private final String guildName;
+    private final int level;
+
+    public GuildLevelUp(int guildId, String guildName, int level) {
+        this.guildId = guildId;
+        this.guildName = guildName;
+        this.level = level;
+    }
+
+    public int getGuildId() {
+        return guildId;
+    }
+
+    public String getGuildName() {
+        return guildName;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public String describe() {
+        return guildName + " reached level " + level + "!";
+    }
+}
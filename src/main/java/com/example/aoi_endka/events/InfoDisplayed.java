@@ -0,0 +1,39 @@
+package com.example.aoi_endka.events;
+
+import java.util.Map;
+
+/**
+ * displayInfo() of a character, guild or piece of equipment
+ */
+public class InfoDisplayed extends DomainEvent {
+
+    private static final String BORDER = "=================================";
+
+    private final Map<String, Object> fields;
+
+    /**
+     * @param fields labels and raw values in display order, fractions are shown as percentages
+     */
+    public InfoDisplayed(Map<String, Object> fields) {
+        this.fields = fields;
+    }
+
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String describe() {
+        String separator = System.lineSeparator();
+        StringBuilder text = new StringBuilder(BORDER);
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            text.append(separator).append(field.getKey()).append(": ");
+            if (field.getValue() instanceof Double) {
+                text.append(String.format("%.2f", (Double) field.getValue() * 100)).append('%');
+            } else {
+                text.append(field.getValue());
+            }
+        }
+        return text.append(separator).append(BORDER).toString();
+    }
+}
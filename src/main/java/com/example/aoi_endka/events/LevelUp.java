@@ -0,0 +1,54 @@
+package com.example.aoi_endka.events;
+
+import java.util.Map;
+
+/**
+ * A character reached a new level
+ */
+public class LevelUp extends DomainEvent {
+
+    private final int characterId;
+    private final String characterName;
+    private final int level;
+    private final Map<String, Number> increased;
+
+    /**
+     * @param increased stats that grew with the level and their new values, fractions are shown as percentages
+     */
+    public LevelUp(int characterId, String characterName, int level, Map<String, Number> increased) {
+        this.characterId = characterId;
+        this.characterName = characterName;
+        this.level = level;
+        this.increased = increased;
+    }
+
+    public int getCharacterId() {
+        return characterId;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public Map<String, Number> getIncreased() {
+        return increased;
+    }
+
+    @Override
+    public String describe() {
+        StringBuilder text = new StringBuilder(characterName).append(" leveled up to ").append(level).append('!');
+        for (Map.Entry<String, Number> stat : increased.entrySet()) {
+            text.append(System.lineSeparator()).append(stat.getKey()).append(" increased to ");
+            if (stat.getValue() instanceof Double) {
+                text.append(String.format("%.2f", stat.getValue().doubleValue() * 100)).append('%');
+            } else {
+                text.append(stat.getValue());
+            }
+        }
+        return text.toString();
+    }
+}
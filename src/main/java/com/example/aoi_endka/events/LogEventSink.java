@@ -0,0 +1,21 @@
+package com.example.aoi_endka.events;
+
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+
+/**
+ * Writes events to LoggingService at INFO
+ */
+public class LogEventSink implements EventSink {
+
+    private final LoggingService logger = LoggingService.getInstance();
+
+    @Override
+    public void accept(DomainEvent event) {
+        logger.info(event.describe());
+    }
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+}
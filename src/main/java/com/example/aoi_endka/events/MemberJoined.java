@@ -0,0 +1,46 @@
+package com.example.aoi_endka.events;
+
+/**
+ * A character joined a guild
+ */
+public class MemberJoined extends DomainEvent {
+
+    private final int guildId;
+    private final String guildName;
+    private final int characterId;
+    private final String characterName;
+    private final int memberCount;
+
+    public MemberJoined(int guildId, String guildName, int characterId, String characterName, int memberCount) {
+        this.guildId = guildId;
+        this.guildName = guildName;
+        this.characterId = characterId;
+        this.characterName = characterName;
+        this.memberCount = memberCount;
+    }
+
+    public int getGuildId() {
+        return guildId;
+    }
+
+    public String getGuildName() {
+        return guildName;
+    }
+
+    public int getCharacterId() {
+        return characterId;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    @Override
+    public String describe() {
+        return characterName + " joined " + guildName + "! Total members: " + memberCount;
+    }
+}
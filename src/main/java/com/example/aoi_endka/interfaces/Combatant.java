@@ -19,4 +19,21 @@ public interface Combatant {
      */
     int calculateDamage();
 
+    /**
+     * Damage of a normal hit, same formula as attack() without output or randomness
+     */
+    int baseDamage();
+
+    /**
+     * Same value as defend() without output
+     */
+    int defenseValue();
+
+    /**
+     * Probability that a hit deals double damage
+     */
+    default double critChance() {
+        return 0;
+    }
+
 }
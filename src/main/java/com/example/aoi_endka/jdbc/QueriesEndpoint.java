@@ -0,0 +1,39 @@
+package com.example.aoi_endka.jdbc;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/queries?sort=total&limit=20: the top SQL fingerprints of QueryStatistics,
+ * DELETE /actuator/queries starts counting again
+ */
+@Component
+@Endpoint(id = "queries")
+public class QueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryStatistics statistics = QueryStatistics.getInstance();
+
+    @ReadOperation
+    public List<Map<String, Object>> top(@Nullable String sort, @Nullable Integer limit) {
+        try {
+            return statistics.top(sort, limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+        } catch (IllegalArgumentException e) {
+            // 400 instead of 500
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.aoi_endka.jdbc;
+
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Singleton with execution statistics per SQL fingerprint, fed by TracingConnection
+ *
+ * A query's time is its execution plus, for a SELECT, the time spent in ResultSet.next() until the
+ * last row or close. Every fingerprint keeps counts, rows, errors and an HdrHistogram of the times.
+ * A query taking jdbc.slow.query.ms (500) or more is logged as WARN with its bind parameters.
+ * At most jdbc.max.fingerprints (1000) are tracked, further ones are counted under OTHER
+ */
+public class QueryStatistics {
+
+    private static final String OTHER = "OTHER";
+    private static final Comparator<Map<String, Object>> BY_TOTAL =
+            Comparator.comparingDouble(row -> (Double) row.get("totalMs"));
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long slowNanos;
+    private final int maxFingerprints;
+
+    private QueryStatistics() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.enabled = Boolean.parseBoolean(config.getProperty("jdbc.tracing.enabled", "true"));
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(config.getIntProperty("jdbc.slow.query.ms", 500));
+        this.maxFingerprints = Math.max(1, config.getIntProperty("jdbc.max.fingerprints", 1000));
+    }
+
+    // Bill Pugh Singleton implementation
+    private static class SingletonHelper {
+        private static final QueryStatistics INSTANCE = new QueryStatistics();
+    }
+
+    public static QueryStatistics getInstance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Statistics of the fingerprint of sql, created on first use
+     */
+    Entry entry(String sql) {
+        String fingerprint = SqlFingerprint.of(sql);
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            entry = entries.size() < maxFingerprints
+                    ? entries.computeIfAbsent(fingerprint, Entry::new)
+                    : entries.computeIfAbsent(OTHER, Entry::new);
+        }
+        return entry;
+    }
+
+    /**
+     * A query finished
+     * @param rows rows read, or update count
+     * @param parameters bind parameters, only evaluated when the query was slow
+     */
+    void completed(Entry entry, String sql, long executeNanos, long fetchNanos, long rows, Supplier<String> parameters) {
+        long total = executeNanos + fetchNanos;
+        entry.record(executeNanos, fetchNanos, rows);
+        if (total >= slowNanos) {
+            entry.slow.increment();
+            String params = parameters.get();
+            logger.warn(() -> String.format("Slow query %.1f ms (execute %.1f ms, fetch %.1f ms, %d rows): %s | params %s",
+                    total / 1e6, executeNanos / 1e6, fetchNanos / 1e6, rows, sql.replaceAll("\\s+", " ").trim(), params));
+        }
+    }
+
+    void failed(Entry entry) {
+        entry.errors.increment();
+    }
+
+    /**
+     * Fingerprints with the most total time first
+     * @param sort total, mean, p99, max or count
+     */
+    public List<Map<String, Object>> top(String sort, int limit) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            rows.add(entry.toMap());
+        }
+        Comparator<Map<String, Object>> order;
+        switch (sort == null ? "total" : sort) {
+            case "mean":
+                order = Comparator.comparingDouble(row -> (Double) row.get("meanMs"));
+                break;
+            case "p99":
+                order = Comparator.comparingDouble(row -> (Double) row.get("p99Ms"));
+                break;
+            case "max":
+                order = Comparator.comparingDouble(row -> (Double) row.get("maxMs"));
+                break;
+            case "count":
+                order = Comparator.comparingLong(row -> (Long) row.get("count"));
+                break;
+            case "total":
+                order = BY_TOTAL;
+                break;
+            default:
+                throw new IllegalArgumentException("sort must be one of total, mean, p99, max, count");
+        }
+        rows.sort(order.reversed());
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    /**
+     * Counters of one fingerprint
+     */
+    static final class Entry {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder executeNanos = new LongAdder();
+        private final LongAdder fetchNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        // Microseconds; recorded wait-free, moved into total when read
+        private final Recorder recorder = new Recorder(2);
+        private final Histogram total = new Histogram(2);
+        private Histogram interval;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        void record(long execute, long fetch, long rowCount) {
+            long nanos = execute + fetch;
+            count.increment();
+            rows.add(rowCount);
+            executeNanos.add(execute);
+            fetchNanos.add(fetch);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            recorder.recordValue(nanos / 1000);
+        }
+
+        synchronized Map<String, Object> toMap() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            long executions = count.sum();
+            double totalMs = (executeNanos.sum() + fetchNanos.sum()) / 1e6;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("fingerprint", fingerprint);
+            row.put("count", executions);
+            row.put("errors", errors.sum());
+            row.put("slow", slow.sum());
+            row.put("rows", rows.sum());
+            row.put("totalMs", round(totalMs));
+            row.put("executeMs", round(executeNanos.sum() / 1e6));
+            row.put("fetchMs", round(fetchNanos.sum() / 1e6));
+            row.put("meanMs", round(executions > 0 ? totalMs / executions : 0));
+            row.put("p50Ms", round(total.getValueAtPercentile(50.0) / 1000.0));
+            row.put("p90Ms", round(total.getValueAtPercentile(90.0) / 1000.0));
+            row.put("p99Ms", round(total.getValueAtPercentile(99.0) / 1000.0));
+            row.put("maxMs", round(maxNanos.get() / 1e6));
+            return row;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000.0) / 1000.0;
+        }
+    }
+}
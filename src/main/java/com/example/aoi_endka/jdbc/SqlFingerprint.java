@@ -0,0 +1,45 @@
+package com.example.aoi_endka.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized form of an SQL statement, so executions that differ only in literals are counted together:
+ * string and number literals become ?, IN lists of placeholders become (?+), whitespace is collapsed
+ *
+ * Repositories send the same few SQL strings over and over, so results are cached by the raw SQL
+ */
+public final class SqlFingerprint {
+
+    private static final int MAX_CACHED = 10_000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String fingerprint = CACHE.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalize(sql);
+            if (CACHE.size() >= MAX_CACHED) {
+                // Only reached with SQL built from unbounded input, start over rather than grow
+                CACHE.clear();
+            }
+            CACHE.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    static String normalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = PLACEHOLDER_LIST.matcher(result).replaceAll("(?+)");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.aoi_endka.jdbc;
+
+import com.example.aoi_endka.tracing.Span;
+import com.example.aoi_endka.tracing.Tracer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * JDK proxies around a Connection, its statements and their result sets that report to QueryStatistics
+ *
+ * A statement remembers its SQL and bind parameters (setXxx(index, value, ...)) and times every
+ * execute*, a result set adds the time spent in next() until the last row or close() and counts rows.
+ * In a sampled trace every execute* is also a span "sql" tagged with the statement fingerprint.
+ * Everything else is passed through, so repositories keep using the plain JDBC interfaces
+ */
+public final class TracingConnection {
+
+    private static final int MAX_PARAMETERS_SHOWN = 10;
+    private static final int MAX_VALUE_LENGTH = 40;
+
+    private TracingConnection() {
+    }
+
+    /**
+     * The connection itself when tracing is off (jdbc.tracing.enabled=false)
+     */
+    public static Connection wrap(Connection connection) {
+        QueryStatistics statistics = QueryStatistics.getInstance();
+        if (!statistics.isEnabled()) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection, statistics));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TracingConnection.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final QueryStatistics statistics;
+
+        ConnectionHandler(Connection target, QueryStatistics statistics) {
+            this.target = target;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingConnection.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0], statistics));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, new StatementHandler(result, (String) args[0], statistics));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler(result, null, statistics));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Object target;
+        private final QueryStatistics statistics;
+        // SQL of a prepared statement, null for a plain Statement (the SQL comes with execute)
+        private final String preparedSql;
+        private Object[] parameters = new Object[8];
+        private int parameterCount;
+        private int batchSize;
+
+        StatementHandler(Object target, String preparedSql, QueryStatistics statistics) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(parameters, 0, parameterCount, null);
+                parameterCount = 0;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            return TracingConnection.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            if (sql == null) {
+                // executeBatch of a plain Statement: the SQL went with addBatch
+                sql = "BATCH";
+            }
+            QueryStatistics.Entry entry = statistics.entry(sql);
+            Span span = Tracer.getInstance().start("sql");
+            if (span.isRecording()) {
+                span.tag("db.statement", entry.getFingerprint());
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = TracingConnection.invoke(target, method, args);
+            } catch (Throwable e) {
+                statistics.failed(entry);
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+            long executeNanos = System.nanoTime() - start;
+            String executedSql = sql;
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, entry, executedSql, executeNanos, this));
+            }
+            long rows = result instanceof Integer ? (Integer) result
+                    : result instanceof Long ? (Long) result
+                    : result instanceof int[] ? Arrays.stream((int[]) result).filter(n -> n > 0).sum() : 0;
+            statistics.completed(entry, executedSql, executeNanos, 0, rows, this::describeParameters);
+            batchSize = 0;
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        /**
+         * "[1='Arthas', 2=5]", long values cut, the batch size of a batch
+         */
+        String describeParameters() {
+            StringBuilder text = new StringBuilder("[");
+            for (int i = 0; i < Math.min(parameterCount, MAX_PARAMETERS_SHOWN); i++) {
+                if (i > 0) {
+                    text.append(", ");
+                }
+                text.append(i + 1).append('=').append(describe(parameters[i]));
+            }
+            if (parameterCount > MAX_PARAMETERS_SHOWN) {
+                text.append(", ... ").append(parameterCount - MAX_PARAMETERS_SHOWN).append(" more");
+            }
+            text.append(']');
+            if (batchSize > 0) {
+                text.append(" batch=").append(batchSize);
+            }
+            return text.toString();
+        }
+
+        private static String describe(Object value) {
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof byte[]) {
+                return "<" + ((byte[]) value).length + " bytes>";
+            }
+            String text = value.toString();
+            if (text.length() > MAX_VALUE_LENGTH) {
+                text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+            }
+            return value instanceof CharSequence ? "'" + text + "'" : text;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final QueryStatistics.Entry entry;
+        private final String sql;
+        private final long executeNanos;
+        private final StatementHandler statement;
+        private long fetchNanos;
+        private long rows;
+        private boolean done;
+
+        ResultSetHandler(ResultSet target, QueryStatistics.Entry entry, String sql, long executeNanos, StatementHandler statement) {
+            this.target = target;
+            this.entry = entry;
+            this.sql = sql;
+            this.executeNanos = executeNanos;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next") && !done) {
+                long start = System.nanoTime();
+                boolean more = (Boolean) TracingConnection.invoke(target, method, args);
+                fetchNanos += System.nanoTime() - start;
+                if (more) {
+                    rows++;
+                } else {
+                    complete();
+                }
+                return more;
+            }
+            if (name.equals("close")) {
+                complete();
+            }
+            return TracingConnection.invoke(target, method, args);
+        }
+
+        private void complete() {
+            if (!done) {
+                done = true;
+                statement.statistics.completed(entry, sql, executeNanos, fetchNanos, rows, statement::describeParameters);
+            }
+        }
+    }
+}
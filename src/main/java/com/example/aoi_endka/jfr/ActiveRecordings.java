@@ -0,0 +1,44 @@
+package com.example.aoi_endka.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Whether any Flight Recorder recording is running in this JVM
+ *
+ * Once a recording has run, event classes stay instrumented and building an event costs a few
+ * tens of nanoseconds even when nothing records it. The emit helpers check this flag first, so they
+ * are back to a field read as soon as the last recording ends
+ */
+final class ActiveRecordings {
+
+    private static volatile boolean running;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                update();
+            }
+
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                update();
+            }
+        });
+    }
+
+    private ActiveRecordings() {
+    }
+
+    static boolean any() {
+        return running;
+    }
+
+    private static void update() {
+        running = FlightRecorder.isInitialized() && FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(r -> r.getState() == RecordingState.RUNNING);
+    }
+}
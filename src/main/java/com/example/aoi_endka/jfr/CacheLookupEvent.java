@@ -0,0 +1,46 @@
+package com.example.aoi_endka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A SimpleCashe.get
+ *
+ * Disabled unless the recording settings enable it (the bundled aoi-endka.jfc does), a busy
+ * service looks up the cache many thousand times per second
+ */
+@Name("com.example.aoi_endka.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Character Management", "Cache"})
+@Description("Lookup in SimpleCashe; an expired entry counts as a miss")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Region")
+    String region;
+
+    @Label("Key")
+    String key;
+
+    @Label("Hit")
+    boolean hit;
+
+    public static void emit(String region, String key, boolean hit) {
+        if (!ActiveRecordings.any()) {
+            return;
+        }
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (event.shouldCommit()) {
+            event.region = region;
+            event.key = key;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
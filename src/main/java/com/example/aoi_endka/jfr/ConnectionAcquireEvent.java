@@ -0,0 +1,29 @@
+package com.example.aoi_endka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * DatabaseConnection.getConnection, begin() before DriverManager is asked, finish() after
+ */
+@Name("com.example.aoi_endka.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({"Character Management", "Database"})
+public class ConnectionAcquireEvent extends Event {
+
+    @Label("URL")
+    String url;
+
+    @Label("Success")
+    boolean success;
+
+    public void finish(String url, boolean success) {
+        if (shouldCommit()) {
+            this.url = url;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.aoi_endka.jfr;
+
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Flight Recorder on demand
+ *
+ * POST /actuator/jfr {"name", "seconds", "settings"} starts a recording with the JDK "default" (or
+ * "profile") settings plus jfr/aoi-endka.jfc, which enables the domain events of this package.
+ * It is written to jfr.dump.dir (recordings) as name-timestamp.jfr when it ends after seconds
+ * (jfr.default.duration.seconds, 60; 0 runs until stopped) or on DELETE /actuator/jfr.
+ * GET /actuator/jfr shows the current or last recording. One recording at a time
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String BUNDLED_SETTINGS = "/jfr/aoi-endka.jfc";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ConfigurationManager config = ConfigurationManager.getInstance();
+    private final LoggingService logger = LoggingService.getInstance();
+    private Recording recording;
+    private String baseSettings;
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("available", FlightRecorder.isAvailable());
+        if (recording != null) {
+            status.put("recording", describe(recording));
+        }
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String name, @Nullable Integer seconds, @Nullable String settings) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new InvalidEndpointRequestException("Flight Recorder is not available in this JVM", "JFR unavailable");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("Recording " + recording.getName() + " is already running",
+                    "Recording running");
+        }
+        String recordingName = name == null || name.isBlank() ? "aoi-endka" : name.replaceAll("[^A-Za-z0-9_-]", "_");
+        String base = settings == null || settings.isBlank() ? "default" : settings;
+        int duration = seconds != null ? seconds : config.getIntProperty("jfr.default.duration.seconds", 60);
+
+        Recording started = null;
+        try {
+            Map<String, String> recordingSettings = settings(base);
+            Path dir = Paths.get(config.getProperty("jfr.dump.dir", "recordings"));
+            Files.createDirectories(dir);
+            started = new Recording(recordingSettings);
+            started.setName(recordingName);
+            started.setToDisk(true);
+            started.setMaxSize(config.getIntProperty("jfr.max.size.mb", 250) * 1024L * 1024L);
+            if (duration > 0) {
+                started.setDuration(Duration.ofSeconds(duration));
+            }
+            started.setDestination(dir.resolve(recordingName + "-" + LocalDateTime.now().format(FILE_TIME) + ".jfr"));
+            started.start();
+        } catch (IOException | ParseException e) {
+            if (started != null) {
+                started.close();
+            }
+            throw new InvalidEndpointRequestException("Cannot start recording with settings " + base + ": " + e.getMessage(),
+                    "Invalid settings");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        recording = started;
+        baseSettings = base;
+        logger.info("JFR recording " + recordingName + " started, " + (duration > 0 ? duration + " s" : "until stopped")
+                + ", writing to " + started.getDestination());
+        return describe(started);
+    }
+
+    /**
+     * Stop the running recording and write it to its file
+     */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("No recording is running", "No recording");
+        }
+        recording.stop();
+        logger.info("JFR recording " + recording.getName() + " written to " + recording.getDestination());
+        return describe(recording);
+    }
+
+    // Running recordings would be lost with the JVM
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+    }
+
+    private Map<String, String> settings(String base) throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(base).getSettings());
+        try (InputStream in = FlightRecorderEndpoint.class.getResourceAsStream(BUNDLED_SETTINGS)) {
+            if (in == null) {
+                throw new IOException(BUNDLED_SETTINGS + " not found");
+            }
+            settings.putAll(Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8)).getSettings());
+        }
+        return settings;
+    }
+
+    private Map<String, Object> describe(Recording r) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("id", r.getId());
+        info.put("name", r.getName());
+        info.put("state", r.getState().name());
+        info.put("settings", baseSettings + " + aoi-endka.jfc");
+        info.put("startTime", r.getStartTime() != null ? r.getStartTime().toString() : null);
+        info.put("duration", r.getDuration() != null ? r.getDuration().toSeconds() + " s" : "until stopped");
+        info.put("destination", r.getDestination() != null ? r.getDestination().toAbsolutePath().toString() : null);
+        Path file = r.getDestination();
+        // A recording with a destination is written and closed when it stops
+        if (r.getState() == RecordingState.CLOSED && file != null && Files.exists(file)) {
+            try {
+                info.put("fileBytes", Files.size(file));
+            } catch (IOException e) {
+                info.put("fileBytes", null);
+            }
+        }
+        return info;
+    }
+}
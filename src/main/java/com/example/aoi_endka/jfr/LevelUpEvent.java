@@ -0,0 +1,44 @@
+package com.example.aoi_endka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A character or guild levelled up, emitted on the thread that caused it
+ */
+@Name("com.example.aoi_endka.LevelUp")
+@Label("Level Up")
+@Category({"Character Management", "Domain"})
+public class LevelUpEvent extends Event {
+
+    @Label("Entity Type")
+    @Description("WARRIOR, MAGE, ROGUE or GUILD")
+    String entityType;
+
+    @Label("Id")
+    int id;
+
+    @Label("Name")
+    String name;
+
+    @Label("Level")
+    @Description("Level after the level up")
+    int level;
+
+    public static void emit(String entityType, int id, String name, int level) {
+        if (!ActiveRecordings.any()) {
+            return;
+        }
+        LevelUpEvent event = new LevelUpEvent();
+        if (event.shouldCommit()) {
+            event.entityType = entityType;
+            event.id = id;
+            event.name = name;
+            event.level = level;
+            event.commit();
+        }
+    }
+}
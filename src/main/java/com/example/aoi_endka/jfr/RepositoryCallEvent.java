@@ -0,0 +1,60 @@
+package com.example.aoi_endka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One repository method, emitted by QueryMetrics when the method ends
+ *
+ * The event is committed at the end and carries the query time as a field, so its own JFR
+ * duration is zero; filter on queryTime rather than on a threshold
+ */
+@Name("com.example.aoi_endka.RepositoryCall")
+@Label("Repository Call")
+@Category({"Character Management", "Database"})
+@Description("Repository method: query, row iteration and commit, connection acquire excluded")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Table")
+    String table;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Type")
+    @Description("select, insert, update or delete")
+    String type;
+
+    @Label("Rows")
+    @Description("Rows read or affected")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Query Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queryTime;
+
+    public static void emit(String table, String operation, String type, long rows, boolean failed, long queryNanos) {
+        if (!ActiveRecordings.any()) {
+            return;
+        }
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.operation = operation;
+            event.type = type;
+            event.rows = rows;
+            event.failed = failed;
+            event.queryTime = queryNanos;
+            event.commit();
+        }
+    }
+}
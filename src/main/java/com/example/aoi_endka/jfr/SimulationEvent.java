@@ -0,0 +1,45 @@
+package com.example.aoi_endka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One run of CombatSimulator, begin() before the fork/join pool is invoked, finish() after
+ */
+@Name("com.example.aoi_endka.Simulation")
+@Label("Combat Simulation")
+@Category({"Character Management", "Simulation"})
+public class SimulationEvent extends Event {
+
+    @Label("Kind")
+    @Description("battle, guildWar or tournament")
+    String kind;
+
+    @Label("Side A")
+    @Description("Members of side A, or entrants of a tournament")
+    int sideA;
+
+    @Label("Side B")
+    int sideB;
+
+    @Label("Iterations")
+    @Description("Battles, duels or tournament runs")
+    long iterations;
+
+    @Label("Seed")
+    long seed;
+
+    public void finish(String kind, int sideA, int sideB, long iterations, long seed) {
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.sideA = sideA;
+            this.sideB = sideB;
+            this.iterations = iterations;
+            this.seed = seed;
+            commit();
+        }
+    }
+}
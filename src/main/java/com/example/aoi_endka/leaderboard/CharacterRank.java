@@ -0,0 +1,42 @@
+package com.example.aoi_endka.leaderboard;
+
+/**
+ * Rank of one character globally, among its type and inside its guild
+ * guild is null when the character has no guild
+ */
+public class CharacterRank {
+
+    private final LeaderboardEntry character;
+    private final Ranking ranking;
+    private final RankPosition global;
+    private final RankPosition type;
+    private final RankPosition guild;
+
+    public CharacterRank(LeaderboardEntry character, Ranking ranking, RankPosition global, RankPosition type, RankPosition guild) {
+        this.character = character;
+        this.ranking = ranking;
+        this.global = global;
+        this.type = type;
+        this.guild = guild;
+    }
+
+    public LeaderboardEntry getCharacter() {
+        return character;
+    }
+
+    public Ranking getRanking() {
+        return ranking;
+    }
+
+    public RankPosition getGlobal() {
+        return global;
+    }
+
+    public RankPosition getType() {
+        return type;
+    }
+
+    public RankPosition getGuild() {
+        return guild;
+    }
+}
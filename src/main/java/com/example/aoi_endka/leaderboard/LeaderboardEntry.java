@@ -0,0 +1,72 @@
+package com.example.aoi_endka.leaderboard;
+
+import com.example.aoi_endka.model.GameEntity;
+
+import java.util.Comparator;
+
+/**
+ * Immutable leaderboard row, replaced as a whole when the character changes
+ */
+public class LeaderboardEntry {
+
+    /** Highest power first, ties by level then by oldest id */
+    public static final Comparator<LeaderboardEntry> BY_POWER_DESC = Comparator
+            .comparingInt(LeaderboardEntry::getPower).reversed()
+            .thenComparing(Comparator.comparingInt(LeaderboardEntry::getLevel).reversed())
+            .thenComparingInt(LeaderboardEntry::getId);
+
+    /** Highest level first, ties by power then by oldest id */
+    public static final Comparator<LeaderboardEntry> BY_LEVEL_DESC = Comparator
+            .comparingInt(LeaderboardEntry::getLevel).reversed()
+            .thenComparing(Comparator.comparingInt(LeaderboardEntry::getPower).reversed())
+            .thenComparingInt(LeaderboardEntry::getId);
+
+    private final int id;
+    private final String name;
+    private final String type;
+    private final int level;
+    private final int power;
+    private final Integer guildId;
+
+    public LeaderboardEntry(int id, String name, String type, int level, int power, Integer guildId) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.level = level;
+        this.power = power;
+        this.guildId = guildId;
+    }
+
+    public static LeaderboardEntry of(GameEntity character, Integer guildId) {
+        return new LeaderboardEntry(character.getId(), character.getName(), character.getCharacterType(),
+                character.getLevel(), character.calculatePower(), guildId);
+    }
+
+    public LeaderboardEntry withGuildId(Integer guildId) {
+        return new LeaderboardEntry(id, name, type, level, power, guildId);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getPower() {
+        return power;
+    }
+
+    public Integer getGuildId() {
+        return guildId;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.aoi_endka.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sorted set with O(log n) rank and index lookups (treap, every node knows its subtree size)
+ * Elements are unique by comparator; not thread-safe, callers lock around it
+ */
+public class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        final T value;
+        final int priority;
+        int size = 1;
+        Node<T> left;
+        Node<T> right;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Random random = new Random();
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * @return false if an equal element is already present
+     */
+    public boolean add(T value) {
+        if (rank(value) >= 0) {
+            return false;
+        }
+        Node<T>[] parts = split(root, value);
+        root = merge(merge(parts[0], new Node<>(value, random.nextInt())), parts[1]);
+        return true;
+    }
+
+    /**
+     * @return false if the element was not present
+     */
+    public boolean remove(T value) {
+        int before = size(root);
+        root = remove(root, value);
+        return size(root) < before;
+    }
+
+    /**
+     * Zero-based position of value, or -(insertion point) - 1 when absent (like Collections.binarySearch)
+     */
+    public int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int c = comparator.compare(value, node.value);
+            if (c < 0) {
+                node = node.left;
+            } else if (c > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -rank - 1;
+    }
+
+    /**
+     * Element at a zero-based position
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size(root));
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * Elements at positions [from, to) in order, O(log n + k)
+     */
+    public List<T> range(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(size(root), to);
+        List<T> result = new ArrayList<>(Math.max(0, to - from));
+        collect(root, from, to, 0, result);
+        return result;
+    }
+
+    private void collect(Node<T> node, int from, int to, int offset, List<T> out) {
+        if (node == null || offset >= to || offset + node.size <= from) {
+            return;
+        }
+        collect(node.left, from, to, offset, out);
+        int index = offset + size(node.left);
+        if (index >= from && index < to) {
+            out.add(node.value);
+        }
+        collect(node.right, from, to, index + 1, out);
+    }
+
+    // [elements < value, elements >= value]
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T value) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (comparator.compare(node.value, value) < 0) {
+            Node<T>[] parts = split(node.right, value);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        } else {
+            Node<T>[] parts = split(node.left, value);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        }
+    }
+
+    // Every element of a is before every element of b
+    private Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int c = comparator.compare(value, node.value);
+        if (c < 0) {
+            node.left = remove(node.left, value);
+        } else if (c > 0) {
+            node.right = remove(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.aoi_endka.leaderboard;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.repository.CharacterRepository;
+import com.example.aoi_endka.service.CharacterChangeListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Characters ordered by calculatePower() (and by level), kept up to date on every write
+ * Each ordering is an order-statistic tree, so top-N is O(log n + N) and rank is O(log n)
+ * All boards change under one write lock, a read sees the same state on every board
+ * Rebuilt from the database at startup (or on first use if the database was down)
+ */
+@Component
+public class PowerLeaderboard implements CharacterChangeListener {
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final CharacterRepository characterRepository = new CharacterRepository();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    private final Map<Integer, LeaderboardEntry> entries = new HashMap<>();
+    private final Map<Ranking, Board> boards = new EnumMap<>(Ranking.class);
+
+    public PowerLeaderboard() {
+        for (Ranking ranking : Ranking.values()) {
+            boards.put(ranking, new Board(ranking));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (DatabaseOperationException e) {
+            logger.warn("Leaderboard not built at startup, will retry on first request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reload all characters from the database
+     */
+    public void rebuild() throws DatabaseOperationException {
+        lock.writeLock().lock();
+        try {
+            long start = System.currentTimeMillis();
+            List<GameEntity> characters = characterRepository.getAll();
+            Map<Integer, Integer> guilds = characterRepository.getGuildAssignments();
+
+            entries.clear();
+            for (Ranking ranking : Ranking.values()) {
+                boards.put(ranking, new Board(ranking));
+            }
+            for (GameEntity character : characters) {
+                LeaderboardEntry entry = LeaderboardEntry.of(character, guilds.get(character.getId()));
+                entries.put(entry.getId(), entry);
+                index(entry);
+            }
+            loaded = true;
+            logger.info("Leaderboard rebuilt with " + entries.size() + " characters in " + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Strongest characters overall
+     */
+    public List<LeaderboardEntry> top(int limit) throws DatabaseOperationException {
+        return top(Ranking.POWER, limit);
+    }
+
+    public List<LeaderboardEntry> top(Ranking ranking, int limit) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return boards.get(ranking).global.range(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Strongest characters of one type (WARRIOR, MAGE, ROGUE)
+     */
+    public List<LeaderboardEntry> topByType(String type, int limit) throws DatabaseOperationException {
+        return topByType(Ranking.POWER, type, limit);
+    }
+
+    public List<LeaderboardEntry> topByType(Ranking ranking, String type, int limit) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return head(boards.get(ranking).byType.get(type.toUpperCase()), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Strongest members of one guild
+     */
+    public List<LeaderboardEntry> topByGuild(int guildId, int limit) throws DatabaseOperationException {
+        return topByGuild(Ranking.POWER, guildId, limit);
+    }
+
+    public List<LeaderboardEntry> topByGuild(Ranking ranking, int guildId, int limit) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return head(boards.get(ranking).byGuild.get(guildId), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank of a character on the global, type and guild boards
+     * @param neighbors how many entries above and below to include
+     * @return empty if the character does not exist
+     */
+    public Optional<CharacterRank> rank(int characterId, Ranking ranking, int neighbors) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = entries.get(characterId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            Board board = boards.get(ranking);
+            RankPosition guild = entry.getGuildId() != null
+                    ? position(board.byGuild.get(entry.getGuildId()), entry, neighbors)
+                    : null;
+            return Optional.of(new CharacterRank(entry, ranking,
+                    position(board.global, entry, neighbors),
+                    position(board.byType.get(entry.getType()), entry, neighbors),
+                    guild));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCharacterSaved(GameEntity character) {
+        update(character.getId(), current -> LeaderboardEntry.of(character, current != null ? current.getGuildId() : null));
+    }
+
+    @Override
+    public void onCharacterDeleted(int characterId) {
+        update(characterId, current -> null);
+    }
+
+    @Override
+    public void onGuildChanged(int characterId, Integer guildId) {
+        update(characterId, current -> current != null ? current.withGuildId(guildId) : null);
+    }
+
+    private void ensureLoaded() throws DatabaseOperationException {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    rebuild();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Replace the entry of one character on every board
+     */
+    private void update(int characterId, UnaryOperator<LeaderboardEntry> change) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // The next rebuild reads this change from the database
+                return;
+            }
+            LeaderboardEntry current = entries.get(characterId);
+            LeaderboardEntry next = change.apply(current);
+            if (current != null) {
+                unindex(current);
+                entries.remove(characterId);
+            }
+            if (next != null) {
+                index(next);
+                entries.put(characterId, next);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(LeaderboardEntry entry) {
+        for (Board board : boards.values()) {
+            board.add(entry);
+        }
+    }
+
+    private void unindex(LeaderboardEntry entry) {
+        for (Board board : boards.values()) {
+            board.remove(entry);
+        }
+    }
+
+    private static RankPosition position(OrderStatisticTree<LeaderboardEntry> tree, LeaderboardEntry entry, int neighbors) {
+        int index = tree.rank(entry);
+        return new RankPosition(index + 1, tree.size(),
+                tree.range(index - neighbors, index),
+                tree.range(index + 1, index + 1 + neighbors));
+    }
+
+    private static List<LeaderboardEntry> head(OrderStatisticTree<LeaderboardEntry> tree, int limit) {
+        return tree == null ? Collections.emptyList() : tree.range(0, limit);
+    }
+
+    /**
+     * One ordering: global tree plus a tree per type and per guild
+     */
+    private static final class Board {
+        final Ranking ranking;
+        final OrderStatisticTree<LeaderboardEntry> global;
+        final Map<String, OrderStatisticTree<LeaderboardEntry>> byType = new HashMap<>();
+        final Map<Integer, OrderStatisticTree<LeaderboardEntry>> byGuild = new HashMap<>();
+
+        Board(Ranking ranking) {
+            this.ranking = ranking;
+            this.global = new OrderStatisticTree<>(ranking.getComparator());
+        }
+
+        void add(LeaderboardEntry entry) {
+            global.add(entry);
+            byType.computeIfAbsent(entry.getType(), t -> new OrderStatisticTree<>(ranking.getComparator())).add(entry);
+            if (entry.getGuildId() != null) {
+                byGuild.computeIfAbsent(entry.getGuildId(), g -> new OrderStatisticTree<>(ranking.getComparator())).add(entry);
+            }
+        }
+
+        void remove(LeaderboardEntry entry) {
+            global.remove(entry);
+            OrderStatisticTree<LeaderboardEntry> typeTree = byType.get(entry.getType());
+            if (typeTree != null) {
+                typeTree.remove(entry);
+            }
+            if (entry.getGuildId() != null) {
+                OrderStatisticTree<LeaderboardEntry> guildTree = byGuild.get(entry.getGuildId());
+                if (guildTree != null) {
+                    guildTree.remove(entry);
+                    if (guildTree.isEmpty()) {
+                        byGuild.remove(entry.getGuildId());
+                    }
+                }
+            }
+        }
+    }
+}
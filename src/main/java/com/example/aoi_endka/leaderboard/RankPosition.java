@@ -0,0 +1,47 @@
+package com.example.aoi_endka.leaderboard;
+
+import java.util.List;
+
+/**
+ * Position of a character on one board plus the entries right above and below it
+ */
+public class RankPosition {
+
+    private final int rank;
+    private final int total;
+    private final List<LeaderboardEntry> above;
+    private final List<LeaderboardEntry> below;
+
+    public RankPosition(int rank, int total, List<LeaderboardEntry> above, List<LeaderboardEntry> below) {
+        this.rank = rank;
+        this.total = total;
+        this.above = above;
+        this.below = below;
+    }
+
+    /**
+     * 1 is the top of the board
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Share of the board ranked below this character, 0..100
+     */
+    public double getPercentile() {
+        return total <= 1 ? 100.0 : 100.0 * (total - rank) / (total - 1);
+    }
+
+    public List<LeaderboardEntry> getAbove() {
+        return above;
+    }
+
+    public List<LeaderboardEntry> getBelow() {
+        return below;
+    }
+}
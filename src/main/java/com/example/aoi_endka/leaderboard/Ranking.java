@@ -0,0 +1,21 @@
+package com.example.aoi_endka.leaderboard;
+
+import java.util.Comparator;
+
+/**
+ * Orderings the leaderboard keeps an index for
+ */
+public enum Ranking {
+    POWER(LeaderboardEntry.BY_POWER_DESC),
+    LEVEL(LeaderboardEntry.BY_LEVEL_DESC);
+
+    private final Comparator<LeaderboardEntry> comparator;
+
+    Ranking(Comparator<LeaderboardEntry> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<LeaderboardEntry> getComparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.aoi_endka.logging;
+
+import com.example.aoi_endka.patterns.singleton.LoggingService.LogLevel;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous back end of LoggingService
+ *
+ * Callers claim a slot of a preallocated ring buffer (same sequence scheme as MpscRingBuffer, with the
+ * record fields stored in parallel arrays so nothing is allocated per slot), store level, time and the
+ * message or its Supplier, and return. One consumer thread formats records in batches with a timestamp
+ * cached per second, evaluates suppliers, and writes each batch with one console write per stream and
+ * one flush of a RollingLogFile that stays open.
+ *
+ * When the buffer is full the OverflowPolicy decides: BLOCK waits for a free slot, DROP drops the record,
+ * SAMPLE keeps one of every sampleRate overflowing records and drops the rest. Drops are counted and
+ * reported in the log once the consumer catches up
+ */
+public class AsyncLogAppender {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SAMPLE
+    }
+
+    private static final int BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int capacity;
+    private final int mask;
+    private final LogLevel[] levels;
+    private final long[] times;
+    // String or Supplier<String>
+    private final Object[] messages;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final OverflowPolicy policy;
+    private final int sampleRate;
+    private final AtomicLong overflows = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+    // Log file requested by LoggingService, null for console only; the consumer opens and closes the channel
+    private volatile String filePath;
+
+    // Consumer thread only
+    private final CachedClock clock = new CachedClock();
+    private final StringBuilder out = new StringBuilder();
+    private final StringBuilder err = new StringBuilder();
+    private final StringBuilder line = new StringBuilder();
+    private final RotationPolicy rotation;
+    private RollingLogFile logFile;
+    private String logPath;
+    // Set when logPath cannot be opened, retried only after setFile
+    private boolean openFailed;
+    private long reportedDrops;
+
+    public AsyncLogAppender(int capacity, OverflowPolicy policy, int sampleRate, RotationPolicy rotation) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.levels = new LogLevel[this.capacity];
+        this.times = new long[this.capacity];
+        this.messages = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.policy = policy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.rotation = rotation;
+        consumer = new Thread(this::consume, "log-appender");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Queue a record, the message is a String or a Supplier<String> evaluated on the consumer thread
+     * @return false if the record was dropped by the overflow policy
+     */
+    public boolean append(LogLevel level, Object message) {
+        long time = System.currentTimeMillis();
+        boolean admitted = false;
+        long position;
+        int slot;
+        while (true) {
+            position = tail.get();
+            slot = (int) position & mask;
+            long lag = sequences.get(slot) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (lag < 0) {
+                if (!admitted) {
+                    if (!admitOverflow()) {
+                        dropped.increment();
+                        return false;
+                    }
+                    admitted = true;
+                }
+                // Full and the record is kept: wait for the consumer to free a slot
+                LockSupport.unpark(consumer);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+        }
+        levels[slot] = level;
+        times[slot] = time;
+        messages[slot] = message;
+        sequences.lazySet(slot, position + 1);
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    /**
+     * Write to this file from now on, null for console only
+     */
+    public void setFile(String path) {
+        this.filePath = path;
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Wait until every record queued so far is written
+     * @return false on timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written.get() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Write what is queued, close the file and stop the consumer
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("pending", (int) Math.max(0, tail.get() - head));
+        stats.put("policy", policy.name());
+        stats.put("written", written.get());
+        stats.put("batches", batches.get());
+        stats.put("overflows", overflows.get());
+        stats.put("dropped", dropped.sum());
+        stats.put("file", filePath);
+        return stats;
+    }
+
+    private boolean admitOverflow() {
+        long overflow = overflows.getAndIncrement();
+        switch (policy) {
+            case BLOCK:
+                return true;
+            case SAMPLE:
+                return overflow % sampleRate == 0;
+            default:
+                return false;
+        }
+    }
+
+    private void consume() {
+        while (true) {
+            if (drainBatch() > 0) {
+                continue;
+            }
+            if (!running && tail.get() == head) {
+                closeFile();
+                return;
+            }
+            idle = true;
+            // Checked again after idle is set, so a record appended in between either is seen here or wakes us
+            if (tail.get() == head && running && samePath()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            idle = false;
+            openFile();
+        }
+    }
+
+    private int drainBatch() {
+        openFile();
+        int count = 0;
+        while (count < BATCH) {
+            long position = head;
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            LogLevel level = levels[slot];
+            long time = times[slot];
+            Object message = messages[slot];
+            messages[slot] = null;
+            // Free the slot before formatting so blocked callers can go on
+            sequences.lazySet(slot, position + capacity);
+            head = position + 1;
+            format(level, time, message);
+            count++;
+        }
+        long drops = dropped.sum();
+        boolean report = drops > reportedDrops;
+        if (report) {
+            format(LogLevel.WARN, System.currentTimeMillis(), (drops - reportedDrops) + " log messages dropped, buffer full");
+            reportedDrops = drops;
+        }
+        if (count > 0 || report) {
+            writeBatch();
+            written.addAndGet(count);
+            batches.incrementAndGet();
+        }
+        return count;
+    }
+
+    private void format(LogLevel level, long time, Object message) {
+        String text;
+        if (message instanceof Supplier) {
+            try {
+                text = String.valueOf(((Supplier<?>) message).get());
+            } catch (RuntimeException e) {
+                text = "Log message supplier failed: " + e;
+            }
+        } else {
+            text = String.valueOf(message);
+        }
+        line.setLength(0);
+        line.append('[').append(clock.format(time)).append("] [").append(level).append("] ").append(text).append('\n');
+        StringBuilder console = level.ordinal() >= LogLevel.ERROR.ordinal() ? err : out;
+        console.append(level.getConsolePrefix()).append(line);
+        if (logFile != null) {
+            try {
+                logFile.write(line, time);
+            } catch (IOException e) {
+                fileFailed("write to", e);
+            }
+        }
+    }
+
+    private void writeBatch() {
+        if (out.length() > 0) {
+            System.out.print(out);
+            System.out.flush();
+            out.setLength(0);
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+            err.setLength(0);
+        }
+        if (logFile != null) {
+            try {
+                logFile.flush();
+            } catch (IOException e) {
+                fileFailed("write to", e);
+            }
+        }
+    }
+
+    // Follow setFile: close the file when the path changed, open the requested one if not open yet
+    private void openFile() {
+        if (!samePath()) {
+            closeFile();
+            logPath = filePath;
+            openFailed = false;
+        }
+        if (logPath != null && logFile == null && !openFailed) {
+            try {
+                logFile = new RollingLogFile(logPath, rotation);
+            } catch (IOException e) {
+                openFailed = true;
+                // Not through LoggingService: with BLOCK the consumer would wait for itself
+                System.err.println("Failed to open log file: " + e.getMessage());
+            }
+        }
+    }
+
+    private void fileFailed(String action, IOException e) {
+        System.err.println("Failed to " + action + " log file: " + e.getMessage());
+        closeFile();
+    }
+
+    private void closeFile() {
+        if (logFile != null) {
+            RollingLogFile closing = logFile;
+            logFile = null;
+            try {
+                closing.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close log file: " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean samePath() {
+        String requested = filePath;
+        return requested == null ? logPath == null : requested.equals(logPath);
+    }
+
+    /**
+     * "yyyy-MM-dd HH:mm:ss" of a time, formatted once per second
+     */
+    private static final class CachedClock {
+        private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        private final ZoneId zone = ZoneId.systemDefault();
+        private long second = Long.MIN_VALUE;
+        private String text;
+
+        String format(long millis) {
+            long current = Math.floorDiv(millis, 1000);
+            if (current != second) {
+                text = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone).format(formatter);
+                second = current;
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.aoi_endka.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log file that rolls over by size and by day
+ *
+ * Records are encoded into a reused 64 KB direct buffer and written to one FileChannel that stays open.
+ * Before a record that would take the file past the size limit, or the first record of a later day,
+ * the file is renamed to name.yyyy-MM-dd.N (the day of its records) and a new one is opened.
+ * Compressing rolled files and deleting all but the newest maxArchives runs on the shared
+ * "log-archiver" daemon thread, so a rollover only costs the writer a rename.
+ *
+ * Not thread safe: AsyncLogAppender writes from its consumer thread, the synchronous path of
+ * LoggingService under its own lock
+ */
+public class RollingLogFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ExecutorService ARCHIVER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "log-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+    private final RotationPolicy policy;
+    // name.yyyy-MM-dd.N with an optional .gz; group 1 is the day, group 2 the index
+    private final Pattern archiveName;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private ByteBuffer record = ByteBuffer.allocate(1024);
+
+    private FileChannel channel;
+    // Bytes in the file plus bytes still in the buffer
+    private long size;
+    private LocalDate day;
+    private long dayEnd;
+    private long rollovers;
+
+    /**
+     * Open or create the file; an existing file keeps the day it was last modified on
+     */
+    public RollingLogFile(String file, RotationPolicy policy) throws IOException {
+        this.path = Paths.get(file).toAbsolutePath();
+        this.policy = policy;
+        this.archiveName = Pattern.compile(Pattern.quote(path.getFileName().toString())
+                + "\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)(\\.gz)?");
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        long now = System.currentTimeMillis();
+        open(Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : now);
+        // Rolled files left uncompressed or over the limit by an earlier run
+        archive();
+    }
+
+    /**
+     * Append one record, rolling over first if needed
+     * @param timeMillis time of the record, decides the day it belongs to
+     */
+    public void write(CharSequence text, long timeMillis) throws IOException {
+        encode(text);
+        int bytes = record.remaining();
+        boolean newDay = policy.isDaily() && timeMillis >= dayEnd;
+        boolean full = policy.getMaxBytes() > 0 && size > 0 && size + bytes > policy.getMaxBytes();
+        if (newDay || full) {
+            roll(timeMillis);
+        }
+        if (bytes > buffer.remaining()) {
+            flush();
+        }
+        if (bytes > buffer.capacity()) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } else {
+            buffer.put(record);
+        }
+        size += bytes;
+    }
+
+    /**
+     * Write the buffered records to the file
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public String getPath() {
+        return path.toString();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getRollovers() {
+        return rollovers;
+    }
+
+    private void encode(CharSequence text) {
+        CharBuffer chars = CharBuffer.wrap(text);
+        record.clear();
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, record, true);
+            if (result.isOverflow()) {
+                grow();
+                continue;
+            }
+            if (encoder.flush(record).isOverflow()) {
+                grow();
+                continue;
+            }
+            break;
+        }
+        record.flip();
+    }
+
+    private void grow() {
+        ByteBuffer larger = ByteBuffer.allocate(record.capacity() * 2);
+        record.flip();
+        larger.put(record);
+        record = larger;
+    }
+
+    private void open(long timeMillis) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+        day = Instant.ofEpochMilli(timeMillis).atZone(zone).toLocalDate();
+        dayEnd = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    private void roll(long timeMillis) throws IOException {
+        close();
+        if (size > 0) {
+            Files.move(path, nextArchive(day));
+            rollovers++;
+            archive();
+        }
+        open(timeMillis);
+    }
+
+    private Path nextArchive(LocalDate archiveDay) throws IOException {
+        int index = 0;
+        for (Archive archive : listArchives()) {
+            if (archive.day.equals(archiveDay.toString())) {
+                index = Math.max(index, archive.index);
+            }
+        }
+        return path.resolveSibling(path.getFileName() + "." + archiveDay + "." + (index + 1));
+    }
+
+    private List<Archive> listArchives() throws IOException {
+        List<Archive> archives = new ArrayList<>();
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            files.forEach(file -> {
+                Matcher matcher = archiveName.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    archives.add(new Archive(file, matcher.group(1), Integer.parseInt(matcher.group(2)),
+                            matcher.group(3) != null));
+                }
+            });
+        }
+        // Newest first
+        archives.sort(Comparator.comparing((Archive archive) -> archive.day).thenComparingInt(archive -> archive.index)
+                .reversed());
+        return archives;
+    }
+
+    private void archive() {
+        ARCHIVER.execute(() -> {
+            try {
+                List<Archive> archives = listArchives();
+                for (int i = 0; i < archives.size(); i++) {
+                    Archive archive = archives.get(i);
+                    if (i >= policy.getMaxArchives()) {
+                        Files.deleteIfExists(archive.file);
+                    } else if (policy.isCompress() && !archive.compressed) {
+                        compress(archive.file);
+                    }
+                }
+            } catch (IOException e) {
+                // Not through LoggingService, the appender thread may be waiting on this file
+                System.err.println("Failed to archive log files of " + path + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private static void compress(Path file) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + ".gz");
+        Path partial = file.resolveSibling(file.getFileName() + ".gz.part");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+            Files.copy(file, out);
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(file);
+    }
+
+    private static final class Archive {
+        final Path file;
+        final String day;
+        final int index;
+        final boolean compressed;
+
+        Archive(Path file, String day, int index, boolean compressed) {
+            this.file = file;
+            this.day = day;
+            this.index = index;
+            this.compressed = compressed;
+        }
+    }
+}
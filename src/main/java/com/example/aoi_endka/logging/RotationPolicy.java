@@ -0,0 +1,47 @@
+package com.example.aoi_endka.logging;
+
+/**
+ * When a RollingLogFile rolls over and what happens to the rolled files
+ */
+public final class RotationPolicy {
+
+    private final long maxBytes;
+    private final boolean daily;
+    private final int maxArchives;
+    private final boolean compress;
+
+    /**
+     * @param maxBytes    roll before a record would take the file past this size, 0 for no size limit
+     * @param daily       roll when the first record of a new day is written
+     * @param maxArchives rolled files kept, the oldest are deleted
+     * @param compress    gzip rolled files
+     */
+    public RotationPolicy(long maxBytes, boolean daily, int maxArchives, boolean compress) {
+        this.maxBytes = Math.max(0, maxBytes);
+        this.daily = daily;
+        this.maxArchives = Math.max(0, maxArchives);
+        this.compress = compress;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public boolean isDaily() {
+        return daily;
+    }
+
+    public int getMaxArchives() {
+        return maxArchives;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    @Override
+    public String toString() {
+        return "RotationPolicy{maxBytes=" + maxBytes + ", daily=" + daily + ", maxArchives=" + maxArchives
+                + ", compress=" + compress + "}";
+    }
+}
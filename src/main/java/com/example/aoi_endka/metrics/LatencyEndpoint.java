@@ -0,0 +1,45 @@
+package com.example.aoi_endka.metrics;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/latency?sort=latency: p50 / p90 / p99 / p999 per route over the sliding window of
+ * RouteLatencyRegistry, with CPU time and allocated bytes per request; sort=cpu or sort=allocation
+ * puts the routes with the highest p99 of those first
+ * cpuTracked and allocationTracked tell whether the routes can have cpuMs and allocatedBytes at all
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final RouteLatencyRegistry registry;
+    private final RequestLatencyFilter filter;
+
+    public LatencyEndpoint(RouteLatencyRegistry registry, RequestLatencyFilter filter) {
+        this.registry = registry;
+        this.filter = filter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> latency(@Nullable String sort) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("windowSeconds", registry.getWindowMillis() / 1000.0);
+        result.put("unit", "ms");
+        result.put("cpuTracked", filter.isCpuTracked());
+        result.put("allocationTracked", filter.isAllocationTracked());
+        try {
+            result.put("routes", registry.snapshot(sort == null ? "latency" : sort));
+        } catch (IllegalArgumentException e) {
+            // 400 instead of 500
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return result;
+    }
+}
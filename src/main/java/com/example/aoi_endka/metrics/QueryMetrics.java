@@ -0,0 +1,98 @@
+package com.example.aoi_endka.metrics;
+
+import com.example.aoi_endka.jfr.RepositoryCallEvent;
+import com.example.aoi_endka.tracing.Span;
+import com.example.aoi_endka.tracing.Tracer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one repository query: timer db.query tagged with table, operation, type and outcome
+ *
+ * Repositories create one instance per query in a static field, so recording is two nanoTime calls and
+ * a Timer.record without any lookup. The timers live in Metrics.globalRegistry because repositories are
+ * not Spring beans; Spring Boot adds its registries (actuator metrics, Prometheus) to the global one.
+ * The time starts after the connection is acquired, that part is db.connection.acquire.
+ * Every record also emits a RepositoryCallEvent for Flight Recorder, and in a sampled trace start()
+ * opens a span "db table.operation" that record() ends
+ */
+public final class QueryMetrics {
+
+    /**
+     * Start time of a query whose connection could not be acquired, record() ignores it
+     */
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final String table;
+    private final String operation;
+    private final String type;
+    private final String spanName;
+    private final Timer success;
+    private final Timer error;
+
+    private QueryMetrics(String table, String operation, String type) {
+        this.table = table;
+        this.operation = operation;
+        this.type = type;
+        this.spanName = "db " + table + "." + operation;
+        this.success = timer(table, operation, type, "success");
+        this.error = timer(table, operation, type, "error");
+    }
+
+    /**
+     * @param type select, insert, update or delete
+     */
+    public static QueryMetrics of(String table, String operation, String type) {
+        return new QueryMetrics(table, operation, type);
+    }
+
+    /**
+     * Call after the connection is acquired
+     * @return the startNanos to pass to record()
+     */
+    public long start() {
+        Span span = Tracer.getInstance().start(spanName);
+        if (span.isRecording()) {
+            span.tag("db.table", table).tag("db.operation", operation);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @param startNanos start() after the connection was acquired, or NOT_STARTED
+     * @param failed     the query ended with an SQLException
+     * @param rows       rows read or affected
+     */
+    public void record(long startNanos, boolean failed, long rows) {
+        if (startNanos == NOT_STARTED) {
+            return;
+        }
+        Span span = Tracer.getInstance().currentSpan();
+        if (span.isRecording() && spanName.equals(span.getName())) {
+            span.tag("db.rows", rows);
+            if (failed) {
+                span.error("SQLException");
+            }
+            span.end();
+        }
+        long nanos = System.nanoTime() - startNanos;
+        (failed ? error : success).record(nanos, TimeUnit.NANOSECONDS);
+        RepositoryCallEvent.emit(table, operation, type, rows, failed, nanos);
+    }
+
+    private static Timer timer(String table, String operation, String type, String outcome) {
+        return Timer.builder("db.query")
+                .description("Repository query time, connection acquire excluded")
+                .tag("table", table)
+                .tag("operation", operation)
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(Metrics.globalRegistry);
+    }
+}
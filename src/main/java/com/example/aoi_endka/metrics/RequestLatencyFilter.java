@@ -0,0 +1,92 @@
+package com.example.aoi_endka.metrics;
+
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times every request into RouteLatencyRegistry, keyed by the templated path of the handler
+ * (/api/characters/{id}, not /api/characters/42) so the number of routes stays bounded
+ *
+ * Along with the time it records the bytes the request thread allocated (http.track.allocation, true)
+ * and the CPU time it used (http.track.cpu, true) while the request went through the chain. Work the
+ * request hands to other threads (simulation pool, log appender) is not included
+ *
+ * With http.access.log.sample.rate = N > 0 every N-th request, and every request answered with 5xx,
+ * is written to the access log through LoggingService.logApiRequest / logApiResponse; 0 (default) turns it off
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLatencyFilter extends OncePerRequestFilter {
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final RouteLatencyRegistry registry;
+    private final ThreadResources resources;
+    private final int sampleRate;
+    private final AtomicLong requests = new AtomicLong();
+
+    public RequestLatencyFilter(RouteLatencyRegistry registry) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.registry = registry;
+        this.resources = new ThreadResources(
+                Boolean.parseBoolean(config.getProperty("http.track.allocation", "true")),
+                Boolean.parseBoolean(config.getProperty("http.track.cpu", "true")));
+        this.sampleRate = Math.max(0, config.getIntProperty("http.access.log.sample.rate", 0));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long allocatedStart = resources.allocatedBytes();
+        long cpuStart = resources.cpuNanos();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocated = delta(allocatedStart, resources.allocatedBytes());
+            long cpu = delta(cpuStart, resources.cpuNanos());
+            // An exception escaping the chain becomes a 500 further up
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? pattern.toString() : RouteLatencyRegistry.UNMATCHED;
+            registry.record(request.getMethod(), route, status, nanos, allocated, cpu);
+            if (sampleRate > 0 && (requests.incrementAndGet() % sampleRate == 0 || status >= 500)) {
+                logger.logApiRequest(request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+                logger.logApiResponse(route, status, TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+        }
+    }
+
+    /**
+     * Whether allocated bytes are measured, off when http.track.allocation is false or the JVM cannot
+     */
+    boolean isAllocationTracked() {
+        return resources.isAllocationTracked();
+    }
+
+    /**
+     * Whether CPU time is measured, off when http.track.cpu is false or the JVM cannot
+     */
+    boolean isCpuTracked() {
+        return resources.isCpuTracked();
+    }
+
+    private static long delta(long start, long end) {
+        return start == ThreadResources.UNAVAILABLE ? ThreadResources.UNAVAILABLE : Math.max(0, end - start);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.aoi_endka.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request latency, CPU time and allocated bytes per route (method, templated path, status) over a sliding window
+ *
+ * Each route has SlidingHistograms (latency and CPU in microseconds, allocation in bytes) with
+ * http.latency.window.buckets buckets (6) of http.latency.bucket.ms (10 s), so percentiles describe
+ * about the last minute. The number of routes is capped by http.latency.max.routes (500), requests of
+ * routes beyond that share one OTHER route.
+ *
+ * CPU and allocation also go to Metrics.globalRegistry as the timer http.server.requests.cpu and the
+ * summary http.server.requests.allocated (bytes), tagged method, uri and status like Spring's
+ * http.server.requests, so dashboards can chart them per request next to the latency
+ */
+@Component
+public class RouteLatencyRegistry {
+
+    static final String UNMATCHED = "UNMATCHED";
+    private static final String OTHER = "OTHER";
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final int buckets;
+    private final int maxRoutes;
+    private final long bucketMillis;
+
+    // All three come from the Spring environment, which the @Scheduled rotation below also reads
+    public RouteLatencyRegistry(@Value("${http.latency.bucket.ms:10000}") long bucketMillis,
+                                @Value("${http.latency.window.buckets:6}") int buckets,
+                                @Value("${http.latency.max.routes:500}") int maxRoutes) {
+        this.buckets = Math.max(1, buckets);
+        this.maxRoutes = Math.max(1, maxRoutes);
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * @param route          templated path of the handler, UNMATCHED when no handler matched
+     * @param allocatedBytes bytes allocated by the request thread, negative if not measured
+     * @param cpuNanos       CPU time of the request thread, negative if not measured
+     */
+    public void record(String method, String route, int status, long nanos, long allocatedBytes, long cpuNanos) {
+        String key = method + ' ' + route + ' ' + status;
+        Route stats = routes.get(key);
+        if (stats == null) {
+            stats = routes.size() < maxRoutes
+                    ? routes.computeIfAbsent(key, k -> new Route(method, route, status))
+                    : routes.computeIfAbsent(OTHER, k -> new Route("*", OTHER, 0));
+        }
+        stats.latency.record(nanos / 1000);
+        stats.total.increment();
+        if (allocatedBytes >= 0) {
+            stats.allocation.record(allocatedBytes);
+            stats.allocationSummary.record(allocatedBytes);
+        }
+        if (cpuNanos >= 0) {
+            stats.cpu.record(cpuNanos / 1000);
+            stats.cpuTimer.record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${http.latency.bucket.ms:10000}", fixedRateString = "${http.latency.bucket.ms:10000}")
+    public void rotate() {
+        for (Route route : routes.values()) {
+            route.latency.rotate();
+            route.cpu.rotate();
+            route.allocation.rotate();
+        }
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * buckets;
+    }
+
+    /**
+     * Routes with requests in the window; times in milliseconds, allocation in bytes
+     * @param sort latency, cpu or allocation: highest p99 of that first
+     */
+    public List<Map<String, Object>> snapshot(String sort) {
+        String group;
+        switch (sort) {
+            case "latency":
+                group = null;
+                break;
+            case "cpu":
+                group = "cpuMs";
+                break;
+            case "allocation":
+                group = "allocatedBytes";
+                break;
+            default:
+                throw new IllegalArgumentException("sort must be one of latency, cpu, allocation");
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Route route : routes.values()) {
+            Histogram histogram = route.latency.snapshot();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("method", route.method);
+            row.put("route", route.route);
+            row.put("status", route.status);
+            row.put("count", histogram.getTotalCount());
+            row.put("totalCount", route.total.sum());
+            row.put("mean", round(histogram.getMean() / 1000.0));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                row.put(PERCENTILE_NAMES[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+            }
+            row.put("max", millis(histogram.getMaxValue()));
+            Histogram cpu = route.cpu.snapshot();
+            if (cpu.getTotalCount() > 0) {
+                row.put("cpuMs", summary(cpu, 1000.0));
+            }
+            Histogram allocation = route.allocation.snapshot();
+            if (allocation.getTotalCount() > 0) {
+                row.put("allocatedBytes", summary(allocation, 1.0));
+            }
+            result.add(row);
+        }
+        result.sort(Comparator.comparingDouble((Map<String, Object> row) -> p99(row, group)).reversed());
+        return result;
+    }
+
+    /**
+     * mean, p50, p99 and max of a histogram, divided by scale
+     */
+    private static Map<String, Object> summary(Histogram histogram, double scale) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mean", round(histogram.getMean() / scale));
+        summary.put("p50", round(histogram.getValueAtPercentile(50.0) / scale));
+        summary.put("p99", round(histogram.getValueAtPercentile(99.0) / scale));
+        summary.put("max", round(histogram.getMaxValue() / scale));
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double p99(Map<String, Object> row, String group) {
+        if (group == null) {
+            return (Double) row.get("p99");
+        }
+        Map<String, Object> summary = (Map<String, Object>) row.get(group);
+        return summary != null ? (Double) summary.get("p99") : -1;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private final class Route {
+        final String method;
+        final String route;
+        final int status;
+        final SlidingHistogram latency;
+        final SlidingHistogram cpu;
+        final SlidingHistogram allocation;
+        final LongAdder total = new LongAdder();
+        final Timer cpuTimer;
+        final DistributionSummary allocationSummary;
+
+        Route(String method, String route, int status) {
+            this.method = method;
+            this.route = route;
+            this.status = status;
+            this.latency = new SlidingHistogram(buckets);
+            this.cpu = new SlidingHistogram(buckets);
+            this.allocation = new SlidingHistogram(buckets);
+            Tags tags = Tags.of("method", method, "uri", route, "status", String.valueOf(status));
+            this.cpuTimer = Timer.builder("http.server.requests.cpu")
+                    .description("CPU time of the request thread")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry);
+            this.allocationSummary = DistributionSummary.builder("http.server.requests.allocated")
+                    .description("Bytes allocated by the request thread")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.aoi_endka.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * HdrHistogram of the values recorded in a sliding time window
+ *
+ * record() goes to a Recorder and is wait-free for any number of threads. rotate(), called once per
+ * bucket interval, moves what was recorded into the newest of the bucket histograms and then drops the
+ * oldest bucket, snapshot() adds the buckets up, so the window covers the last buckets - 1 to buckets
+ * intervals. All histograms resize themselves, so no value is ever clamped. The buckets are packed,
+ * so a route with few distinct latencies stays small; the Recorder is not, because packed recording
+ * costs about twice as much
+ */
+final class SlidingHistogram {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram[] buckets;
+    private int newest;
+    // Reused by getIntervalHistogram
+    private Histogram interval;
+
+    SlidingHistogram(int bucketCount) {
+        buckets = new Histogram[Math.max(1, bucketCount)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new PackedHistogram(SIGNIFICANT_DIGITS);
+        }
+    }
+
+    void record(long value) {
+        recorder.recordValue(Math.max(0, value));
+    }
+
+    /**
+     * Close the newest bucket and start a new one in place of the oldest
+     */
+    synchronized void rotate() {
+        collect();
+        newest = (newest + 1) % buckets.length;
+        buckets[newest].reset();
+    }
+
+    /**
+     * All values of the window, including the ones recorded since the last rotate()
+     */
+    synchronized Histogram snapshot() {
+        collect();
+        Histogram sum = new Histogram(SIGNIFICANT_DIGITS);
+        for (Histogram bucket : buckets) {
+            sum.add(bucket);
+        }
+        return sum;
+    }
+
+    private void collect() {
+        interval = recorder.getIntervalHistogram(interval);
+        buckets[newest].add(interval);
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.aoi_endka.model;
 
+import com.example.aoi_endka.events.DomainEventBus;
+import com.example.aoi_endka.events.InfoDisplayed;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class Equipment {
     private int id;
@@ -28,12 +33,12 @@ public class Equipment {
     }
 
     public void displayInfo() {
-        System.out.println("=================================");
-        System.out.println("Equipment: " + name);
-        System.out.println("Type: " + equipmentType);
-        System.out.println("Rarity: " + rarity);
-        System.out.println("Bonus Stats: " + bonusStats);
-        System.out.println("=================================");
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("Equipment", name);
+        fields.put("Type", equipmentType);
+        fields.put("Rarity", rarity);
+        fields.put("Bonus Stats", bonusStats);
+        DomainEventBus.getInstance().publish(new InfoDisplayed(fields));
     }
 
 
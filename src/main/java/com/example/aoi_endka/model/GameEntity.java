@@ -1,9 +1,13 @@
 package com.example.aoi_endka.model;
 
+import com.example.aoi_endka.events.DomainEventBus;
+import com.example.aoi_endka.events.InfoDisplayed;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Abstract base class for all game entities
@@ -21,6 +25,9 @@ import java.time.LocalDateTime;
 })
 public abstract class GameEntity {
 
+    // Models publish what happens to them instead of printing it
+    protected static final DomainEventBus EVENTS = DomainEventBus.getInstance();
+
     private int id;
     private String name;
     private int level;
@@ -57,13 +64,20 @@ public abstract class GameEntity {
 
     // Concrete method
     public void displayInfo() {
-        System.out.println("=================================");
-        System.out.println("Character: " + name);
-        System.out.println("Type: " + getCharacterType());
-        System.out.println("Level: " + level);
-        System.out.println("Experience: " + experience);
-        System.out.println("Power: " + calculatePower());
-        System.out.println("=================================");
+        Map<String, Object> fields = new LinkedHashMap<>();
+        appendInfo(fields);
+        EVENTS.publish(new InfoDisplayed(fields));
+    }
+
+    /**
+     * Fields of displayInfo(), subclasses add their own stats after these
+     */
+    protected void appendInfo(Map<String, Object> fields) {
+        fields.put("Character", name);
+        fields.put("Type", getCharacterType());
+        fields.put("Level", level);
+        fields.put("Experience", experience);
+        fields.put("Power", calculatePower());
     }
 
     // Setters with validation
@@ -1,12 +1,23 @@
 package com.example.aoi_endka.model;
 
+import com.example.aoi_endka.events.DomainEventBus;
+import com.example.aoi_endka.events.GuildLevelUp;
+import com.example.aoi_endka.events.InfoDisplayed;
+import com.example.aoi_endka.events.MemberJoined;
+import com.example.aoi_endka.events.MemberLeft;
+import com.example.aoi_endka.jfr.LevelUpEvent;
+
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Guild class - demonstrates composition/aggregation
  * Characters can belong to a Guild
  */
 public class Guild {
+    private static final DomainEventBus EVENTS = DomainEventBus.getInstance();
+
     private int id;
     private String guildName;
     private int level;
@@ -33,28 +44,29 @@ public class Guild {
     // Business logic methods
     public void addMember(GameEntity member) {
         this.memberCount++;
-        System.out.println("New member joined " + guildName + "! Total members: " + memberCount);
+        EVENTS.publish(new MemberJoined(id, guildName, member.getId(), member.getName(), memberCount));
     }
 
-    public void removeMember() {
+    public void removeMember(GameEntity member) {
         if (memberCount > 0) {
             this.memberCount--;
-            System.out.println("Member left " + guildName + ". Remaining members: " + memberCount);
+            EVENTS.publish(new MemberLeft(id, guildName, member.getId(), member.getName(), memberCount));
         }
     }
 
     public void levelUp() {
         this.level++;
-        System.out.println(guildName + " reached level " + level + "!");
+        EVENTS.publish(new GuildLevelUp(id, guildName, level));
+        LevelUpEvent.emit("GUILD", id, guildName, level);
     }
 
     public void displayInfo() {
-        System.out.println("=================================");
-        System.out.println("Guild: " + guildName);
-        System.out.println("Level: " + level);
-        System.out.println("Members: " + memberCount);
-        System.out.println("Created: " + createdDate);
-        System.out.println("=================================");
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("Guild", guildName);
+        fields.put("Level", level);
+        fields.put("Members", memberCount);
+        fields.put("Created", createdDate);
+        EVENTS.publish(new InfoDisplayed(fields));
     }
 
     // Validation
@@ -1,7 +1,14 @@
 package com.example.aoi_endka.model;
+import com.example.aoi_endka.events.AttackResolved;
+import com.example.aoi_endka.events.DefenseResolved;
+import com.example.aoi_endka.events.ExperienceGained;
+import com.example.aoi_endka.events.LevelUp;
+import com.example.aoi_endka.jfr.LevelUpEvent;
 import com.example.aoi_endka.interfaces.Combatant;
 import com.example.aoi_endka.interfaces.Progressable;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 public class Mage extends GameEntity implements Combatant,Progressable {
     private int mana;
     private int intelligence;
@@ -32,9 +39,11 @@ public class Mage extends GameEntity implements Combatant,Progressable {
         setLevel(getLevel() + 1);
         mana += 10;
         intelligence += 4;
-        System.out.println(getName() + " leveled up to " + getLevel() + "!");
-        System.out.println("Mana increased to " + mana);
-        System.out.println("Intelligence increased to " + intelligence);
+        Map<String, Number> increased = new LinkedHashMap<>();
+        increased.put("Mana", mana);
+        increased.put("Intelligence", intelligence);
+        EVENTS.publish(new LevelUp(getId(), getName(), getLevel(), increased));
+        LevelUpEvent.emit(getCharacterType(), getId(), getName(), getLevel());
     }
 
     @Override
@@ -45,18 +54,28 @@ public class Mage extends GameEntity implements Combatant,Progressable {
     // Combatant interface implementation
     @Override
     public int attack() {
-        int spellDamage = intelligence * 3;
-        System.out.println(getName() + " casts " + spellSchool + " spell for " + spellDamage + " damage!");
+        int spellDamage = baseDamage();
+        EVENTS.publish(new AttackResolved(getId(), getName(), getCharacterType(), spellSchool, spellDamage, false));
         return spellDamage;
     }
 
     @Override
     public int defend() {
-        int magicShield = mana / 10;
-        System.out.println(getName() + " creates magic shield with " + magicShield + " absorption!");
+        int magicShield = defenseValue();
+        EVENTS.publish(new DefenseResolved(getId(), getName(), getCharacterType(), magicShield));
         return magicShield;
     }
 
+    @Override
+    public int baseDamage() {
+        return intelligence * 3;
+    }
+
+    @Override
+    public int defenseValue() {
+        return mana / 10;
+    }
+
     @Override
     public int calculateDamage() {
         return intelligence * 3 + getLevel();
@@ -70,7 +89,7 @@ public class Mage extends GameEntity implements Combatant,Progressable {
             throw new IllegalArgumentException("Experience points must be positive");
         }
         setExperience(getExperience() + xp);
-        System.out.println(getName() + " gained " + xp + " XP! Total: " + getExperience());
+        EVENTS.publish(new ExperienceGained(getId(), getName(), xp, getExperience()));
 
         if (canLevelUp()) {
             levelUp();
@@ -116,11 +135,11 @@ public class Mage extends GameEntity implements Combatant,Progressable {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
-        System.out.println("Mana: " + mana);
-        System.out.println("Intelligence: " + intelligence);
-        System.out.println("Spell School: " + spellSchool);
+    protected void appendInfo(Map<String, Object> fields) {
+        super.appendInfo(fields);
+        fields.put("Mana", mana);
+        fields.put("Intelligence", intelligence);
+        fields.put("Spell School", spellSchool);
     }
 }
 
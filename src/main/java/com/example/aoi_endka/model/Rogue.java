@@ -1,8 +1,16 @@
 package com.example.aoi_endka.model;
 
+import com.example.aoi_endka.events.AttackResolved;
+import com.example.aoi_endka.events.DefenseResolved;
+import com.example.aoi_endka.events.ExperienceGained;
+import com.example.aoi_endka.events.LevelUp;
+import com.example.aoi_endka.jfr.LevelUpEvent;
 import com.example.aoi_endka.interfaces.Combatant;
 import com.example.aoi_endka.interfaces.Progressable;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 public class Rogue extends GameEntity implements Combatant, Progressable {
@@ -39,10 +47,12 @@ public class Rogue extends GameEntity implements Combatant, Progressable {
         agility += 4;
         stealth += 2;
         criticalChance += 0.02;
-        System.out.println(getName() + " leveled up to " + getLevel() + "!");
-        System.out.println("Agility increased to " + agility);
-        System.out.println("Stealth increased to " + stealth);
-        System.out.println("Critical Chance increased to " + String.format("%.2f", criticalChance * 100) + "%");
+        Map<String, Number> increased = new LinkedHashMap<>();
+        increased.put("Agility", agility);
+        increased.put("Stealth", stealth);
+        increased.put("Critical Chance", criticalChance);
+        EVENTS.publish(new LevelUp(getId(), getName(), getLevel(), increased));
+        LevelUpEvent.emit(getCharacterType(), getId(), getName(), getLevel());
     }
 
     @Override
@@ -53,25 +63,35 @@ public class Rogue extends GameEntity implements Combatant, Progressable {
     // Combatant interface implementation
     @Override
     public int attack() {
-        int baseDamage = agility * 2;
-        boolean isCritical = Math.random() < criticalChance;
+        int baseDamage = baseDamage();
+        boolean isCritical = ThreadLocalRandom.current().nextDouble() < criticalChance;
         int damage = isCritical ? baseDamage * 2 : baseDamage;
-
-        if (isCritical) {
-            System.out.println(getName() + " strikes with a CRITICAL HIT for " + damage + " damage!");
-        } else {
-            System.out.println(getName() + " strikes from the shadows for " + damage + " damage!");
-        }
+        EVENTS.publish(new AttackResolved(getId(), getName(), getCharacterType(), null, damage, isCritical));
         return damage;
     }
 
     @Override
     public int defend() {
-        int evasion = stealth + agility / 2;
-        System.out.println(getName() + " evades with " + evasion + " evasion!");
+        int evasion = defenseValue();
+        EVENTS.publish(new DefenseResolved(getId(), getName(), getCharacterType(), evasion));
         return evasion;
     }
 
+    @Override
+    public int baseDamage() {
+        return agility * 2;
+    }
+
+    @Override
+    public int defenseValue() {
+        return stealth + agility / 2;
+    }
+
+    @Override
+    public double critChance() {
+        return criticalChance;
+    }
+
     @Override
     public int calculateDamage() {
         return (int)(agility * 2 * (1 + criticalChance) + getLevel());
@@ -83,7 +103,7 @@ public class Rogue extends GameEntity implements Combatant, Progressable {
             throw new IllegalArgumentException("Experience points must be positive");
         }
         setExperience(getExperience() + xp);
-        System.out.println(getName() + " gained " + xp + " XP! Total: " + getExperience());
+        EVENTS.publish(new ExperienceGained(getId(), getName(), xp, getExperience()));
 
         if (canLevelUp()) {
             levelUp();
@@ -131,10 +151,10 @@ public class Rogue extends GameEntity implements Combatant, Progressable {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
-        System.out.println("Agility: " + agility);
-        System.out.println("Stealth: " + stealth);
-        System.out.println("Critical Chance: " + String.format("%.2f", criticalChance * 100) + "%");
+    protected void appendInfo(Map<String, Object> fields) {
+        super.appendInfo(fields);
+        fields.put("Agility", agility);
+        fields.put("Stealth", stealth);
+        fields.put("Critical Chance", criticalChance);
     }
 }
\ No newline at end of file
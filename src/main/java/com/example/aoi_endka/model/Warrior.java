@@ -1,9 +1,16 @@
 package com.example.aoi_endka.model;
 
+import com.example.aoi_endka.events.AttackResolved;
+import com.example.aoi_endka.events.DefenseResolved;
+import com.example.aoi_endka.events.ExperienceGained;
+import com.example.aoi_endka.events.LevelUp;
+import com.example.aoi_endka.jfr.LevelUpEvent;
 import com.example.aoi_endka.interfaces.Combatant;
 import com.example.aoi_endka.interfaces.Progressable;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class Warrior extends GameEntity implements Combatant, Progressable {
 
@@ -47,7 +54,11 @@ public class Warrior extends GameEntity implements Combatant, Progressable {
         setLevel(getLevel() + 1);
         strength += 3;
         armor += 2;
-        System.out.println(getName() + " leveled up to " + getLevel() + "!");
+        Map<String, Number> increased = new LinkedHashMap<>();
+        increased.put("Strength", strength);
+        increased.put("Armor", armor);
+        EVENTS.publish(new LevelUp(getId(), getName(), getLevel(), increased));
+        LevelUpEvent.emit(getCharacterType(), getId(), getName(), getLevel());
     }
 
     @Override
@@ -59,18 +70,28 @@ public class Warrior extends GameEntity implements Combatant, Progressable {
 
     @Override
     public int attack() {
-        int baseDamage = strength * 2;
-        System.out.println(getName() + " attacks with " + weaponType + " for " + baseDamage + " damage!");
+        int baseDamage = baseDamage();
+        EVENTS.publish(new AttackResolved(getId(), getName(), getCharacterType(), weaponType, baseDamage, false));
         return baseDamage;
     }
 
     @Override
     public int defend() {
-        int defense = armor;
-        System.out.println(getName() + " defends with " + defense + " armor!");
+        int defense = defenseValue();
+        EVENTS.publish(new DefenseResolved(getId(), getName(), getCharacterType(), defense));
         return defense;
     }
 
+    @Override
+    public int baseDamage() {
+        return strength * 2;
+    }
+
+    @Override
+    public int defenseValue() {
+        return armor;
+    }
+
     @Override
     public int calculateDamage() {
         return strength * 2 + getLevel();
@@ -84,7 +105,7 @@ public class Warrior extends GameEntity implements Combatant, Progressable {
             throw new IllegalArgumentException("Experience points must be positive");
         }
         setExperience(getExperience() + xp);
-        System.out.println(getName() + " gained " + xp + " XP! Total: " + getExperience());
+        EVENTS.publish(new ExperienceGained(getId(), getName(), xp, getExperience()));
 
         if (canLevelUp()) {
             levelUp();
@@ -130,10 +151,10 @@ public class Warrior extends GameEntity implements Combatant, Progressable {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
-        System.out.println("Strength: " + strength);
-        System.out.println("Armor: " + armor);
-        System.out.println("Weapon: " + weaponType);
+    protected void appendInfo(Map<String, Object> fields) {
+        super.appendInfo(fields);
+        fields.put("Strength", strength);
+        fields.put("Armor", armor);
+        fields.put("Weapon", weaponType);
     }
 }
\ No newline at end of file
@@ -1,27 +1,57 @@
 package com.example.aoi_endka.patterns.singleton;
 
-import java.io.FileWriter;
+import com.example.aoi_endka.logging.AsyncLogAppender;
+import com.example.aoi_endka.logging.AsyncLogAppender.OverflowPolicy;
+import com.example.aoi_endka.logging.RollingLogFile;
+import com.example.aoi_endka.logging.RotationPolicy;
+
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Singleton Pattern Implementation
  * Purpose: Centralized logging service with single instance across application
  * Ensures all logs go through one consistent service
+ *
+ * With log.async (default true) records go to an AsyncLogAppender and are formatted and written on its
+ * thread; log.buffer.capacity, log.overflow (block, drop or sample) and log.sample.rate configure it.
+ * With log.async=false every call formats and writes on the caller's thread.
+ *
+ * The log file rolls over per log.rotate.max.size.mb and log.rotate.daily, rolled files are gzipped
+ * (log.rotate.compress) and the newest log.rotate.max.archives are kept, see RollingLogFile
  */
 public class LoggingService {
     
     // Log levels
     public enum LogLevel {
-        DEBUG, INFO, WARN, ERROR, FATAL
+        DEBUG("🔍 "), INFO("ℹ️  "), WARN("⚠️  "), ERROR("❌ "), FATAL("💀 ");
+
+        private final String consolePrefix;
+
+        LogLevel(String consolePrefix) {
+            this.consolePrefix = consolePrefix;
+        }
+
+        public String getConsolePrefix() {
+            return consolePrefix;
+        }
     }
     
     private LogLevel currentLogLevel;
     private boolean writeToFile;
     private String logFilePath;
     private DateTimeFormatter formatter;
+    private final RotationPolicy rotation;
+    // null when log.async is false
+    private final AsyncLogAppender appender;
+    // Open log file of the synchronous path
+    private RollingLogFile syncFile;
     
     // Private constructor
     private LoggingService() {
@@ -29,6 +59,31 @@ public class LoggingService {
         this.writeToFile = false;
         this.logFilePath = "application.log";
         this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.rotation = new RotationPolicy(config.getIntProperty("log.rotate.max.size.mb", 10) * 1024L * 1024L,
+                Boolean.parseBoolean(config.getProperty("log.rotate.daily", "true")),
+                config.getIntProperty("log.rotate.max.archives", 14),
+                Boolean.parseBoolean(config.getProperty("log.rotate.compress", "true")));
+        this.appender = createAppender(config, rotation);
+        if (appender != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> appender.shutdown(TimeUnit.SECONDS.toMillis(2)), "log-appender-shutdown"));
+        }
+    }
+    
+    private static AsyncLogAppender createAppender(ConfigurationManager config, RotationPolicy rotation) {
+        if (!Boolean.parseBoolean(config.getProperty("log.async", "true"))) {
+            return null;
+        }
+        OverflowPolicy policy;
+        try {
+            policy = OverflowPolicy.valueOf(config.getProperty("log.overflow", "block").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log.overflow, using block: " + config.getProperty("log.overflow", ""));
+            policy = OverflowPolicy.BLOCK;
+        }
+        return new AsyncLogAppender(config.getIntProperty("log.buffer.capacity", 8192), policy,
+                config.getIntProperty("log.sample.rate", 10), rotation);
     }
     
     // Bill Pugh Singleton implementation
@@ -56,6 +111,7 @@ public class LoggingService {
      */
     public void setWriteToFile(boolean writeToFile) {
         this.writeToFile = writeToFile;
+        updateLogFile();
         if (writeToFile) {
             info("File logging enabled: " + logFilePath);
         }
@@ -66,9 +122,18 @@ public class LoggingService {
      */
     public void setLogFilePath(String path) {
         this.logFilePath = path;
+        updateLogFile();
         info("Log file path set to: " + path);
     }
     
+    private void updateLogFile() {
+        if (appender != null) {
+            appender.setFile(writeToFile ? logFilePath : null);
+        } else {
+            closeSyncFile();
+        }
+    }
+    
     /**
      * Log DEBUG message
      */
@@ -76,6 +141,13 @@ public class LoggingService {
         log(LogLevel.DEBUG, message);
     }
     
+    /**
+     * Log DEBUG message built only if DEBUG is enabled, on the appender thread when async
+     */
+    public void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+    
     /**
      * Log INFO message
      */
@@ -83,6 +155,13 @@ public class LoggingService {
         log(LogLevel.INFO, message);
     }
     
+    /**
+     * Log INFO message built only if INFO is enabled
+     */
+    public void info(Supplier<String> message) {
+        log(LogLevel.INFO, message);
+    }
+    
     /**
      * Log WARN message
      */
@@ -90,6 +169,13 @@ public class LoggingService {
         log(LogLevel.WARN, message);
     }
     
+    /**
+     * Log WARN message built only if WARN is enabled
+     */
+    public void warn(Supplier<String> message) {
+        log(LogLevel.WARN, message);
+    }
+    
     /**
      * Log ERROR message
      */
@@ -98,11 +184,21 @@ public class LoggingService {
     }
     
     /**
-     * Log ERROR message with exception
+     * Log ERROR message built only if ERROR is enabled
+     */
+    public void error(Supplier<String> message) {
+        log(LogLevel.ERROR, message);
+    }
+    
+    /**
+     * Log ERROR message with exception, the stack trace is part of the record
      */
     public void error(String message, Throwable throwable) {
-        log(LogLevel.ERROR, message + " | Exception: " + throwable.getMessage());
-        throwable.printStackTrace();
+        log(LogLevel.ERROR, (Supplier<String>) () -> {
+            StringWriter trace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(trace));
+            return message + " | Exception: " + throwable.getMessage() + System.lineSeparator() + trace.toString().stripTrailing();
+        });
     }
     
     /**
@@ -113,14 +209,37 @@ public class LoggingService {
     }
     
     /**
-     * Core logging method
+     * Wait until the records logged so far are written
+     * @return false on timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        return appender == null || appender.flush(timeoutMillis);
+    }
+    
+    /**
+     * Appender buffer and counters, or just the mode when logging synchronously
      */
-    private void log(LogLevel level, String message) {
+    public Map<String, Object> getStats() {
+        return appender != null ? appender.getStats() : Map.of("policy", "SYNC");
+    }
+    
+    /**
+     * Core logging method, message is a String or a Supplier<String>
+     */
+    private void log(LogLevel level, Object message) {
         // Check if this level should be logged
         if (level.ordinal() < currentLogLevel.ordinal()) {
             return;
         }
         
+        if (appender != null) {
+            appender.append(level, message);
+            return;
+        }
+        if (message instanceof Supplier) {
+            message = ((Supplier<?>) message).get();
+        }
+        
         String timestamp = LocalDateTime.now().format(formatter);
         String logMessage = String.format("[%s] [%s] %s", timestamp, level, message);
         
@@ -137,34 +256,37 @@ public class LoggingService {
      * Print log message to console with color coding
      */
     private void printToConsole(LogLevel level, String message) {
-        switch (level) {
-            case DEBUG:
-                System.out.println("🔍 " + message);
-                break;
-            case INFO:
-                System.out.println("ℹ️  " + message);
-                break;
-            case WARN:
-                System.out.println("⚠️  " + message);
-                break;
-            case ERROR:
-                System.err.println("❌ " + message);
-                break;
-            case FATAL:
-                System.err.println("💀 " + message);
-                break;
+        if (level.ordinal() >= LogLevel.ERROR.ordinal()) {
+            System.err.println(level.getConsolePrefix() + message);
+        } else {
+            System.out.println(level.getConsolePrefix() + message);
         }
     }
     
     /**
      * Write log message to file
      */
-    private void writeToFile(String message) {
-        try (FileWriter fw = new FileWriter(logFilePath, true);
-             PrintWriter pw = new PrintWriter(fw)) {
-            pw.println(message);
+    private synchronized void writeToFile(String message) {
+        try {
+            if (syncFile == null) {
+                syncFile = new RollingLogFile(logFilePath, rotation);
+            }
+            syncFile.write(message + "\n", System.currentTimeMillis());
+            syncFile.flush();
         } catch (IOException e) {
             System.err.println("Failed to write to log file: " + e.getMessage());
+            closeSyncFile();
+        }
+    }
+    
+    private synchronized void closeSyncFile() {
+        if (syncFile != null) {
+            try {
+                syncFile.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close log file: " + e.getMessage());
+            }
+            syncFile = null;
         }
     }
     
@@ -186,14 +308,14 @@ public class LoggingService {
      * Log API request
      */
     public void logApiRequest(String method, String endpoint, String clientIp) {
-        info(String.format("API Request: %s %s from %s", method, endpoint, clientIp));
+        info(() -> String.format("API Request: %s %s from %s", method, endpoint, clientIp));
     }
     
     /**
      * Log API response
      */
     public void logApiResponse(String endpoint, int statusCode, long durationMs) {
-        info(String.format("API Response: %s - Status: %d - Duration: %dms", 
+        info(() -> String.format("API Response: %s - Status: %d - Duration: %dms",
             endpoint, statusCode, durationMs));
     }
     
@@ -0,0 +1,481 @@
+package com.example.aoi_endka.query;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compressed int set in the style of Roaring bitmaps
+ * Values are grouped by their high 16 bits into chunks: a chunk with up to 4096 values
+ * is a sorted char array, a denser one is a 65536-bit bitmap (8 KB)
+ * and/or/andNot return new bitmaps and leave both inputs untouched
+ * Not thread-safe
+ */
+public class Bitmap {
+
+    // Above this many values a bitmap chunk is smaller than an array chunk
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[4];
+    private Chunk[] chunks = new Chunk[4];
+    private int size;
+
+    public void add(int value) {
+        char key = (char) (value >>> 16);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            chunks[index] = chunks[index].add((char) value);
+            return;
+        }
+        ArrayChunk chunk = new ArrayChunk(new char[4], 0);
+        chunk.add((char) value);
+        insert(-index - 1, key, chunk);
+    }
+
+    public void remove(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Chunk chunk = chunks[index].remove((char) value);
+        if (chunk.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+            chunks[--size] = null;
+        } else {
+            chunks[index] = chunk;
+        }
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && chunks[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += chunks[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Bitmap and(Bitmap other) {
+        Bitmap result = new Bitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], chunks[i].and(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public Bitmap or(Bitmap other) {
+        Bitmap result = new Bitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                result.append(keys[i], chunks[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.chunks[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], chunks[i].or(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Union of many bitmaps at once; chunks sharing a key are merged into one word array
+     * instead of building every intermediate union
+     */
+    public static Bitmap or(List<Bitmap> bitmaps) {
+        Bitmap result = new Bitmap();
+        int[] positions = new int[bitmaps.size()];
+        while (true) {
+            // Smallest key not yet merged, -1 when every bitmap is done
+            int key = -1;
+            for (int b = 0; b < bitmaps.size(); b++) {
+                Bitmap bitmap = bitmaps.get(b);
+                if (positions[b] < bitmap.size && (key < 0 || bitmap.keys[positions[b]] < key)) {
+                    key = bitmap.keys[positions[b]];
+                }
+            }
+            if (key < 0) {
+                return result;
+            }
+            Chunk single = null;
+            long[] words = null;
+            for (int b = 0; b < bitmaps.size(); b++) {
+                Bitmap bitmap = bitmaps.get(b);
+                if (positions[b] < bitmap.size && bitmap.keys[positions[b]] == key) {
+                    Chunk chunk = bitmap.chunks[positions[b]++];
+                    if (single == null && words == null) {
+                        single = chunk;
+                    } else {
+                        if (words == null) {
+                            words = new long[1024];
+                            single.orInto(words);
+                        }
+                        chunk.orInto(words);
+                    }
+                }
+            }
+            result.append((char) key, words == null ? single.copy() : BitmapChunk.fromWords(words));
+        }
+    }
+
+    /**
+     * Values of this bitmap that are not in other
+     */
+    public Bitmap andNot(Bitmap other) {
+        Bitmap result = new Bitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], chunks[i].andNot(other.chunks[j]));
+            } else {
+                result.append(keys[i], chunks[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Smallest values in ascending order, at most limit of them
+     */
+    public int[] toArray(int limit) {
+        int[] out = new int[Math.min(limit, cardinality())];
+        int position = 0;
+        for (int i = 0; i < size && position < out.length; i++) {
+            position = chunks[i].fill(keys[i] << 16, out, position);
+        }
+        return out;
+    }
+
+    private void append(char key, Chunk chunk) {
+        if (chunk.cardinality() > 0) {
+            insert(size, key, chunk);
+        }
+    }
+
+    private void insert(int index, char key, Chunk chunk) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            chunks = Arrays.copyOf(chunks, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(chunks, index, chunks, index + 1, size - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        size++;
+    }
+
+    /**
+     * The low 16 bits of the values sharing one high half
+     * add and remove may return a different chunk when the representation changes
+     */
+    private abstract static class Chunk {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Chunk add(char value);
+
+        abstract Chunk remove(char value);
+
+        abstract Chunk and(Chunk other);
+
+        abstract Chunk or(Chunk other);
+
+        abstract Chunk andNot(Chunk other);
+
+        abstract Chunk copy();
+
+        abstract void orInto(long[] words);
+
+        // Writes high | value until out is full, returns the next free position
+        abstract int fill(int high, int[] out, int position);
+    }
+
+    private static final class ArrayChunk extends Chunk {
+        char[] values;
+        int size;
+
+        ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, size * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                return other.or(this);
+            }
+            ArrayChunk that = (ArrayChunk) other;
+            char[] result = new char[size + that.size];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < that.size) {
+                if (j == that.size || i < size && values[i] < that.values[j]) {
+                    result[count++] = values[i++];
+                } else if (i == size || values[i] > that.values[j]) {
+                    result[count++] = that.values[j++];
+                } else {
+                    result[count++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayChunk merged = new ArrayChunk(result, count);
+            return count > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            char[] result = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+
+        @Override
+        int fill(int high, int[] out, int position) {
+            for (int i = 0; i < size && position < out.length; i++) {
+                out[position++] = high | values[i];
+            }
+            return position;
+        }
+
+        BitmapChunk toBitmap() {
+            BitmapChunk bitmap = new BitmapChunk(new long[1024]);
+            for (int i = 0; i < size; i++) {
+                bitmap.words[values[i] >>> 6] |= 1L << values[i];
+            }
+            bitmap.cardinality = size;
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapChunk extends Chunk {
+        final long[] words;
+        int cardinality;
+
+        BitmapChunk(long[] words) {
+            this.words = words;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            // Switch back well below the limit so a chunk at the boundary does not flip on every write
+            return cardinality < ARRAY_MAX / 2 ? toArray() : this;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            long[] that = ((BitmapChunk) other).words;
+            long[] result = new long[1024];
+            for (int i = 0; i < 1024; i++) {
+                result[i] = words[i] & that[i];
+            }
+            return fromWords(result);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayChunk) {
+                ArrayChunk that = (ArrayChunk) other;
+                for (int i = 0; i < that.size; i++) {
+                    result[that.values[i] >>> 6] |= 1L << that.values[i];
+                }
+            } else {
+                long[] that = ((BitmapChunk) other).words;
+                for (int i = 0; i < 1024; i++) {
+                    result[i] |= that[i];
+                }
+            }
+            return fromWords(result);
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayChunk) {
+                ArrayChunk that = (ArrayChunk) other;
+                for (int i = 0; i < that.size; i++) {
+                    result[that.values[i] >>> 6] &= ~(1L << that.values[i]);
+                }
+            } else {
+                long[] that = ((BitmapChunk) other).words;
+                for (int i = 0; i < 1024; i++) {
+                    result[i] &= ~that[i];
+                }
+            }
+            return fromWords(result);
+        }
+
+        @Override
+        Chunk copy() {
+            BitmapChunk copy = new BitmapChunk(words.clone());
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        void orInto(long[] target) {
+            for (int i = 0; i < 1024; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        @Override
+        int fill(int high, int[] out, int position) {
+            for (int i = 0; i < 1024 && position < out.length; i++) {
+                long word = words[i];
+                while (word != 0 && position < out.length) {
+                    out[position++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return position;
+        }
+
+        ArrayChunk toArray() {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayChunk(values, count);
+        }
+
+        private static Chunk fromWords(long[] words) {
+            BitmapChunk bitmap = new BitmapChunk(words);
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            bitmap.cardinality = count;
+            return count <= ARRAY_MAX ? bitmap.toArray() : bitmap;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.aoi_endka.query;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.model.Mage;
+import com.example.aoi_endka.model.Warrior;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.repository.CharacterRepository;
+import com.example.aoi_endka.service.CharacterChangeListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap indexes over character attributes for multi-criteria queries
+ * One bitmap of ids per type, weapon type, spell school, guild, level and level bucket,
+ * a query is answered with and/or/andNot over those bitmaps instead of scanning characters
+ * Loaded at startup (or on first query) and kept current through CharacterChangeListener
+ */
+@Component
+public class CharacterBitmapIndex implements CharacterChangeListener {
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final CharacterRepository characterRepository = new CharacterRepository();
+    private final int levelBucketSize = Math.max(1, ConfigurationManager.getInstance().getIntProperty("query.level.bucket.size", 10));
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    private final Map<Integer, Row> rows = new HashMap<>();
+    private Bitmap all = new Bitmap();
+    private Bitmap withGuild = new Bitmap();
+    private final Map<String, Bitmap> byType = new HashMap<>();
+    private final Map<String, Bitmap> byWeaponType = new HashMap<>();
+    private final Map<String, Bitmap> bySpellSchool = new HashMap<>();
+    private final Map<Integer, Bitmap> byGuild = new HashMap<>();
+    private final NavigableMap<Integer, Bitmap> byLevel = new TreeMap<>();
+    private final NavigableMap<Integer, Bitmap> byLevelBucket = new TreeMap<>();
+
+    /**
+     * Indexed attributes of one character, needed to take it out of its bitmaps again
+     */
+    private static final class Row {
+        final String type;
+        final String weaponType;
+        final String spellSchool;
+        final int level;
+        final Integer guildId;
+
+        Row(String type, String weaponType, String spellSchool, int level, Integer guildId) {
+            this.type = type;
+            this.weaponType = weaponType;
+            this.spellSchool = spellSchool;
+            this.level = level;
+            this.guildId = guildId;
+        }
+
+        static Row of(GameEntity character, Integer guildId) {
+            String weaponType = character instanceof Warrior ? ((Warrior) character).getWeaponType() : null;
+            String spellSchool = character instanceof Mage ? ((Mage) character).getSpellSchool() : null;
+            return new Row(character.getCharacterType(), weaponType, spellSchool, character.getLevel(), guildId);
+        }
+
+        Row withGuild(Integer guildId) {
+            return new Row(type, weaponType, spellSchool, level, guildId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (DatabaseOperationException e) {
+            logger.warn("Bitmap index not built at startup, will retry on first query: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild every bitmap from the database
+     */
+    public void reload() throws DatabaseOperationException {
+        lock.writeLock().lock();
+        try {
+            long start = System.currentTimeMillis();
+            load(characterRepository.getAll(), characterRepository.getGuildAssignments());
+            logger.info("Bitmap index built for " + rows.size() + " characters in " + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace every bitmap with the given characters and guild assignments (character id -> guild id),
+     * used by reload() and the benchmarks
+     */
+    void load(List<GameEntity> characters, Map<Integer, Integer> guilds) {
+        lock.writeLock().lock();
+        try {
+            rows.clear();
+            all = new Bitmap();
+            withGuild = new Bitmap();
+            byType.clear();
+            byWeaponType.clear();
+            bySpellSchool.clear();
+            byGuild.clear();
+            byLevel.clear();
+            byLevelBucket.clear();
+            for (GameEntity character : characters) {
+                Row row = Row.of(character, guilds.get(character.getId()));
+                rows.put(character.getId(), row);
+                index(character.getId(), row, true);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of characters matching the predicate and the smallest limit of their ids
+     * limit 0 only counts
+     */
+    public QueryResult query(Predicate predicate, int limit) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            // The result can be one of the index bitmaps itself, so it is only read under the lock
+            Bitmap matches = predicate.evaluate(this);
+            return new QueryResult(matches.cardinality(), matches.toArray(limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCharacterSaved(GameEntity character) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                Row previous = rows.get(character.getId());
+                replace(character.getId(), previous, Row.of(character, previous != null ? previous.guildId : null));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCharacterDeleted(int characterId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                replace(characterId, rows.get(characterId), null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onGuildChanged(int characterId, Integer guildId) {
+        lock.writeLock().lock();
+        try {
+            Row previous = loaded ? rows.get(characterId) : null;
+            if (previous != null) {
+                replace(characterId, previous, previous.withGuild(guildId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lookups for Predicate, called under the read lock; callers must not modify the returned bitmaps
+
+    Bitmap all() {
+        return all;
+    }
+
+    Bitmap withGuild() {
+        return withGuild;
+    }
+
+    Bitmap type(String type) {
+        return byType.getOrDefault(type, new Bitmap());
+    }
+
+    Bitmap weaponType(String weaponType) {
+        return byWeaponType.getOrDefault(weaponType, new Bitmap());
+    }
+
+    Bitmap spellSchool(String spellSchool) {
+        return bySpellSchool.getOrDefault(spellSchool, new Bitmap());
+    }
+
+    Bitmap guild(int guildId) {
+        return byGuild.getOrDefault(guildId, new Bitmap());
+    }
+
+    /**
+     * Whole buckets inside [min, max] are taken as they are, only the edge buckets go level by level
+     */
+    Bitmap levels(int min, int max) {
+        if (min > max) {
+            return new Bitmap();
+        }
+        List<Bitmap> parts = new ArrayList<>();
+        for (Map.Entry<Integer, Bitmap> bucket : byLevelBucket.subMap(bucket(min), true, bucket(max), true).entrySet()) {
+            long first = (long) bucket.getKey() * levelBucketSize;
+            long last = first + levelBucketSize - 1;
+            if (first >= min && last <= max) {
+                parts.add(bucket.getValue());
+            } else {
+                int from = (int) Math.max(min, first);
+                int to = (int) Math.min(max, last);
+                parts.addAll(byLevel.subMap(from, true, to, true).values());
+            }
+        }
+        return Bitmap.or(parts);
+    }
+
+    private void ensureLoaded() throws DatabaseOperationException {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    reload();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private int bucket(int level) {
+        return Math.floorDiv(level, levelBucketSize);
+    }
+
+    // Caller holds the write lock
+    private void replace(int id, Row previous, Row next) {
+        if (previous != null) {
+            index(id, previous, false);
+            rows.remove(id);
+        }
+        if (next != null) {
+            index(id, next, true);
+            rows.put(id, next);
+        }
+    }
+
+    private void index(int id, Row row, boolean add) {
+        update(all, id, add);
+        update(byType, row.type, id, add);
+        if (row.weaponType != null) {
+            update(byWeaponType, row.weaponType, id, add);
+        }
+        if (row.spellSchool != null) {
+            update(bySpellSchool, row.spellSchool, id, add);
+        }
+        if (row.guildId != null) {
+            update(withGuild, id, add);
+            update(byGuild, row.guildId, id, add);
+        }
+        update(byLevel, row.level, id, add);
+        update(byLevelBucket, bucket(row.level), id, add);
+    }
+
+    private static void update(Bitmap bitmap, int id, boolean add) {
+        if (add) {
+            bitmap.add(id);
+        } else {
+            bitmap.remove(id);
+        }
+    }
+
+    private static <K> void update(Map<K, Bitmap> bitmaps, K key, int id, boolean add) {
+        if (add) {
+            bitmaps.computeIfAbsent(key, k -> new Bitmap()).add(id);
+            return;
+        }
+        Bitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.aoi_endka.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Node of a character query: a condition on one attribute, or and/or/not over other nodes
+ * Evaluated by CharacterBitmapIndex into a bitmap of matching character ids
+ */
+public abstract class Predicate {
+
+    abstract Bitmap evaluate(CharacterBitmapIndex index);
+
+    public static Predicate and(List<Predicate> operands) {
+        return new And(operands);
+    }
+
+    public static Predicate or(List<Predicate> operands) {
+        return new Or(operands);
+    }
+
+    public static Predicate not(Predicate operand) {
+        return new Not(operand);
+    }
+
+    public static Predicate type(String type) {
+        return new Leaf(index -> index.type(type));
+    }
+
+    public static Predicate weaponType(String weaponType) {
+        return new Leaf(index -> index.weaponType(weaponType));
+    }
+
+    public static Predicate spellSchool(String spellSchool) {
+        return new Leaf(index -> index.spellSchool(spellSchool));
+    }
+
+    public static Predicate guildId(int guildId) {
+        return new Leaf(index -> index.guild(guildId));
+    }
+
+    public static Predicate hasGuild(boolean hasGuild) {
+        return hasGuild ? new Leaf(CharacterBitmapIndex::withGuild) : not(new Leaf(CharacterBitmapIndex::withGuild));
+    }
+
+    /**
+     * Level between min and max inclusive, null leaves that side open
+     */
+    public static Predicate level(Integer min, Integer max) {
+        int from = min != null ? min : Integer.MIN_VALUE;
+        int to = max != null ? max : Integer.MAX_VALUE;
+        return new Leaf(index -> index.levels(from, to));
+    }
+
+    private interface Lookup {
+        Bitmap apply(CharacterBitmapIndex index);
+    }
+
+    private static final class Leaf extends Predicate {
+        private final Lookup lookup;
+
+        Leaf(Lookup lookup) {
+            this.lookup = lookup;
+        }
+
+        @Override
+        Bitmap evaluate(CharacterBitmapIndex index) {
+            return lookup.apply(index);
+        }
+    }
+
+    private static final class And extends Predicate {
+        private final List<Predicate> operands;
+
+        And(List<Predicate> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        Bitmap evaluate(CharacterBitmapIndex index) {
+            List<Bitmap> included = new ArrayList<>();
+            List<Bitmap> excluded = new ArrayList<>();
+            for (Predicate operand : operands) {
+                // a AND NOT b is one andNot, no need to build the complement of b
+                if (operand instanceof Not) {
+                    excluded.add(((Not) operand).operand.evaluate(index));
+                } else {
+                    included.add(operand.evaluate(index));
+                }
+            }
+            // Smallest first keeps every intermediate result small
+            included.sort(Comparator.comparingInt(Bitmap::cardinality));
+            Bitmap result = included.isEmpty() ? index.all() : included.get(0);
+            for (int i = 1; i < included.size() && !result.isEmpty(); i++) {
+                result = result.and(included.get(i));
+            }
+            for (int i = 0; i < excluded.size() && !result.isEmpty(); i++) {
+                result = result.andNot(excluded.get(i));
+            }
+            return result;
+        }
+    }
+
+    private static final class Or extends Predicate {
+        private final List<Predicate> operands;
+
+        Or(List<Predicate> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        Bitmap evaluate(CharacterBitmapIndex index) {
+            List<Bitmap> bitmaps = new ArrayList<>();
+            for (Predicate operand : operands) {
+                bitmaps.add(operand.evaluate(index));
+            }
+            return Bitmap.or(bitmaps);
+        }
+    }
+
+    private static final class Not extends Predicate {
+        private final Predicate operand;
+
+        Not(Predicate operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Bitmap evaluate(CharacterBitmapIndex index) {
+            return index.all().andNot(operand.evaluate(index));
+        }
+    }
+}
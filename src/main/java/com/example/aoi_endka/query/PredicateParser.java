@@ -0,0 +1,108 @@
+package com.example.aoi_endka.query;
+
+import com.example.aoi_endka.exceptions.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds a Predicate from the JSON of POST /api/characters/query
+ * Every node is an object with exactly one key:
+ * and/or (array of nodes), not (node), type, weaponType, spellSchool, guildId, hasGuild,
+ * level ({"min": 10, "max": 20}, either side optional)
+ * A value may also be an array, {"type": ["MAGE", "ROGUE"]} means type is MAGE or ROGUE
+ */
+public class PredicateParser {
+
+    private static final int MAX_DEPTH = 32;
+
+    private PredicateParser() {
+    }
+
+    public static Predicate parse(Object node) throws InvalidInputException {
+        return parse(node, 0);
+    }
+
+    private static Predicate parse(Object node, int depth) throws InvalidInputException {
+        if (depth > MAX_DEPTH) {
+            throw new InvalidInputException("Query is nested deeper than " + MAX_DEPTH + " levels");
+        }
+        if (!(node instanceof Map) || ((Map<?, ?>) node).size() != 1) {
+            throw new InvalidInputException("Every query node must be an object with exactly one key, got: " + node);
+        }
+        Map.Entry<?, ?> entry = ((Map<?, ?>) node).entrySet().iterator().next();
+        String key = String.valueOf(entry.getKey());
+        Object value = entry.getValue();
+
+        switch (key) {
+            case "and":
+            case "or":
+                if (!(value instanceof List) || ((List<?>) value).isEmpty()) {
+                    throw new InvalidInputException("'" + key + "' needs a non-empty array of conditions");
+                }
+                List<Predicate> operands = new ArrayList<>();
+                for (Object operand : (List<?>) value) {
+                    operands.add(parse(operand, depth + 1));
+                }
+                return key.equals("and") ? Predicate.and(operands) : Predicate.or(operands);
+            case "not":
+                return Predicate.not(parse(value, depth + 1));
+            case "level":
+                if (!(value instanceof Map)) {
+                    throw new InvalidInputException("'level' needs an object like {\"min\": 10, \"max\": 20}");
+                }
+                Map<?, ?> range = (Map<?, ?>) value;
+                Integer min = range.get("min") != null ? integer(range.get("min"), "level.min") : null;
+                Integer max = range.get("max") != null ? integer(range.get("max"), "level.max") : null;
+                return Predicate.level(min, max);
+            default:
+                if (value instanceof List) {
+                    List<Predicate> alternatives = new ArrayList<>();
+                    for (Object alternative : (List<?>) value) {
+                        alternatives.add(leaf(key, alternative));
+                    }
+                    if (alternatives.isEmpty()) {
+                        throw new InvalidInputException("'" + key + "' needs at least one value");
+                    }
+                    return Predicate.or(alternatives);
+                }
+                return leaf(key, value);
+        }
+    }
+
+    private static Predicate leaf(String key, Object value) throws InvalidInputException {
+        switch (key) {
+            case "type":
+                return Predicate.type(text(value, key).toUpperCase(Locale.ROOT));
+            case "weaponType":
+                return Predicate.weaponType(text(value, key));
+            case "spellSchool":
+                return Predicate.spellSchool(text(value, key));
+            case "guildId":
+                return Predicate.guildId(integer(value, key));
+            case "hasGuild":
+                if (!(value instanceof Boolean)) {
+                    throw new InvalidInputException("'hasGuild' must be true or false");
+                }
+                return Predicate.hasGuild((Boolean) value);
+            default:
+                throw new InvalidInputException("Unknown query condition: " + key);
+        }
+    }
+
+    private static String text(Object value, String key) throws InvalidInputException {
+        if (!(value instanceof String) || ((String) value).isBlank()) {
+            throw new InvalidInputException("'" + key + "' must be a non-empty string");
+        }
+        return (String) value;
+    }
+
+    private static int integer(Object value, String key) throws InvalidInputException {
+        if (!(value instanceof Integer)) {
+            throw new InvalidInputException("'" + key + "' must be an integer");
+        }
+        return (Integer) value;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.aoi_endka.query;
+
+/**
+ * Result of a character query: number of matches and the smallest matching ids
+ */
+public class QueryResult {
+
+    private final int count;
+    private final int[] ids;
+
+    public QueryResult(int count, int[] ids) {
+        this.count = count;
+        this.ids = ids;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Matching ids in ascending order, at most the requested limit, empty for count-only queries
+     */
+    public int[] getIds() {
+        return ids;
+    }
+}
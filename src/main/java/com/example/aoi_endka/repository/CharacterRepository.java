@@ -5,26 +5,107 @@ import com.example.aoi_endka.model.Mage;
 import com.example.aoi_endka.model.Rogue;
 import com.example.aoi_endka.model.Warrior;
 import com.example.aoi_endka.repository.interfaces.CrudRepository;
+import com.example.aoi_endka.search.NameMatch;
 import com.example.aoi_endka.exceptions.DatabaseOperationException;
 import com.example.aoi_endka.exceptions.ResourceNotFoundException;
+import com.example.aoi_endka.metrics.QueryMetrics;
 import com.example.aoi_endka.utils.DatabaseConnection;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repository for Character CRUD operations using JDBC
  */
 public class CharacterRepository implements CrudRepository<GameEntity>{
 
+    // Projectable fields -> columns of the characters table
+    private static final Map<String, String> BASE_COLUMNS = new LinkedHashMap<>();
+    // Projectable fields -> columns of character_attributes (need the join)
+    private static final Map<String, String> ATTRIBUTE_COLUMNS = new LinkedHashMap<>();
+    private static final Set<String> PROJECTABLE_FIELDS;
+
+    // db.query timers, one per query
+    private static final QueryMetrics CREATE_QUERY = QueryMetrics.of("characters", "create", "insert");
+    private static final QueryMetrics GET_ALL_QUERY = QueryMetrics.of("characters", "getAll", "select");
+    private static final QueryMetrics GET_BY_GUILD_ID_QUERY = QueryMetrics.of("characters", "getByGuildId", "select");
+    private static final QueryMetrics GET_BY_ID_QUERY = QueryMetrics.of("characters", "getById", "select");
+    private static final QueryMetrics GET_GUILD_ASSIGNMENTS_QUERY = QueryMetrics.of("characters", "getGuildAssignments", "select");
+    private static final QueryMetrics GET_POWER_RANKING_QUERY = QueryMetrics.of("characters", "getPowerRanking", "select");
+    private static final QueryMetrics GET_BY_POWER_RANGE_QUERY = QueryMetrics.of("characters", "getByPowerRange", "select");
+    private static final QueryMetrics FIND_STALE_POWERS_QUERY = QueryMetrics.of("characters", "findStalePowers", "select");
+    private static final QueryMetrics UPDATE_POWERS_QUERY = QueryMetrics.of("characters", "updatePowers", "update");
+    private static final QueryMetrics GET_GROUP_TOTALS_QUERY = QueryMetrics.of("characters", "getGroupTotals", "select");
+    private static final QueryMetrics SEARCH_BY_NAME_QUERY = QueryMetrics.of("characters", "searchByName", "select");
+    private static final QueryMetrics GET_ALL_PROJECTED_QUERY = QueryMetrics.of("characters", "getAllProjected", "select");
+    private static final QueryMetrics GET_PROJECTED_BY_ID_QUERY = QueryMetrics.of("characters", "getProjectedById", "select");
+    private static final QueryMetrics UPDATE_QUERY = QueryMetrics.of("characters", "update", "update");
+    private static final QueryMetrics DELETE_QUERY = QueryMetrics.of("characters", "delete", "delete");
+
+    // characters.power exists once CharacterPowerJob has applied its migration; until then writes leave it out
+    private static volatile boolean powerColumn;
+
+    // Global and per-type rank by stored power, ties share a rank
+    private static final String POWER_RANK_SQL = "SELECT c.id, c.name, c.character_type, c.level, c.power,"
+            + " RANK() OVER (ORDER BY c.power DESC) AS power_rank,"
+            + " RANK() OVER (PARTITION BY c.character_type ORDER BY c.power DESC) AS type_rank"
+            + " FROM characters c WHERE c.power IS NOT NULL";
+
+    static {
+        BASE_COLUMNS.put("id", "c.id");
+        BASE_COLUMNS.put("name", "c.name");
+        BASE_COLUMNS.put("type", "c.character_type");
+        BASE_COLUMNS.put("level", "c.level");
+        BASE_COLUMNS.put("experience", "c.experience");
+        BASE_COLUMNS.put("power", "c.power");
+        BASE_COLUMNS.put("guildId", "c.guild_id");
+        BASE_COLUMNS.put("createdDate", "c.created_date");
+
+        ATTRIBUTE_COLUMNS.put("strength", "a.strength");
+        ATTRIBUTE_COLUMNS.put("armor", "a.armor");
+        ATTRIBUTE_COLUMNS.put("weaponType", "a.weapon_type");
+        ATTRIBUTE_COLUMNS.put("mana", "a.mana");
+        ATTRIBUTE_COLUMNS.put("intelligence", "a.intelligence");
+        ATTRIBUTE_COLUMNS.put("spellSchool", "a.spell_school");
+        ATTRIBUTE_COLUMNS.put("agility", "a.agility");
+        ATTRIBUTE_COLUMNS.put("stealth", "a.stealth");
+        ATTRIBUTE_COLUMNS.put("criticalChance", "a.critical_chance");
+
+        Set<String> fields = new LinkedHashSet<>(BASE_COLUMNS.keySet());
+        fields.addAll(ATTRIBUTE_COLUMNS.keySet());
+        PROJECTABLE_FIELDS = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Called by CharacterPowerJob once characters.power exists
+     * Rows written before have no power and are filled by its backfill
+     */
+    public static void powerColumnAvailable() {
+        powerColumn = true;
+    }
+
+    public static boolean isPowerColumnAvailable() {
+        return powerColumn;
+    }
+
     /**
      * Create a new character in database
      */
     @Override
     public int create(GameEntity entity) throws DatabaseOperationException {
-        String sqlCharacter = "INSERT INTO characters (name, character_type, level, experience, health_points, guild_id) VALUES (?, ?, ?, ?, ?, ?)";
+        boolean withPower = powerColumn;
+        String sqlCharacter = withPower
+                ? "INSERT INTO characters (name, character_type, level, experience, health_points, guild_id, power) VALUES (?, ?, ?, ?, ?, ?, ?)"
+                : "INSERT INTO characters (name, character_type, level, experience, health_points, guild_id) VALUES (?, ?, ?, ?, ?, ?)";
         String sqlAttributes = "INSERT INTO character_attributes (character_id, strength, armor, weapon_type, mana, intelligence, spell_school, agility, stealth, critical_chance) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         Connection conn = null;
@@ -32,8 +113,12 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
         PreparedStatement psAttr = null;
         ResultSet rs = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = CREATE_QUERY.start();
             conn.setAutoCommit(false);
 
             // Insert character
@@ -44,8 +129,12 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
             psChar.setInt(4, entity.getExperience());
             psChar.setInt(5, 100); // Default health
             psChar.setNull(6, Types.INTEGER); // No guild initially
+            if (withPower) {
+                psChar.setInt(7, entity.calculatePower()); // Java formula is the source of truth, stored for SQL ranking
+            }
 
             int affectedRows = psChar.executeUpdate();
+            rowCount = affectedRows;
             if (affectedRows == 0) {
                 throw new DatabaseOperationException("Creating character failed, no rows affected.");
             }
@@ -103,6 +192,7 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
             return characterId;
 
         } catch (SQLException e) {
+            failed = true;
             if (conn != null) {
                 try {
                     conn.rollback();
@@ -113,6 +203,7 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
             throw new DatabaseOperationException("Failed to create character: " + e.getMessage(), e);
         } finally {
             closeResources(rs, psAttr, psChar, null);
+            CREATE_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -128,8 +219,12 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
         PreparedStatement ps = null;
         ResultSet rs = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = GET_ALL_QUERY.start();
             ps = conn.prepareStatement(sql);
             rs = ps.executeQuery();
 
@@ -138,12 +233,57 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
                 characters.add(character);
             }
 
+            rowCount = characters.size();
             return characters;
 
         } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to retrieve characters: " + e.getMessage(), e);
         } finally {
             closeResources(rs, ps, null, null);
+            GET_ALL_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Members of one guild (characters.guild_id), ordered by id
+     */
+    public List<GameEntity> getByGuildId(int guildId) throws DatabaseOperationException {
+        String sql = "SELECT c.*, a.* FROM characters c LEFT JOIN character_attributes a ON c.id = a.character_id " +
+                "WHERE c.guild_id = ? ORDER BY c.id";
+        List<GameEntity> characters = new ArrayList<>();
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_BY_GUILD_ID_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            ps.setInt(1, guildId);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                GameEntity character = buildCharacterFromResultSet(rs);
+                if (character != null) {
+                    characters.add(character);
+                }
+            }
+
+            rowCount = characters.size();
+            return characters;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to retrieve guild members: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_BY_GUILD_ID_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -158,22 +298,423 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
         PreparedStatement ps = null;
         ResultSet rs = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = GET_BY_ID_QUERY.start();
             ps = conn.prepareStatement(sql);
             ps.setInt(1, id);
             rs = ps.executeQuery();
 
             if (rs.next()) {
+                rowCount = 1;
                 return buildCharacterFromResultSet(rs);
             } else {
                 throw new ResourceNotFoundException("Character with ID " + id + " not found");
             }
 
         } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to retrieve character: " + e.getMessage(), e);
         } finally {
             closeResources(rs, ps, null, null);
+            GET_BY_ID_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Get guild membership of all characters that are in a guild
+     * @return character id -> guild id
+     */
+    public Map<Integer, Integer> getGuildAssignments() throws DatabaseOperationException {
+        String sql = "SELECT id, guild_id FROM characters WHERE guild_id IS NOT NULL";
+        Map<Integer, Integer> assignments = new HashMap<>();
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_GUILD_ASSIGNMENTS_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                assignments.put(rs.getInt("id"), rs.getInt("guild_id"));
+            }
+
+            rowCount = assignments.size();
+            return assignments;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to retrieve guild assignments: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_GUILD_ASSIGNMENTS_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Characters ranked by stored power, ranks computed by the database
+     * @param type only rank this character type, null for all
+     */
+    public List<Map<String, Object>> getPowerRanking(String type, int offset, int limit) throws DatabaseOperationException {
+        requirePowerColumn();
+        String sql = "SELECT * FROM (" + POWER_RANK_SQL + ") r"
+                + (type != null ? " WHERE r.character_type = ?" : "")
+                + " ORDER BY " + (type != null ? "r.type_rank" : "r.power_rank") + ", r.id LIMIT ? OFFSET ?";
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_POWER_RANKING_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            int index = 1;
+            if (type != null) {
+                ps.setString(index++, type);
+            }
+            ps.setInt(index++, limit);
+            ps.setInt(index, offset);
+            rs = ps.executeQuery();
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            while (rs.next()) {
+                rows.add(buildRankFromResultSet(rs));
+            }
+            rowCount = rows.size();
+            return rows;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to rank characters: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_POWER_RANKING_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Characters with min <= power <= max, strongest first, with their global and type rank
+     */
+    public List<Map<String, Object>> getByPowerRange(int min, int max) throws DatabaseOperationException {
+        requirePowerColumn();
+        String sql = "SELECT * FROM (" + POWER_RANK_SQL + ") r WHERE r.power BETWEEN ? AND ? ORDER BY r.power_rank, r.id";
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_BY_POWER_RANGE_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            ps.setInt(1, min);
+            ps.setInt(2, max);
+            rs = ps.executeQuery();
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            while (rs.next()) {
+                rows.add(buildRankFromResultSet(rs));
+            }
+            rowCount = rows.size();
+            return rows;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to retrieve characters by power: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_BY_POWER_RANGE_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Check one page of characters, in id order, for a stored power that differs from calculatePower()
+     * @param onlyMissing only look at rows that have no power yet (backfill)
+     * @param afterId only rows with a larger id, 0 for the first page
+     * @param limit maximum number of rows to read
+     * @param stale receives character id -> power computed in Java for every stale row
+     * @return id of the last row read, 0 when there are no more rows
+     */
+    public int findStalePowers(boolean onlyMissing, int afterId, int limit, Map<Integer, Integer> stale) throws DatabaseOperationException {
+        String sql = "SELECT c.*, a.* FROM characters c LEFT JOIN character_attributes a ON c.id = a.character_id"
+                + " WHERE c.id > ?" + (onlyMissing ? " AND c.power IS NULL" : "") + " ORDER BY c.id LIMIT ?";
+        int lastId = 0;
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = FIND_STALE_POWERS_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                rowCount++;
+                lastId = rs.getInt("id");
+                int stored = rs.getInt("power");
+                boolean missing = rs.wasNull();
+                GameEntity character = buildCharacterFromResultSet(rs);
+                if (character == null) {
+                    continue;
+                }
+                int expected = character.calculatePower();
+                if (missing || stored != expected) {
+                    stale.put(character.getId(), expected);
+                }
+            }
+            return lastId;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to check character power: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            FIND_STALE_POWERS_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Store power values in one batch
+     * @param powers character id -> power
+     */
+    public void updatePowers(Map<Integer, Integer> powers) throws DatabaseOperationException {
+        String sql = "UPDATE characters SET power = ? WHERE id = ?";
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = UPDATE_POWERS_QUERY.start();
+            conn.setAutoCommit(false);
+            ps = conn.prepareStatement(sql);
+            for (Map.Entry<Integer, Integer> entry : powers.entrySet()) {
+                ps.setInt(1, entry.getValue());
+                ps.setInt(2, entry.getKey());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            rowCount = powers.size();
+            conn.commit();
+
+        } catch (SQLException e) {
+            failed = true;
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    throw new DatabaseOperationException("Rollback failed", ex);
+                }
+            }
+            throw new DatabaseOperationException("Failed to update character power: " + e.getMessage(), e);
+        } finally {
+            closeResources(null, ps);
+            closeConnection(conn);
+            UPDATE_POWERS_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Count and level / experience totals per (type, guild) computed with GROUP BY
+     * @return rows with type, guildId (null without guild), count, totalLevel, totalExperience
+     */
+    public List<Map<String, Object>> getGroupTotals() throws DatabaseOperationException {
+        String sql = "SELECT character_type, guild_id, COUNT(*) AS cnt, SUM(level) AS total_level, SUM(experience) AS total_experience"
+                + " FROM characters GROUP BY character_type, guild_id";
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_GROUP_TOTALS_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("type", rs.getString("character_type"));
+                int guildId = rs.getInt("guild_id");
+                row.put("guildId", rs.wasNull() ? null : guildId);
+                row.put("count", rs.getLong("cnt"));
+                row.put("totalLevel", rs.getLong("total_level"));
+                row.put("totalExperience", rs.getLong("total_experience"));
+                rows.add(row);
+            }
+            rowCount = rows.size();
+            return rows;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to aggregate characters: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_GROUP_TOTALS_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Case-insensitive name search in SQL: names starting with query first, then names containing it
+     * Uses the pg_trgm index from db/character_name_search.sql when it is installed
+     * @param query case-folded search text
+     */
+    public List<NameMatch> searchByName(String query, int offset, int limit) throws DatabaseOperationException {
+        String sql = "SELECT c.id, c.name, c.character_type FROM characters c WHERE LOWER(c.name) LIKE ? ESCAPE '!'"
+                + " ORDER BY CASE WHEN LOWER(c.name) LIKE ? ESCAPE '!' THEN 0 ELSE 1 END,"
+                + " CASE WHEN LOWER(c.name) LIKE ? ESCAPE '!' THEN LOWER(c.name) END, c.id LIMIT ? OFFSET ?";
+        String escaped = query.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        List<NameMatch> matches = new ArrayList<>();
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = SEARCH_BY_NAME_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            ps.setString(1, "%" + escaped + "%");
+            ps.setString(2, escaped + "%");
+            ps.setString(3, escaped + "%");
+            ps.setInt(4, limit);
+            ps.setInt(5, offset);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                matches.add(new NameMatch(rs.getInt("id"), rs.getString("name"), rs.getString("character_type")));
+            }
+            rowCount = matches.size();
+            return matches;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to search characters: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            SEARCH_BY_NAME_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Fields that can be requested with getAllProjected / getProjectedById
+     */
+    public static Set<String> getProjectableFields() {
+        return PROJECTABLE_FIELDS;
+    }
+
+    /**
+     * Get all characters with only the requested fields
+     * Selects just the needed columns, the attributes join is skipped when no subtype field is requested
+     */
+    public List<Map<String, Object>> getAllProjected(List<String> fields) throws DatabaseOperationException {
+        String sql = buildProjectionSql(fields);
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_ALL_PROJECTED_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                rows.add(buildProjectionFromResultSet(rs, fields));
+            }
+
+            rowCount = rows.size();
+            return rows;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to retrieve characters: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_ALL_PROJECTED_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Get one character with only the requested fields
+     */
+    public Map<String, Object> getProjectedById(int id, List<String> fields) throws DatabaseOperationException, ResourceNotFoundException {
+        String sql = buildProjectionSql(fields) + " WHERE c.id = ?";
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_PROJECTED_BY_ID_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            ps.setInt(1, id);
+            rs = ps.executeQuery();
+
+            if (rs.next()) {
+                rowCount = 1;
+                return buildProjectionFromResultSet(rs, fields);
+            } else {
+                throw new ResourceNotFoundException("Character with ID " + id + " not found");
+            }
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to retrieve character: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_PROJECTED_BY_ID_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -185,15 +726,20 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
         // First check if exists
         getById(id);
 
-        String sqlChar = "UPDATE characters SET name = ?, level = ?, experience = ? WHERE id = ?";
+        boolean withPower = powerColumn;
+        String sqlChar = "UPDATE characters SET name = ?, level = ?, experience = ?" + (withPower ? ", power = ?" : "") + " WHERE id = ?";
         String sqlAttr = "UPDATE character_attributes SET strength = ?, armor = ?, weapon_type = ?, mana = ?, intelligence = ?, spell_school = ?, agility = ?, stealth = ?, critical_chance = ? WHERE character_id = ?";
 
         Connection conn = null;
         PreparedStatement psChar = null;
         PreparedStatement psAttr = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = UPDATE_QUERY.start();
             conn.setAutoCommit(false);
 
             // Update character
@@ -201,8 +747,11 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
             psChar.setString(1, entity.getName());
             psChar.setInt(2, entity.getLevel());
             psChar.setInt(3, entity.getExperience());
-            psChar.setInt(4, id);
-            psChar.executeUpdate();
+            if (withPower) {
+                psChar.setInt(4, entity.calculatePower());
+            }
+            psChar.setInt(withPower ? 5 : 4, id);
+            rowCount = psChar.executeUpdate();
 
             // Update attributes
             psAttr = conn.prepareStatement(sqlAttr);
@@ -249,6 +798,7 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
             System.out.println("Character updated successfully!");
 
         } catch (SQLException e) {
+            failed = true;
             if (conn != null) {
                 try {
                     conn.rollback();
@@ -259,6 +809,7 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
             throw new DatabaseOperationException("Failed to update character: " + e.getMessage(), e);
         } finally {
             closeResources(null, psAttr, psChar, null);
+            UPDATE_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -275,27 +826,50 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
         Connection conn = null;
         PreparedStatement ps = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = DELETE_QUERY.start();
             ps = conn.prepareStatement(sql);
             ps.setInt(1, id);
 
             int affected = ps.executeUpdate();
+            rowCount = affected;
             if (affected > 0) {
                 System.out.println("Character deleted successfully!");
             }
 
         } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to delete character: " + e.getMessage(), e);
         } finally {
             closeResources(null, ps, null, null);
+            DELETE_QUERY.record(start, failed, rowCount);
         }
     }
 
+    /**
+     * Helper method to build a ranking row from POWER_RANK_SQL
+     */
+    private Map<String, Object> buildRankFromResultSet(ResultSet rs) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", rs.getInt("id"));
+        row.put("name", rs.getString("name"));
+        row.put("type", rs.getString("character_type"));
+        row.put("level", rs.getInt("level"));
+        row.put("power", rs.getInt("power"));
+        row.put("rank", rs.getLong("power_rank"));
+        row.put("typeRank", rs.getLong("type_rank"));
+        return row;
+    }
+
     /**
      * Helper method to build character object from ResultSet
+     * Package-private for CharacterMappingBenchmark
      */
-    private GameEntity buildCharacterFromResultSet(ResultSet rs) throws SQLException {
+    GameEntity buildCharacterFromResultSet(ResultSet rs) throws SQLException {
         int id = rs.getInt("id");
         String name = rs.getString("name");
         String type = rs.getString("character_type");
@@ -332,6 +906,79 @@ public class CharacterRepository implements CrudRepository<GameEntity>{
         return character;
     }
 
+    /**
+     * Helper method to build the SELECT for a field projection
+     * Fields are validated against the column maps, so only known column names reach the SQL
+     */
+    private String buildProjectionSql(List<String> fields) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        boolean needsAttributes = false;
+
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            String column = BASE_COLUMNS.get(field);
+            if (field.equals("power") && !powerColumn) {
+                column = "NULL AS power";
+            }
+            if (column == null) {
+                column = ATTRIBUTE_COLUMNS.get(field);
+                needsAttributes = true;
+            }
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown character field: " + field);
+            }
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(column);
+        }
+
+        sql.append(" FROM characters c");
+        if (needsAttributes) {
+            sql.append(" LEFT JOIN character_attributes a ON c.id = a.character_id");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Helper method to build a projection row, columns come in the order of the fields
+     * Subtype fields that do not apply to the character (NULL) are left out
+     */
+    private Map<String, Object> buildProjectionFromResultSet(ResultSet rs, List<String> fields) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = rs.getObject(i + 1);
+            if (value instanceof Timestamp) {
+                value = ((Timestamp) value).toLocalDateTime();
+            } else if (value instanceof BigDecimal) {
+                value = ((BigDecimal) value).doubleValue();
+            }
+
+            if (value != null || BASE_COLUMNS.containsKey(fields.get(i))) {
+                row.put(fields.get(i), value);
+            }
+        }
+        return row;
+    }
+
+    // Fails the ranking queries until CharacterPowerJob has added the power column
+    private void requirePowerColumn() throws DatabaseOperationException {
+        if (!powerColumn) {
+            throw new DatabaseOperationException("Power ranking is not available until the power column migration has run");
+        }
+    }
+
+    private void closeConnection(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing Connection: " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Helper method to close resources
      */
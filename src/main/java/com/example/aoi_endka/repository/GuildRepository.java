@@ -4,17 +4,47 @@ import com.example.aoi_endka.model.Guild;
 import com.example.aoi_endka.repository.interfaces.CrudRepository;
 import com.example.aoi_endka.exceptions.DatabaseOperationException;
 import com.example.aoi_endka.exceptions.ResourceNotFoundException;
+import com.example.aoi_endka.metrics.QueryMetrics;
 import com.example.aoi_endka.utils.DatabaseConnection;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repository for Guild CRUD operations
  */
 public class GuildRepository implements CrudRepository<Guild>  {
+
+    // Projectable fields -> columns of the guilds table
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    // db.query timers, one per query
+    private static final QueryMetrics CREATE_QUERY = QueryMetrics.of("guilds", "create", "insert");
+    private static final QueryMetrics GET_ALL_QUERY = QueryMetrics.of("guilds", "getAll", "select");
+    private static final QueryMetrics GET_BY_ID_QUERY = QueryMetrics.of("guilds", "getById", "select");
+    private static final QueryMetrics GET_ALL_PROJECTED_QUERY = QueryMetrics.of("guilds", "getAllProjected", "select");
+    private static final QueryMetrics GET_PROJECTED_BY_ID_QUERY = QueryMetrics.of("guilds", "getProjectedById", "select");
+    private static final QueryMetrics UPDATE_QUERY = QueryMetrics.of("guilds", "update", "update");
+    private static final QueryMetrics DELETE_QUERY = QueryMetrics.of("guilds", "delete", "delete");
+
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("guildName", "guild_name");
+        COLUMNS.put("level", "level");
+        COLUMNS.put("memberCount", "member_count");
+        COLUMNS.put("createdDate", "created_date");
+    }
+
+    public static Set<String> getProjectableFields() {
+        return Collections.unmodifiableSet(COLUMNS.keySet());
+    }
+
     @Override
     public int create(Guild entity) throws DatabaseOperationException {
         String sql = "INSERT INTO guilds (guild_name, level, member_count) VALUES (?, ?, ?)";
@@ -23,14 +53,19 @@ public class GuildRepository implements CrudRepository<Guild>  {
         PreparedStatement ps = null;
         ResultSet rs = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = CREATE_QUERY.start();
             ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             ps.setString(1, entity.getGuildName());
             ps.setInt(2, entity.getLevel());
             ps.setInt(3, entity.getMemberCount());
 
             int affected = ps.executeUpdate();
+            rowCount = affected;
             if (affected == 0) {
                 throw new DatabaseOperationException("Creating guild failed, no rows affected.");
             }
@@ -46,9 +81,11 @@ public class GuildRepository implements CrudRepository<Guild>  {
             throw new DatabaseOperationException("Creating guild failed, no ID obtained.");
 
         } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to create guild: " + e.getMessage(), e);
         } finally {
             closeResources(rs, ps);
+            CREATE_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -60,8 +97,12 @@ public class GuildRepository implements CrudRepository<Guild>  {
         PreparedStatement ps = null;
         ResultSet rs = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = GET_ALL_QUERY.start();
             ps = conn.prepareStatement(sql);
             rs = ps.executeQuery();
 
@@ -70,12 +111,15 @@ public class GuildRepository implements CrudRepository<Guild>  {
                 guilds.add(guild);
             }
 
+            rowCount = guilds.size();
             return guilds;
 
         } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to retrieve guilds: " + e.getMessage(), e);
         } finally {
             closeResources(rs, ps);
+            GET_ALL_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -86,22 +130,100 @@ public class GuildRepository implements CrudRepository<Guild>  {
         PreparedStatement ps = null;
         ResultSet rs = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = GET_BY_ID_QUERY.start();
             ps = conn.prepareStatement(sql);
             ps.setInt(1, id);
             rs = ps.executeQuery();
 
             if (rs.next()) {
+                rowCount = 1;
                 return buildGuildFromResultSet(rs);
             } else {
                 throw new ResourceNotFoundException("Guild with ID " + id + " not found");
             }
 
         } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to retrieve guild: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            GET_BY_ID_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    /**
+     * Get all guilds with only the requested columns
+     */
+    public List<Map<String, Object>> getAllProjected(List<String> fields) throws DatabaseOperationException {
+        String sql = buildProjectionSql(fields);
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_ALL_PROJECTED_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                rows.add(buildProjectionFromResultSet(rs, fields));
+            }
+
+            rowCount = rows.size();
+            return rows;
+
+        } catch (SQLException e) {
+            failed = true;
+            throw new DatabaseOperationException("Failed to retrieve guilds: " + e.getMessage(), e);
+        } finally {
+            closeResources(rs, ps);
+            closeConnection(conn);
+            GET_ALL_PROJECTED_QUERY.record(start, failed, rowCount);
+        }
+    }
+
+    public Map<String, Object> getProjectedById(int id, List<String> fields) throws DatabaseOperationException, ResourceNotFoundException {
+        String sql = buildProjectionSql(fields) + " WHERE id = ?";
+
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
+        try {
+            conn = DatabaseConnection.getConnection();
+            start = GET_PROJECTED_BY_ID_QUERY.start();
+            ps = conn.prepareStatement(sql);
+            ps.setInt(1, id);
+            rs = ps.executeQuery();
+
+            if (rs.next()) {
+                rowCount = 1;
+                return buildProjectionFromResultSet(rs, fields);
+            } else {
+                throw new ResourceNotFoundException("Guild with ID " + id + " not found");
+            }
+
+        } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to retrieve guild: " + e.getMessage(), e);
         } finally {
             closeResources(rs, ps);
+            closeConnection(conn);
+            GET_PROJECTED_BY_ID_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -113,21 +235,27 @@ public class GuildRepository implements CrudRepository<Guild>  {
         Connection conn = null;
         PreparedStatement ps = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = UPDATE_QUERY.start();
             ps = conn.prepareStatement(sql);
             ps.setString(1, guild.getGuildName());
             ps.setInt(2, guild.getLevel());
             ps.setInt(3, guild.getMemberCount());
             ps.setInt(4, id);
 
-            ps.executeUpdate();
+            rowCount = ps.executeUpdate();
             System.out.println("Guild updated successfully!");
 
         } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to update guild: " + e.getMessage(), e);
         } finally {
             closeResources(null, ps);
+            UPDATE_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -144,20 +272,27 @@ public class GuildRepository implements CrudRepository<Guild>  {
         Connection conn = null;
         PreparedStatement ps = null;
 
+        long start = QueryMetrics.NOT_STARTED;
+        boolean failed = false;
+        int rowCount = 0;
         try {
             conn = DatabaseConnection.getConnection();
+            start = DELETE_QUERY.start();
             ps = conn.prepareStatement(sql);
             ps.setInt(1, id);
 
             int affected = ps.executeUpdate();
+            rowCount = affected;
             if (affected > 0) {
                 System.out.println("Guild deleted successfully!");
             }
 
         } catch (SQLException e) {
+            failed = true;
             throw new DatabaseOperationException("Failed to delete guild: " + e.getMessage(), e);
         } finally {
             closeResources(null, ps);
+            DELETE_QUERY.record(start, failed, rowCount);
         }
     }
 
@@ -172,6 +307,43 @@ public class GuildRepository implements CrudRepository<Guild>  {
         return new Guild(id, guildName, level, memberCount, createdDate);
     }
 
+    private String buildProjectionSql(List<String> fields) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < fields.size(); i++) {
+            String column = COLUMNS.get(fields.get(i));
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown guild field: " + fields.get(i));
+            }
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(column);
+        }
+        return sql.append(" FROM guilds").toString();
+    }
+
+    private Map<String, Object> buildProjectionFromResultSet(ResultSet rs, List<String> fields) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = rs.getObject(i + 1);
+            if (value instanceof Timestamp) {
+                value = ((Timestamp) value).toLocalDateTime();
+            }
+            row.put(fields.get(i), value);
+        }
+        return row;
+    }
+
+    private void closeConnection(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing Connection: " + e.getMessage());
+            }
+        }
+    }
+
     private void closeResources(ResultSet rs, PreparedStatement ps) {
         if (rs != null) {
             try {
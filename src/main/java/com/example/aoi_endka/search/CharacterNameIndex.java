@@ -0,0 +1,222 @@
+package com.example.aoi_endka.search;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.repository.CharacterRepository;
+import com.example.aoi_endka.service.CharacterChangeListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory character name search, case-insensitive
+ * Prefix matches come from a NameTrie, substring matches from trigram posting lists,
+ * misspelled names from an edit distance walk over the same trie
+ * Loaded at startup (or on first search) and kept current through CharacterChangeListener
+ */
+@Component
+public class CharacterNameIndex implements CharacterChangeListener {
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final CharacterRepository characterRepository = new CharacterRepository();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private NameTrie trie = new NameTrie();
+    private TrigramIndex trigrams = new TrigramIndex();
+
+    private static final class Entry {
+        final NameMatch match;
+        final String folded;
+
+        Entry(NameMatch match, String folded) {
+            this.match = match;
+            this.folded = folded;
+        }
+    }
+
+    /**
+     * Case folding used for the index and for queries
+     */
+    public static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (DatabaseOperationException e) {
+            logger.warn("Name index not built at startup, will retry on first search: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the index from the database
+     */
+    public void reload() throws DatabaseOperationException {
+        lock.writeLock().lock();
+        try {
+            long start = System.currentTimeMillis();
+            load(characterRepository.getAll());
+            logger.info("Name index built for " + entries.size() + " characters in " + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the index with the given characters, used by reload() and the benchmarks
+     */
+    void load(List<GameEntity> characters) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            trie = new NameTrie();
+            trigrams = new TrigramIndex();
+            for (GameEntity character : characters) {
+                put(character);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Names starting with query (alphabetical), then names containing it (by id)
+     * Substring matches need at least 3 characters, shorter queries only match prefixes
+     */
+    public SearchPage search(String query, int offset, int limit) throws DatabaseOperationException {
+        ensureLoaded();
+        String folded = fold(query);
+        // One extra result tells whether there is a next page
+        int target = limit + 1;
+        List<Integer> ids = new ArrayList<>(Math.min(target, 128));
+
+        lock.readLock().lock();
+        try {
+            int prefixCount = trie.count(folded);
+            if (offset < prefixCount) {
+                trie.collect(folded, offset, target, ids);
+            }
+
+            if (ids.size() < target && folded.length() >= TrigramIndex.GRAM) {
+                SortedIntList[] lists = trigrams.candidates(folded);
+                int skip = Math.max(0, offset - prefixCount);
+                if (lists != null) {
+                    SortedIntList shortest = lists[0];
+                    for (int i = 0; i < shortest.size() && ids.size() < target; i++) {
+                        int id = shortest.get(i);
+                        if (!TrigramIndex.inAll(lists, id)) {
+                            continue;
+                        }
+                        String name = entries.get(id).folded;
+                        // Prefix matches were already returned, trigrams alone can give false positives
+                        if (name.startsWith(folded) || !name.contains(folded)) {
+                            continue;
+                        }
+                        if (skip > 0) {
+                            skip--;
+                        } else {
+                            ids.add(id);
+                        }
+                    }
+                }
+            }
+
+            boolean hasMore = ids.size() > limit;
+            List<NameMatch> results = new ArrayList<>(Math.min(ids.size(), limit));
+            for (int i = 0; i < ids.size() && i < limit; i++) {
+                results.add(entries.get(ids.get(i)).match);
+            }
+            return new SearchPage(query, offset, limit, hasMore, results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Characters whose name is within maxDistance edits of query, closest first
+     */
+    public List<FuzzyMatch> fuzzy(String query, int maxDistance, int limit) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<FuzzyMatch> results = new ArrayList<>();
+            for (NameTrie.Near near : trie.near(fold(query), maxDistance, limit)) {
+                NameMatch match = entries.get(near.getId()).match;
+                results.add(new FuzzyMatch(FuzzyMatch.CHARACTER, match.getId(), match.getName(), near.getDistance()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCharacterSaved(GameEntity character) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                put(character);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCharacterDeleted(int characterId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                Entry previous = entries.remove(characterId);
+                if (previous != null) {
+                    trie.remove(previous.folded, characterId);
+                    trigrams.remove(previous.folded, characterId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() throws DatabaseOperationException {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    reload();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(GameEntity character) {
+        int id = character.getId();
+        String folded = fold(character.getName());
+        Entry previous = entries.put(id, new Entry(new NameMatch(id, character.getName(), character.getCharacterType()), folded));
+        if (previous != null) {
+            if (previous.folded.equals(folded)) {
+                return;
+            }
+            trie.remove(previous.folded, id);
+            trigrams.remove(previous.folded, id);
+        }
+        trie.add(folded, id);
+        trigrams.add(folded, id);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.aoi_endka.search;
+
+/**
+ * Character or guild found by fuzzy name search
+ */
+public class FuzzyMatch {
+
+    public static final String CHARACTER = "character";
+    public static final String GUILD = "guild";
+
+    private final String kind;
+    private final int id;
+    private final String name;
+    private final int distance;
+
+    public FuzzyMatch(String kind, int id, String name, int distance) {
+        this.kind = kind;
+        this.id = id;
+        this.name = name;
+        this.distance = distance;
+    }
+
+    /**
+     * "character" or "guild"
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Edit distance between the query and the name, case-insensitive
+     */
+    public int getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.aoi_endka.search;
+
+import java.util.List;
+
+/**
+ * Result of a fuzzy name search, closest names first
+ */
+public class FuzzyResult {
+
+    private final String query;
+    private final int maxDistance;
+    private final int limit;
+    private final List<FuzzyMatch> results;
+
+    public FuzzyResult(String query, int maxDistance, int limit, List<FuzzyMatch> results) {
+        this.query = query;
+        this.maxDistance = maxDistance;
+        this.limit = limit;
+        this.results = results;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public List<FuzzyMatch> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.aoi_endka.search;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.model.Guild;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.repository.GuildRepository;
+import com.example.aoi_endka.service.GuildChangeListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory guild names for fuzzy lookup, the guild counterpart of CharacterNameIndex
+ * Loaded at startup (or on first search) and kept current through GuildChangeListener
+ */
+@Component
+public class GuildNameIndex implements GuildChangeListener {
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final GuildRepository guildRepository = new GuildRepository();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    private final Map<Integer, String> names = new HashMap<>();
+    private NameTrie trie = new NameTrie();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (DatabaseOperationException e) {
+            logger.warn("Guild name index not built at startup, will retry on first search: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the index from the database
+     */
+    public void reload() throws DatabaseOperationException {
+        lock.writeLock().lock();
+        try {
+            load(guildRepository.getAll());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the index with the given guilds, used by reload() and the benchmarks
+     */
+    void load(List<Guild> guilds) {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            trie = new NameTrie();
+            for (Guild guild : guilds) {
+                put(guild.getId(), guild.getGuildName());
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Guilds whose name is within maxDistance edits of query, closest first
+     */
+    public List<FuzzyMatch> fuzzy(String query, int maxDistance, int limit) throws DatabaseOperationException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<FuzzyMatch> results = new ArrayList<>();
+            for (NameTrie.Near near : trie.near(CharacterNameIndex.fold(query), maxDistance, limit)) {
+                results.add(new FuzzyMatch(FuzzyMatch.GUILD, near.getId(), names.get(near.getId()), near.getDistance()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onGuildSaved(Guild guild) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                put(guild.getId(), guild.getGuildName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onGuildDeleted(int guildId) {
+        lock.writeLock().lock();
+        try {
+            String previous = loaded ? names.remove(guildId) : null;
+            if (previous != null) {
+                trie.remove(CharacterNameIndex.fold(previous), guildId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() throws DatabaseOperationException {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    reload();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(int id, String name) {
+        String previous = names.put(id, name);
+        if (previous != null) {
+            trie.remove(CharacterNameIndex.fold(previous), id);
+        }
+        trie.add(CharacterNameIndex.fold(name), id);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.aoi_endka.search;
+
+/**
+ * One character found by name search
+ */
+public class NameMatch {
+
+    private final int id;
+    private final String name;
+    private final String type;
+
+    public NameMatch(int id, String name, String type) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+}
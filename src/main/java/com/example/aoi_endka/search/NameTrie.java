@@ -0,0 +1,275 @@
+package com.example.aoi_endka.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prefix tree over case-folded names, every node counts the ids below it
+ * so a page of prefix matches can skip whole subtrees instead of walking them
+ * Results come in lexicographic order of the name, then by id
+ * near() walks the same tree as a Levenshtein automaton for misspelled names
+ * Not thread-safe, the owning index locks around it
+ */
+public class NameTrie {
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        SortedIntList ids;
+        int count;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = c;
+            newChildren[index] = new Node();
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[index];
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Id found by near() with the edit distance of its name to the query
+     */
+    public static final class Near {
+        private final int id;
+        private final int distance;
+
+        Near(int id, int distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * State of one near() walk, rows[d] is the Levenshtein row for the name prefix of length d
+     */
+    private static final class Walk {
+        final String query;
+        final int limit;
+        // found[d] holds the matches at distance d in name order
+        final List<List<Near>> found = new ArrayList<>();
+        int radius;
+        int[][] rows = new int[16][];
+
+        Walk(String query, int maxDistance, int limit) {
+            this.query = query;
+            this.radius = maxDistance;
+            this.limit = limit;
+            for (int d = 0; d <= maxDistance; d++) {
+                found.add(new ArrayList<>());
+            }
+        }
+
+        int[] row(int depth) {
+            if (depth >= rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(depth + 1, rows.length * 2));
+            }
+            if (rows[depth] == null) {
+                rows[depth] = new int[query.length() + 1];
+            }
+            return rows[depth];
+        }
+
+        void add(int id, int distance) {
+            found.get(distance).add(new Near(id, distance));
+            // Names come in lexicographic order, so once limit matches are within the radius
+            // a later name at the same distance can never make it into the result
+            int within = 0;
+            for (int d = 0; d <= radius; d++) {
+                within += found.get(d).size();
+            }
+            while (radius >= 0 && within >= limit) {
+                within -= found.get(radius).size();
+                radius--;
+            }
+        }
+    }
+
+    public void add(String name, int id) {
+        Node node = root;
+        Node[] path = new Node[name.length() + 1];
+        path[0] = node;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.addChild(name.charAt(i));
+            path[i + 1] = node;
+        }
+        if (node.ids == null) {
+            node.ids = new SortedIntList();
+        }
+        if (node.ids.add(id)) {
+            for (Node n : path) {
+                n.count++;
+            }
+        }
+    }
+
+    public void remove(String name, int id) {
+        Node[] path = new Node[name.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < name.length() && node != null; i++) {
+            node = node.child(name.charAt(i));
+            path[i + 1] = node;
+        }
+        if (node == null || node.ids == null || !node.ids.remove(id)) {
+            return;
+        }
+        for (Node n : path) {
+            n.count--;
+        }
+        // Drop branches that no longer lead to any name
+        for (int i = name.length(); i > 0; i--) {
+            if (path[i].count == 0) {
+                path[i - 1].removeChild(name.charAt(i - 1));
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Number of names starting with prefix
+     */
+    public int count(String prefix) {
+        Node node = find(prefix);
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * Ids of names starting with prefix, skipping the first offset matches
+     */
+    public void collect(String prefix, int offset, int limit, List<Integer> out) {
+        Node node = find(prefix);
+        if (node != null && offset < node.count) {
+            collect(node, offset, out.size() + limit, out);
+        }
+    }
+
+    /**
+     * Ids of names within maxDistance edits of query, closest first, then by name and id, at most limit
+     * The walk carries one row of the edit distance table per trie level and leaves a subtree
+     * as soon as every cell of the row exceeds the radius, so most of the tree is never visited
+     */
+    public List<Near> near(String query, int maxDistance, int limit) {
+        List<Near> result = new ArrayList<>();
+        if (limit <= 0 || maxDistance < 0) {
+            return result;
+        }
+        Walk walk = new Walk(query, maxDistance, limit);
+        int[] first = walk.row(0);
+        for (int i = 0; i <= query.length(); i++) {
+            first[i] = i;
+        }
+        near(root, 0, walk);
+        for (List<Near> atDistance : walk.found) {
+            for (Near near : atDistance) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(near);
+            }
+        }
+        return result;
+    }
+
+    private void near(Node node, int depth, Walk walk) {
+        String query = walk.query;
+        int n = query.length();
+        int[] row = walk.row(depth);
+        if (node.ids != null && row[n] <= walk.radius) {
+            for (int i = 0; i < node.ids.size() && row[n] <= walk.radius; i++) {
+                walk.add(node.ids.get(i), row[n]);
+            }
+        }
+        for (int k = 0; k < node.children.length && walk.radius >= 0; k++) {
+            char c = node.keys[k];
+            int[] next = walk.row(depth + 1);
+            next[0] = row[0] + 1;
+            int min = next[0];
+            for (int i = 1; i <= n; i++) {
+                int cost = query.charAt(i - 1) == c ? 0 : 1;
+                int value = Math.min(Math.min(next[i - 1], row[i]) + 1, row[i - 1] + cost);
+                next[i] = value;
+                if (value < min) {
+                    min = value;
+                }
+            }
+            // Longer names only add edits, nothing below can get back under the radius
+            if (min <= walk.radius) {
+                near(node.children[k], depth + 1, walk);
+            }
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    // Returns how much of skip is left after this subtree
+    private int collect(Node node, int skip, int target, List<Integer> out) {
+        if (node.ids != null) {
+            for (int i = 0; i < node.ids.size() && out.size() < target; i++) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    out.add(node.ids.get(i));
+                }
+            }
+        }
+        for (int i = 0; i < node.children.length && out.size() < target; i++) {
+            Node child = node.children[i];
+            if (skip >= child.count) {
+                skip -= child.count;
+                continue;
+            }
+            skip = collect(child, skip, target, out);
+        }
+        return skip;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.aoi_endka.search;
+
+import java.util.List;
+
+/**
+ * One page of name search results: names starting with the query first, then names containing it
+ */
+public class SearchPage {
+
+    private final String query;
+    private final int offset;
+    private final int limit;
+    private final boolean hasMore;
+    private final List<NameMatch> results;
+
+    public SearchPage(String query, int offset, int limit, boolean hasMore, List<NameMatch> results) {
+        this.query = query;
+        this.offset = offset;
+        this.limit = limit;
+        this.hasMore = hasMore;
+        this.results = results;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public List<NameMatch> getResults() {
+        return results;
+    }
+}
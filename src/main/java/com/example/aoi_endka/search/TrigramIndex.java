@@ -0,0 +1,73 @@
+package com.example.aoi_endka.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Posting lists from every 3-character window of a case-folded name to the ids containing it
+ * A substring query intersects the lists of its own trigrams, starting with the shortest one
+ * Not thread-safe, the owning index locks around it
+ */
+public class TrigramIndex {
+
+    public static final int GRAM = 3;
+
+    private final Map<Long, SortedIntList> postings = new HashMap<>();
+
+    public void add(String name, int id) {
+        for (long gram : grams(name)) {
+            postings.computeIfAbsent(gram, g -> new SortedIntList()).add(id);
+        }
+    }
+
+    public void remove(String name, int id) {
+        for (long gram : grams(name)) {
+            SortedIntList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Posting lists of every trigram in query, shortest first
+     * @return null when some trigram has no postings (nothing can match)
+     */
+    public SortedIntList[] candidates(String query) {
+        Set<Long> grams = grams(query);
+        SortedIntList[] lists = new SortedIntList[grams.size()];
+        int n = 0;
+        for (long gram : grams) {
+            SortedIntList list = postings.get(gram);
+            if (list == null) {
+                return null;
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        return lists;
+    }
+
+    /**
+     * true if id is in every list after the first
+     */
+    public static boolean inAll(SortedIntList[] lists, int id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
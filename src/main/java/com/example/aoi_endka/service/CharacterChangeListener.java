@@ -0,0 +1,29 @@
+package com.example.aoi_endka.service;
+
+import com.example.aoi_endka.model.GameEntity;
+
+/**
+ * Callback for in-memory views of character data
+ * CharacterService and GuildService call it after a write is stored in the database,
+ * so views can update themselves instead of reloading everything
+ */
+public interface CharacterChangeListener {
+
+    /**
+     * Character was created or its stats changed (update, level up, experience)
+     * @param character current state, id is set
+     */
+    void onCharacterSaved(GameEntity character);
+
+    /**
+     * Character was deleted
+     */
+    void onCharacterDeleted(int characterId);
+
+    /**
+     * Character joined or left a guild
+     * @param guildId new guild, null when the character left its guild
+     */
+    default void onGuildChanged(int characterId, Integer guildId) {
+    }
+}
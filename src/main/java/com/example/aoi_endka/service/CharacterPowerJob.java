@@ -0,0 +1,162 @@
+package com.example.aoi_endka.service;
+
+import com.example.aoi_endka.cache.DataVersions;
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.repository.CharacterRepository;
+import com.example.aoi_endka.utils.DatabaseConnection;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the persisted characters.power column in line with calculatePower()
+ * At startup: adds the column and indexes, then backfills rows without power in batches
+ * Until the column exists CharacterRepository writes characters without power, so a failed
+ * migration only disables the SQL ranking
+ * Periodically: recomputes power for every row in Java and repairs rows that drifted
+ */
+@Service
+public class CharacterPowerJob {
+
+    private static final String MIGRATION_SCRIPT = "db/character_power.sql";
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final ConfigurationManager config = ConfigurationManager.getInstance();
+    private final CharacterRepository characterRepository = new CharacterRepository();
+    private volatile boolean migrated;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateAndBackfill() {
+        try {
+            applyMigration();
+            backfill();
+        } catch (DatabaseOperationException e) {
+            logger.warn("Power column migration skipped, characters are stored without power: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compare stored power with calculatePower() for all characters and fix differences
+     * Reads character.power.backfill.batch rows at a time, so the whole table is never in memory
+     * @return number of repaired rows
+     */
+    @Scheduled(initialDelayString = "${character.power.check.interval.ms:3600000}",
+            fixedDelayString = "${character.power.check.interval.ms:3600000}")
+    public int checkConsistency() {
+        if (!migrated) {
+            return 0;
+        }
+        int batchSize = batchSize();
+        List<Integer> repaired = new ArrayList<>();
+        try {
+            int afterId = 0;
+            do {
+                Map<Integer, Integer> stale = new LinkedHashMap<>();
+                afterId = characterRepository.findStalePowers(false, afterId, batchSize, stale);
+                if (!stale.isEmpty()) {
+                    characterRepository.updatePowers(stale);
+                    repaired.addAll(stale.keySet());
+                }
+            } while (afterId != 0);
+        } catch (DatabaseOperationException e) {
+            logger.error("Power consistency check failed: " + e.getMessage());
+        }
+        if (repaired.isEmpty()) {
+            return 0;
+        }
+        DataVersions.getInstance().forResource(DataVersions.CHARACTERS).bumpAll();
+        logger.warn("Power consistency check repaired " + repaired.size() + " characters: " + repaired);
+        return repaired.size();
+    }
+
+    /**
+     * Fill power for rows written before the column existed
+     * Pages by id, so a row whose power cannot be computed is read once and not again in every batch
+     */
+    public int backfill() throws DatabaseOperationException {
+        int batchSize = batchSize();
+        int total = 0;
+        int afterId = 0;
+        do {
+            Map<Integer, Integer> batch = new LinkedHashMap<>();
+            afterId = characterRepository.findStalePowers(true, afterId, batchSize, batch);
+            if (!batch.isEmpty()) {
+                characterRepository.updatePowers(batch);
+                total += batch.size();
+            }
+        } while (afterId != 0);
+        if (total > 0) {
+            DataVersions.getInstance().forResource(DataVersions.CHARACTERS).bumpAll();
+            logger.info("Backfilled power for " + total + " characters");
+        }
+        return total;
+    }
+
+    private int batchSize() {
+        return Math.max(1, config.getIntProperty("character.power.backfill.batch", 500));
+    }
+
+    private void applyMigration() throws DatabaseOperationException {
+        String script;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(MIGRATION_SCRIPT)) {
+            if (in == null) {
+                throw new DatabaseOperationException("Migration script not found: " + MIGRATION_SCRIPT);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DatabaseOperationException("Failed to read " + MIGRATION_SCRIPT + ": " + e.getMessage(), e);
+        }
+
+        // Drop comment lines, then run statement by statement
+        String sql = script.lines()
+                .filter(line -> !line.trim().startsWith("--"))
+                .collect(Collectors.joining("\n"));
+
+        Connection conn = null;
+        Statement statement = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            statement = conn.createStatement();
+            for (String part : sql.split(";")) {
+                if (!part.isBlank()) {
+                    statement.execute(part.trim());
+                }
+            }
+            migrated = true;
+            CharacterRepository.powerColumnAvailable();
+            logger.info("Applied " + MIGRATION_SCRIPT);
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to apply " + MIGRATION_SCRIPT + ": " + e.getMessage(), e);
+        } finally {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    System.err.println("Error closing Statement: " + e.getMessage());
+                }
+            }
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    System.err.println("Error closing Connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
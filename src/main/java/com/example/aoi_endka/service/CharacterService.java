@@ -1,5 +1,6 @@
 package com.example.aoi_endka.service;
 
+import com.example.aoi_endka.cache.DataVersions;
 import com.example.aoi_endka.cache.SimpleCashe;
 import com.example.aoi_endka.exceptions.DatabaseOperationException;
 import com.example.aoi_endka.exceptions.InvalidInputException;
@@ -11,21 +12,58 @@ import com.example.aoi_endka.model.Mage;
 import com.example.aoi_endka.model.Rogue;
 import com.example.aoi_endka.model.Warrior;
 import com.example.aoi_endka.repository.CharacterRepository;
-
+import com.example.aoi_endka.query.CharacterBitmapIndex;
+import com.example.aoi_endka.query.Predicate;
+import com.example.aoi_endka.query.PredicateParser;
+import com.example.aoi_endka.query.QueryResult;
+import com.example.aoi_endka.search.CharacterNameIndex;
+import com.example.aoi_endka.search.FuzzyMatch;
+import com.example.aoi_endka.search.FuzzyResult;
+import com.example.aoi_endka.search.GuildNameIndex;
+import com.example.aoi_endka.search.NameMatch;
+import com.example.aoi_endka.search.SearchPage;
+import com.example.aoi_endka.tracing.Traced;
+import com.example.aoi_endka.utils.FieldSelection;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import com.example.aoi_endka.patterns.singleton.LoggingService;
 import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 
 @Service
+@Traced
 public class CharacterService {
     private static final String CACHE_KEY_ALL = "characters:all";
+    // character.validation, outcome = valid / invalid
+    private static final Timer VALIDATION_VALID = validationTimer("valid");
+    private static final Timer VALIDATION_INVALID = validationTimer("invalid");
     private final SimpleCashe cache = SimpleCashe.getInstance();
     private final LoggingService logger = LoggingService.getInstance();
     private final ConfigurationManager config = ConfigurationManager.getInstance();
+    private final DataVersions.ResourceVersions versions = DataVersions.getInstance().forResource(DataVersions.CHARACTERS);
     private CharacterRepository characterRepository;
 
+    // In-memory views (analytics store, indexes) that follow character writes
+    @Autowired(required = false)
+    private List<CharacterChangeListener> changeListeners = new ArrayList<>();
+
+    @Autowired
+    private CharacterNameIndex nameIndex;
+
+    @Autowired
+    private GuildNameIndex guildNameIndex;
+
+    @Autowired
+    private CharacterBitmapIndex bitmapIndex;
+
     public CharacterService() {
         this.characterRepository = new CharacterRepository();
     }
@@ -33,7 +71,6 @@ public class CharacterService {
 
     public int createCharacter(GameEntity entity) throws InvalidInputException, DatabaseOperationException {
         logger.info("Creating character: " + entity.getName());
-        cache.invalidate(CACHE_KEY_ALL);
 
         // Валидация с использованием конфигурации
         int maxLevel = config.getIntProperty("character.max.level", 100);
@@ -46,6 +83,8 @@ public class CharacterService {
 
 
         int id = characterRepository.create(entity);
+        dataChanged(id);
+        notifySaved(entity);
         logger.info("Character created successfully with ID: " + id);
 
         return id;
@@ -54,13 +93,15 @@ public class CharacterService {
      * Get all characters
      */
     public List<GameEntity> getAllCharacters() {
-
-        return cache.get(CACHE_KEY_ALL, List.class)
-                .map(v -> (List<GameEntity>) v)
+        // Read before the load: a list loaded while a write commits is kept under the older version only
+        long version = versions.getCollectionVersion();
+        return cache.get(CACHE_KEY_ALL, VersionedList.class)
+                .filter(cached -> cached.version == version)
+                .map(cached -> cached.characters)
                 .orElseGet(() -> {
                     try {
                         List<GameEntity> list = characterRepository.getAll();
-                        cache.put(CACHE_KEY_ALL, list);
+                        cache.put(CACHE_KEY_ALL, new VersionedList(version, list));
                         return list;
                     } catch (DatabaseOperationException e) {
                         throw new RuntimeException(e);
@@ -77,17 +118,148 @@ public class CharacterService {
         return characterRepository.getById(id);
     }
 
+    /**
+     * Parse and validate a fields= parameter for character projections
+     */
+    public List<String> parseFields(String fields) throws InvalidInputException {
+        return FieldSelection.parse(fields, CharacterRepository.getProjectableFields());
+    }
+
+    /**
+     * Get all characters with only the requested fields, selected in SQL
+     */
+    public List<Map<String, Object>> getCharacterProjections(List<String> fields) throws DatabaseOperationException {
+        return characterRepository.getAllProjected(fields);
+    }
+
+    /**
+     * Get one character with only the requested fields
+     */
+    public Map<String, Object> getCharacterProjection(int id, List<String> fields) throws DatabaseOperationException, ResourceNotFoundException {
+        if (id <= 0) {
+            throw new ResourceNotFoundException("Invalid character ID: " + id);
+        }
+        return characterRepository.getProjectedById(id, fields);
+    }
+
+    /**
+     * Characters ranked by the persisted power column (RANK() in SQL)
+     * @param type WARRIOR, MAGE or ROGUE to rank inside one type, null for the global ranking
+     */
+    public List<Map<String, Object>> getPowerRanking(String type, int offset, int limit) throws InvalidInputException, DatabaseOperationException {
+        int maxLimit = config.getIntProperty("character.ranking.max.limit", 100);
+        if (offset < 0) {
+            throw new InvalidInputException("offset cannot be negative");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidInputException("limit must be between 1 and " + maxLimit);
+        }
+        return characterRepository.getPowerRanking(type != null ? type.toUpperCase() : null, offset, limit);
+    }
+
+    /**
+     * Characters with power between min and max (inclusive), strongest first
+     */
+    public List<Map<String, Object>> getCharactersByPower(int min, int max) throws InvalidInputException, DatabaseOperationException {
+        if (min > max) {
+            throw new InvalidInputException("min power cannot be greater than max power");
+        }
+        return characterRepository.getByPowerRange(min, max);
+    }
+
+    /**
+     * Search characters by name, prefix matches first
+     * search.backend=database runs the query in SQL (pg_trgm) instead of the in-memory index
+     */
+    public SearchPage searchCharacters(String query, int offset, int limit) throws InvalidInputException, DatabaseOperationException {
+        query = validateSearch(query, limit);
+        if (offset < 0) {
+            throw new InvalidInputException("offset cannot be negative");
+        }
+
+        if ("database".equalsIgnoreCase(config.getProperty("search.backend", "memory"))) {
+            List<NameMatch> matches = characterRepository.searchByName(CharacterNameIndex.fold(query), offset, limit + 1);
+            boolean hasMore = matches.size() > limit;
+            return new SearchPage(query, offset, limit, hasMore, hasMore ? matches.subList(0, limit) : matches);
+        }
+        return nameIndex.search(query, offset, limit);
+    }
+
+    /**
+     * Closest character and guild names by edit distance, for lookups with misspelled names
+     * maxDistance is capped by search.fuzzy.max.distance (default 3)
+     */
+    public FuzzyResult fuzzySearch(String query, int maxDistance, int limit) throws InvalidInputException, DatabaseOperationException {
+        query = validateSearch(query, limit);
+        int maxAllowed = config.getIntProperty("search.fuzzy.max.distance", 3);
+        if (maxDistance < 0 || maxDistance > maxAllowed) {
+            throw new InvalidInputException("maxDistance must be between 0 and " + maxAllowed);
+        }
+        List<FuzzyMatch> matches = new ArrayList<>(nameIndex.fuzzy(query, maxDistance, limit));
+        matches.addAll(guildNameIndex.fuzzy(query, maxDistance, limit));
+        matches.sort(Comparator.comparingInt(FuzzyMatch::getDistance)
+                .thenComparing(m -> CharacterNameIndex.fold(m.getName()))
+                .thenComparing(FuzzyMatch::getKind)
+                .thenComparingInt(FuzzyMatch::getId));
+        return new FuzzyResult(query, maxDistance, limit, matches.size() > limit ? matches.subList(0, limit) : matches);
+    }
+
+    /**
+     * Evaluate a predicate tree ({"where": {...}, "select": "ids" | "count", "limit": 100})
+     * against the bitmap index, see PredicateParser for the condition syntax
+     */
+    public QueryResult queryCharacters(Map<String, Object> body) throws InvalidInputException, DatabaseOperationException {
+        if (body == null || body.get("where") == null) {
+            throw new InvalidInputException("Query needs a 'where' condition");
+        }
+        Predicate predicate = PredicateParser.parse(body.get("where"));
+
+        Object select = body.getOrDefault("select", "ids");
+        if (!"ids".equals(select) && !"count".equals(select)) {
+            throw new InvalidInputException("select must be ids or count");
+        }
+        int maxLimit = config.getIntProperty("query.max.limit", 1000);
+        Object limit = body.getOrDefault("limit", 100);
+        if (!(limit instanceof Integer) || (Integer) limit < 1 || (Integer) limit > maxLimit) {
+            throw new InvalidInputException("limit must be between 1 and " + maxLimit);
+        }
+        return bitmapIndex.query(predicate, "count".equals(select) ? 0 : (Integer) limit);
+    }
+
+    private String validateSearch(String query, int limit) throws InvalidInputException {
+        if (query == null || query.trim().isEmpty()) {
+            throw new InvalidInputException("Search query cannot be empty");
+        }
+        query = query.trim();
+        if (query.length() > 50) {
+            throw new InvalidInputException("Search query cannot be longer than 50 characters");
+        }
+        int maxLimit = config.getIntProperty("search.max.limit", 100);
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidInputException("limit must be between 1 and " + maxLimit);
+        }
+        return query;
+    }
 
     public void updateCharacter(int id, GameEntity character) throws InvalidInputException, DatabaseOperationException, ResourceNotFoundException {
         validateCharacter(character);
         characterRepository.update(id, character);
-        cache.invalidate(CACHE_KEY_ALL);
+        dataChanged(id);
+        character.setId(id);
+        notifySaved(character);
     }
 
 
     public void deleteCharacter(int id) throws DatabaseOperationException, ResourceNotFoundException {
         characterRepository.delete(id);
-        cache.invalidate(CACHE_KEY_ALL);
+        dataChanged(id);
+        for (CharacterChangeListener listener : changeListeners) {
+            try {
+                listener.onCharacterDeleted(id);
+            } catch (RuntimeException e) {
+                logger.error("Change listener failed for deleted character " + id, e);
+            }
+        }
     }
 
 
@@ -95,6 +267,8 @@ public class CharacterService {
         GameEntity character = characterRepository.getById(id);
         character.levelUp();
         characterRepository.update(id, character);
+        dataChanged(id);
+        notifySaved(character);
     }
 
 
@@ -108,6 +282,8 @@ public class CharacterService {
         if (character instanceof Progressable) {
             ((Progressable) character).gainExperience(xp);
             characterRepository.update(id, character);
+            dataChanged(id);
+            notifySaved(character);
         }
     }
 
@@ -144,6 +320,24 @@ public class CharacterService {
 
 
     private void validateCharacter(GameEntity character) throws InvalidInputException {
+        long start = System.nanoTime();
+        try {
+            checkCharacter(character);
+            VALIDATION_VALID.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (InvalidInputException e) {
+            VALIDATION_INVALID.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer validationTimer(String outcome) {
+        return Timer.builder("character.validation")
+                .description("Time spent validating a character before create / update")
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry);
+    }
+
+    private void checkCharacter(GameEntity character) throws InvalidInputException {
         if (character == null) {
             throw new InvalidInputException("Character cannot be null");
         }
@@ -187,5 +381,55 @@ public class CharacterService {
     }
     public void clearCache() {
         cache.invalidate(CACHE_KEY_ALL);
+        versions.bumpAll();
+    }
+
+    /**
+     * Version of the character collection, changes after every write
+     * Used for cached response bodies and ETags
+     */
+    public long getDataVersion() {
+        return versions.getCollectionVersion();
+    }
+
+    public long getCharacterVersion(int id) {
+        return versions.getEntityVersion(id);
+    }
+
+    public String getCollectionETag(long version) {
+        return versions.collectionETag(version);
+    }
+
+    public String getCharacterETag(int id, long version) {
+        return versions.entityETag(id, version);
+    }
+
+    private void dataChanged(int id) {
+        cache.invalidate(CACHE_KEY_ALL);
+        versions.bump(id);
+    }
+
+    // A failing view must not fail a write that is already committed
+    private void notifySaved(GameEntity character) {
+        for (CharacterChangeListener listener : changeListeners) {
+            try {
+                listener.onCharacterSaved(character);
+            } catch (RuntimeException e) {
+                logger.error("Change listener failed for character " + character.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Cached character list with the collection version it was loaded at
+     */
+    private static final class VersionedList {
+        private final long version;
+        private final List<GameEntity> characters;
+
+        private VersionedList(long version, List<GameEntity> characters) {
+            this.version = version;
+            this.characters = characters;
+        }
     }
 }
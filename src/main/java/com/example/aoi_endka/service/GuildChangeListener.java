@@ -0,0 +1,21 @@
+package com.example.aoi_endka.service;
+
+import com.example.aoi_endka.model.Guild;
+
+/**
+ * Callback for in-memory views of guild data
+ * GuildService calls it after a guild write is stored in the database
+ */
+public interface GuildChangeListener {
+
+    /**
+     * Guild was created or updated
+     * @param guild current state, id is set
+     */
+    void onGuildSaved(Guild guild);
+
+    /**
+     * Guild was deleted
+     */
+    void onGuildDeleted(int guildId);
+}
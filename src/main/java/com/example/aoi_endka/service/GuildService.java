@@ -1,5 +1,6 @@
 package com.example.aoi_endka.service;
 
+import com.example.aoi_endka.cache.DataVersions;
 import com.example.aoi_endka.exceptions.DatabaseOperationException;
 import com.example.aoi_endka.exceptions.DuplicateResourceException;
 import com.example.aoi_endka.exceptions.InvalidInputException;
@@ -11,14 +12,30 @@ import com.example.aoi_endka.repository.CharacterRepository;
 
 import java.sql.*;
 import com.example.aoi_endka.utils.DatabaseConnection;
+import com.example.aoi_endka.utils.FieldSelection;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.tracing.Traced;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Traced
 public class GuildService {
+    private final DataVersions.ResourceVersions versions = DataVersions.getInstance().forResource(DataVersions.GUILDS);
+    private final DataVersions.ResourceVersions characterVersions = DataVersions.getInstance().forResource(DataVersions.CHARACTERS);
     private GuildRepository guildRepository;
     private CharacterRepository characterRepository;
+    private final LoggingService logger = LoggingService.getInstance();
+
+    @Autowired(required = false)
+    private List<CharacterChangeListener> changeListeners = new ArrayList<>();
+
+    @Autowired(required = false)
+    private List<GuildChangeListener> guildListeners = new ArrayList<>();
 
     public GuildService() {
         this.guildRepository = new GuildRepository();
@@ -41,7 +58,11 @@ public class GuildService {
             throw e;
         }
 
-        return guildRepository.create(guild);
+        int id = guildRepository.create(guild);
+        versions.bump(id);
+        guild.setId(id);
+        notifyGuildSaved(guild);
+        return id;
     }
 
 
@@ -49,6 +70,23 @@ public class GuildService {
         return guildRepository.getAll();
     }
 
+    /**
+     * Parse and validate a fields= parameter for guild projections
+     */
+    public List<String> parseFields(String fields) throws InvalidInputException {
+        return FieldSelection.parse(fields, GuildRepository.getProjectableFields());
+    }
+
+    public List<Map<String, Object>> getGuildProjections(List<String> fields) throws DatabaseOperationException {
+        return guildRepository.getAllProjected(fields);
+    }
+
+    public Map<String, Object> getGuildProjection(int id, List<String> fields) throws DatabaseOperationException, ResourceNotFoundException {
+        if (id <= 0) {
+            throw new ResourceNotFoundException("Invalid guild ID: " + id);
+        }
+        return guildRepository.getProjectedById(id, fields);
+    }
 
     public Guild getGuildById(int id) throws DatabaseOperationException, ResourceNotFoundException {
         if (id <= 0) {
@@ -61,11 +99,22 @@ public class GuildService {
     public void updateGuild(int id, Guild guild) throws InvalidInputException, DatabaseOperationException, ResourceNotFoundException {
         validateGuild(guild);
         guildRepository.update(id, guild);
+        versions.bump(id);
+        guild.setId(id);
+        notifyGuildSaved(guild);
     }
 
 
     public void deleteGuild(int id) throws DatabaseOperationException, ResourceNotFoundException {
         guildRepository.delete(id);
+        versions.bump(id);
+        for (GuildChangeListener listener : guildListeners) {
+            try {
+                listener.onGuildDeleted(id);
+            } catch (RuntimeException e) {
+                logger.error("Change listener failed for deleted guild " + id, e);
+            }
+        }
     }
 
 
@@ -88,8 +137,9 @@ public class GuildService {
 
             guild.addMember(character);
             guildRepository.update(guildId, guild);
-
-            System.out.println(character.getName() + " joined " + guild.getGuildName() + "!");
+            versions.bump(guildId);
+            characterVersions.bump(characterId);
+            notifyGuildChanged(characterId, guildId);
 
         } catch (SQLException e) {
             throw new DatabaseOperationException("Failed to add character to guild: " + e.getMessage(), e);
@@ -138,12 +188,13 @@ public class GuildService {
 
                     // Decrement guild member count
                     Guild guild = guildRepository.getById(guildId);
-                    guild.removeMember();
+                    guild.removeMember(character);
                     guildRepository.update(guildId, guild);
-
-                    System.out.println(character.getName() + " left the guild!");
+                    versions.bump(guildId);
+                    characterVersions.bump(characterId);
+                    notifyGuildChanged(characterId, null);
                 } else {
-                    System.out.println("Character is not in any guild.");
+                    logger.info(character.getName() + " is not in any guild");
                 }
             }
 
@@ -181,6 +232,46 @@ public class GuildService {
         Guild guild = guildRepository.getById(id);
         guild.levelUp();
         guildRepository.update(id, guild);
+        versions.bump(id);
+    }
+
+    /**
+     * Version of the guild collection, changes after every guild write
+     */
+    public long getDataVersion() {
+        return versions.getCollectionVersion();
+    }
+
+    public long getGuildVersion(int id) {
+        return versions.getEntityVersion(id);
+    }
+
+    public String getCollectionETag(long version) {
+        return versions.collectionETag(version);
+    }
+
+    public String getGuildETag(int id, long version) {
+        return versions.entityETag(id, version);
+    }
+
+    private void notifyGuildSaved(Guild guild) {
+        for (GuildChangeListener listener : guildListeners) {
+            try {
+                listener.onGuildSaved(guild);
+            } catch (RuntimeException e) {
+                logger.error("Change listener failed for guild " + guild.getId(), e);
+            }
+        }
+    }
+
+    private void notifyGuildChanged(int characterId, Integer guildId) {
+        for (CharacterChangeListener listener : changeListeners) {
+            try {
+                listener.onGuildChanged(characterId, guildId);
+            } catch (RuntimeException e) {
+                logger.error("Change listener failed for guild change of character " + characterId, e);
+            }
+        }
     }
 
     /**
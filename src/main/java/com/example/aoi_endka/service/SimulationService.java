@@ -0,0 +1,192 @@
+package com.example.aoi_endka.service;
+
+import com.example.aoi_endka.exceptions.DatabaseOperationException;
+import com.example.aoi_endka.exceptions.InvalidInputException;
+import com.example.aoi_endka.exceptions.ResourceNotFoundException;
+import com.example.aoi_endka.interfaces.Combatant;
+import com.example.aoi_endka.model.GameEntity;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.repository.CharacterRepository;
+import com.example.aoi_endka.repository.GuildRepository;
+import com.example.aoi_endka.simulation.CombatProfile;
+import com.example.aoi_endka.simulation.CombatSimulator;
+import com.example.aoi_endka.simulation.GuildWarResult;
+import com.example.aoi_endka.simulation.SimulationResult;
+import com.example.aoi_endka.simulation.TournamentFormat;
+import com.example.aoi_endka.simulation.TournamentResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Loads and validates the fighters for CombatSimulator
+ */
+@Service
+public class SimulationService {
+
+    private final CharacterRepository characterRepository = new CharacterRepository();
+    private final GuildRepository guildRepository = new GuildRepository();
+    private final ConfigurationManager config = ConfigurationManager.getInstance();
+
+    @Autowired
+    private CombatSimulator simulator;
+
+    /**
+     * One character against another
+     * @param seed null picks a random seed, the result reports it so a run can be repeated
+     */
+    public SimulationResult simulateDuel(int attackerId, int defenderId, int battles, Long seed)
+            throws InvalidInputException, DatabaseOperationException, ResourceNotFoundException {
+        return simulateBattle(List.of(attackerId), List.of(defenderId), battles, seed);
+    }
+
+    /**
+     * Two rosters of characters against each other
+     */
+    public SimulationResult simulateBattle(List<Integer> sideA, List<Integer> sideB, int battles, Long seed)
+            throws InvalidInputException, DatabaseOperationException, ResourceNotFoundException {
+        int maxBattles = config.getIntProperty("simulation.max.battles", 1_000_000);
+        if (battles < 1 || battles > maxBattles) {
+            throw new InvalidInputException("battles must be between 1 and " + maxBattles);
+        }
+        validateSides(sideA, sideB);
+        return simulator.simulate(loadSide(sideA), loadSide(sideB), battles,
+                seed != null ? seed : ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Every member of guild A against every member of guild B, duelsPerPair one-on-one duels per pair
+     * Both rosters are read once, members that cannot fight are left out
+     */
+    public GuildWarResult simulateGuildWar(int guildA, int guildB, int duelsPerPair, Long seed)
+            throws InvalidInputException, DatabaseOperationException, ResourceNotFoundException {
+        if (guildA == guildB) {
+            throw new InvalidInputException("A guild cannot fight itself");
+        }
+        int maxDuelsPerPair = config.getIntProperty("simulation.max.battles", 1_000_000);
+        if (duelsPerPair < 1 || duelsPerPair > maxDuelsPerPair) {
+            throw new InvalidInputException("duels must be between 1 and " + maxDuelsPerPair);
+        }
+        guildRepository.getById(guildA);
+        guildRepository.getById(guildB);
+        List<CombatProfile> sideA = loadGuild(guildA);
+        List<CombatProfile> sideB = loadGuild(guildB);
+        if (sideA.isEmpty() || sideB.isEmpty()) {
+            throw new InvalidInputException("Both guilds need at least one member who can fight");
+        }
+        long maxDuels = config.getIntProperty("simulation.max.duels", 10_000_000);
+        if ((long) sideA.size() * sideB.size() * duelsPerPair > maxDuels) {
+            throw new InvalidInputException(sideA.size() + " x " + sideB.size() + " members with " + duelsPerPair
+                    + " duels per pair exceeds the limit of " + maxDuels + " duels");
+        }
+        GuildWarResult result = simulator.simulatePairs(sideA, sideB, duelsPerPair,
+                seed != null ? seed : ThreadLocalRandom.current().nextLong());
+        result.setGuilds(guildA, guildB);
+        return result;
+    }
+
+    /**
+     * Play a tournament many times to estimate every entrant's chance to win it
+     * Entrants are the given characters, else the fighting members of guildId, else every character that can fight
+     * @param format single-elimination or swiss
+     * @param swissRounds null picks ceil(log2(entrants)), ignored for single-elimination
+     * @param limit entrants reported, best first
+     */
+    public TournamentResult simulateTournament(List<Integer> characterIds, Integer guildId, String format, int runs,
+                                               Integer swissRounds, int limit, Long seed)
+            throws InvalidInputException, DatabaseOperationException, ResourceNotFoundException {
+        TournamentFormat parsed = TournamentFormat.fromLabel(format);
+        if (parsed == null) {
+            throw new InvalidInputException("format must be single-elimination or swiss");
+        }
+        int maxRuns = config.getIntProperty("tournament.max.runs", 100_000);
+        if (runs < 1 || runs > maxRuns) {
+            throw new InvalidInputException("runs must be between 1 and " + maxRuns);
+        }
+        if (limit < 1) {
+            throw new InvalidInputException("limit must be positive");
+        }
+        List<CombatProfile> entrants;
+        if (characterIds != null) {
+            Set<Integer> seen = new HashSet<>();
+            for (Integer id : characterIds) {
+                if (id == null || !seen.add(id)) {
+                    throw new InvalidInputException("Every character can enter only once: " + id);
+                }
+            }
+            entrants = loadSide(characterIds);
+        } else if (guildId != null) {
+            guildRepository.getById(guildId);
+            entrants = loadGuild(guildId);
+        } else {
+            entrants = loadFighters(characterRepository.getAll());
+        }
+        int maxEntrants = config.getIntProperty("tournament.max.entrants", 10_000);
+        if (entrants.size() < 2 || entrants.size() > maxEntrants) {
+            throw new InvalidInputException("A tournament needs between 2 and " + maxEntrants + " entrants, got " + entrants.size());
+        }
+        int rounds = swissRounds != null ? swissRounds : TournamentFormat.log2Rounds(entrants.size());
+        if (parsed == TournamentFormat.SWISS && (rounds < 1 || rounds > Math.min(entrants.size() - 1, TournamentFormat.MAX_SWISS_ROUNDS))) {
+            throw new InvalidInputException("swissRounds must be between 1 and "
+                    + Math.min(entrants.size() - 1, TournamentFormat.MAX_SWISS_ROUNDS));
+        }
+        long maxMatches = config.getIntProperty("tournament.max.matches", 20_000_000);
+        if (parsed.matches(entrants.size(), rounds) * runs > maxMatches) {
+            throw new InvalidInputException(runs + " runs of " + parsed.matches(entrants.size(), rounds)
+                    + " matches exceed the limit of " + maxMatches + " matches");
+        }
+        return simulator.simulateTournament(entrants, parsed, rounds, runs, limit,
+                seed != null ? seed : ThreadLocalRandom.current().nextLong());
+    }
+
+    private List<CombatProfile> loadGuild(int guildId) throws DatabaseOperationException {
+        return loadFighters(characterRepository.getByGuildId(guildId));
+    }
+
+    private static List<CombatProfile> loadFighters(List<GameEntity> characters) {
+        List<CombatProfile> fighters = new ArrayList<>();
+        for (GameEntity character : characters) {
+            if (character instanceof Combatant) {
+                fighters.add(CombatProfile.of(character));
+            }
+        }
+        return fighters;
+    }
+
+    private void validateSides(List<Integer> sideA, List<Integer> sideB) throws InvalidInputException {
+        int maxSide = config.getIntProperty("simulation.max.side.size", 50);
+        if (sideA == null || sideA.isEmpty() || sideB == null || sideB.isEmpty()) {
+            throw new InvalidInputException("Both sides need at least one character");
+        }
+        if (sideA.size() > maxSide || sideB.size() > maxSide) {
+            throw new InvalidInputException("A side can have at most " + maxSide + " characters");
+        }
+        Set<Integer> seen = new HashSet<>();
+        for (List<Integer> side : List.of(sideA, sideB)) {
+            for (Integer id : side) {
+                if (id == null || !seen.add(id)) {
+                    throw new InvalidInputException("Every character can fight only once: " + id);
+                }
+            }
+        }
+    }
+
+    private List<CombatProfile> loadSide(List<Integer> ids)
+            throws InvalidInputException, DatabaseOperationException, ResourceNotFoundException {
+        List<CombatProfile> side = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            GameEntity character = characterRepository.getById(id);
+            try {
+                side.add(CombatProfile.of(character));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException(e.getMessage());
+            }
+        }
+        return side;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.aoi_endka.simulation;
+
+import com.example.aoi_endka.interfaces.Combatant;
+import com.example.aoi_endka.model.GameEntity;
+
+/**
+ * Combat numbers of one character, read once so battles never touch the entity again
+ */
+public class CombatProfile {
+
+    // Characters have no health stat, simulations give them 100 + 20 per level
+    private static final int BASE_HIT_POINTS = 100;
+    private static final int HIT_POINTS_PER_LEVEL = 20;
+
+    private final int id;
+    private final String name;
+    private final String type;
+    private final int hitPoints;
+    private final int damage;
+    private final int defense;
+    private final double critChance;
+    private final int power;
+
+    public CombatProfile(int id, String name, String type, int hitPoints, int damage, int defense, double critChance, int power) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.hitPoints = hitPoints;
+        this.damage = damage;
+        this.defense = defense;
+        this.critChance = critChance;
+        this.power = power;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the character cannot fight
+     */
+    public static CombatProfile of(GameEntity character) {
+        if (!(character instanceof Combatant)) {
+            throw new IllegalArgumentException(character.getName() + " is not a combatant");
+        }
+        Combatant combatant = (Combatant) character;
+        return new CombatProfile(character.getId(), character.getName(), character.getCharacterType(),
+                BASE_HIT_POINTS + HIT_POINTS_PER_LEVEL * character.getLevel(),
+                combatant.baseDamage(), combatant.defenseValue(), combatant.critChance(), character.calculatePower());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getHitPoints() {
+        return hitPoints;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    public double getCritChance() {
+        return critChance;
+    }
+
+    /**
+     * calculatePower() of the character, used to seed tournaments
+     */
+    public int getPower() {
+        return power;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.aoi_endka.simulation;
+
+import com.example.aoi_endka.jfr.SimulationEvent;
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo combat: runs many independent battles between two sides on a fork/join pool
+ *
+ * A battle goes in rounds. The side that strikes first is a coin flip, then the sides take turns
+ * and every standing member hits a random standing enemy:
+ * damage = baseDamage (doubled on a crit) +/- the damage roll, minus the target's defense, at least 1.
+ * After simulation.max.rounds rounds with both sides standing the battle is a draw.
+ * simulatePairs runs the same rounds as one-on-one duels between every member of one side and every member of the other,
+ * simulateTournament plays them as the matches of a tournament (see TournamentTask).
+ *
+ * The battle range is split in halves down to LEAF_BATTLES, each half with its own
+ * SplittableRandom split from the parent, so the result depends on the seed only, never on the pool size.
+ * Every run is a SimulationEvent for Flight Recorder
+ */
+@Component
+public class CombatSimulator {
+
+    private static final int LEAF_BATTLES = 1024;
+
+    private final ConfigurationManager config = ConfigurationManager.getInstance();
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1,
+            config.getIntProperty("simulation.parallelism", Runtime.getRuntime().availableProcessors())));
+    private final DuelRules rules = new DuelRules(Math.max(1, config.getIntProperty("simulation.max.rounds", 200)),
+            Math.max(0, config.getIntProperty("simulation.damage.roll.percent", 10)) / 100.0);
+
+    /**
+     * Run battles between side a and side b
+     */
+    public SimulationResult simulate(List<CombatProfile> a, List<CombatProfile> b, int battles, long seed) {
+        SimulationEvent event = new SimulationEvent();
+        event.begin();
+        long start = System.currentTimeMillis();
+        Roster rosterA = new Roster(a);
+        Roster rosterB = new Roster(b);
+        Tally tally = pool.invoke(new BattleTask(rosterA, rosterB, 0, battles, new SplittableRandom(seed)));
+        event.finish("battle", a.size(), b.size(), battles, seed);
+        return new SimulationResult(tally, seed, a, b, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Every member of a against every member of b, duelsPerPair one-on-one duels per pair
+     */
+    public GuildWarResult simulatePairs(List<CombatProfile> a, List<CombatProfile> b, int duelsPerPair, long seed) {
+        SimulationEvent event = new SimulationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Roster rosterA = new Roster(a);
+        Roster rosterB = new Roster(b);
+        int pairs = rosterA.size * rosterB.size;
+        int leafPairs = Math.max(1, LEAF_BATTLES / duelsPerPair);
+        PairTally tally = pool.invoke(new PairTask(rosterA, rosterB, 0, pairs, duelsPerPair, leafPairs, new SplittableRandom(seed)));
+        event.finish("guildWar", a.size(), b.size(), (long) pairs * duelsPerPair, seed);
+        return new GuildWarResult(tally, a, b, duelsPerPair, seed, System.nanoTime() - start);
+    }
+
+    /**
+     * Play a tournament runs times, entrants are seeded by power, highest first
+     * @param swissRounds rounds of a SWISS tournament, ignored otherwise
+     * @param limit number of entrants reported in the standings
+     */
+    public TournamentResult simulateTournament(List<CombatProfile> entrants, TournamentFormat format, int swissRounds,
+                                               int runs, int limit, long seed) {
+        SimulationEvent event = new SimulationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<CombatProfile> seeded = new ArrayList<>(entrants);
+        seeded.sort(Comparator.comparingInt(CombatProfile::getPower).reversed().thenComparingInt(CombatProfile::getId));
+        int rounds = format.rounds(seeded.size(), swissRounds);
+        int leafRuns = (int) Math.max(1, LEAF_BATTLES / format.matches(seeded.size(), swissRounds));
+        TournamentTally tally = pool.invoke(new TournamentTask(new Roster(seeded), format, rounds, rules, 0, runs, leafRuns,
+                new SplittableRandom(seed)));
+        event.finish("tournament", seeded.size(), 0, runs, seed);
+        return new TournamentResult(tally, format, seeded, rounds, limit, seed, System.nanoTime() - start);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Mutable state of one side during a battle, reused for every battle of a leaf task
+     */
+    private static final class Side {
+        final Roster roster;
+        final int[] hp;
+        // Indexes of standing members in alive[0, standing)
+        final int[] alive;
+        int standing;
+        long dealt;
+
+        Side(Roster roster) {
+            this.roster = roster;
+            hp = new int[roster.size];
+            alive = new int[roster.size];
+        }
+
+        void reset() {
+            System.arraycopy(roster.hitPoints, 0, hp, 0, roster.size);
+            for (int i = 0; i < roster.size; i++) {
+                alive[i] = i;
+            }
+            standing = roster.size;
+            dealt = 0;
+        }
+    }
+
+    private final class BattleTask extends RecursiveTask<Tally> {
+        private final Roster a;
+        private final Roster b;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        BattleTask(Roster a, Roster b, int from, int to, SplittableRandom random) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= LEAF_BATTLES) {
+                return runBattles();
+            }
+            int mid = (from + to) >>> 1;
+            BattleTask left = new BattleTask(a, b, from, mid, random.split());
+            BattleTask right = new BattleTask(a, b, mid, to, random);
+            left.fork();
+            Tally result = right.compute();
+            return result.merge(left.join());
+        }
+
+        private Tally runBattles() {
+            Tally tally = new Tally(b.totalHitPoints, a.totalHitPoints);
+            Side sideA = new Side(a);
+            Side sideB = new Side(b);
+            for (int battle = from; battle < to; battle++) {
+                sideA.reset();
+                sideB.reset();
+                boolean aFirst = random.nextBoolean();
+                Side first = aFirst ? sideA : sideB;
+                Side second = aFirst ? sideB : sideA;
+                int round = 0;
+                while (round < rules.maxRounds && sideA.standing > 0 && sideB.standing > 0) {
+                    round++;
+                    strike(first, second);
+                    if (second.standing > 0) {
+                        strike(second, first);
+                    }
+                }
+                tally.battles++;
+                tally.rounds += round;
+                if (sideB.standing == 0) {
+                    tally.winsA++;
+                } else if (sideA.standing == 0) {
+                    tally.winsB++;
+                } else {
+                    tally.draws++;
+                }
+                tally.damageA.add(sideA.dealt);
+                tally.damageB.add(sideB.dealt);
+            }
+            return tally;
+        }
+
+        private void strike(Side attackers, Side defenders) {
+            Roster attacking = attackers.roster;
+            for (int k = 0; k < attackers.standing && defenders.standing > 0; k++) {
+                int attacker = attackers.alive[k];
+                int slot = random.nextInt(defenders.standing);
+                int target = defenders.alive[slot];
+
+                int damage = Math.min(rules.hit(attacking, attacker, defenders.roster, target, random), defenders.hp[target]);
+                defenders.hp[target] -= damage;
+                attackers.dealt += damage;
+                if (defenders.hp[target] == 0) {
+                    defenders.alive[slot] = defenders.alive[--defenders.standing];
+                }
+            }
+        }
+    }
+
+    private final class PairTask extends RecursiveTask<PairTally> {
+        private final Roster a;
+        private final Roster b;
+        // Pair p is member p / b.size of a against member p % b.size of b
+        private final int from;
+        private final int to;
+        private final int duelsPerPair;
+        private final int leafPairs;
+        private final SplittableRandom random;
+
+        PairTask(Roster a, Roster b, int from, int to, int duelsPerPair, int leafPairs, SplittableRandom random) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.duelsPerPair = duelsPerPair;
+            this.leafPairs = leafPairs;
+            this.random = random;
+        }
+
+        @Override
+        protected PairTally compute() {
+            if (to - from <= leafPairs) {
+                return runPairs();
+            }
+            int mid = (from + to) >>> 1;
+            PairTask left = new PairTask(a, b, from, mid, duelsPerPair, leafPairs, random.split());
+            PairTask right = new PairTask(a, b, mid, to, duelsPerPair, leafPairs, random);
+            left.fork();
+            PairTally result = right.compute();
+            return result.merge(left.join());
+        }
+
+        private PairTally runPairs() {
+            PairTally tally = new PairTally(a.size, b.size);
+            for (int pair = from; pair < to; pair++) {
+                int i = pair / b.size;
+                int j = pair % b.size;
+                for (int duel = 0; duel < duelsPerPair; duel++) {
+                    int rounds = rules.duel(a, i, b, j, random);
+                    if (rounds > 0) {
+                        tally.winsA[i]++;
+                    } else if (rounds < 0) {
+                        tally.winsB[j]++;
+                    } else {
+                        tally.draws++;
+                    }
+                    tally.rounds += rounds != 0 ? Math.abs(rounds) : rules.maxRounds;
+                }
+            }
+            tally.duels = (long) (to - from) * duelsPerPair;
+            return tally;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.aoi_endka.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Hit and one-on-one duel rules shared by every simulation mode
+ */
+final class DuelRules {
+
+    final int maxRounds;
+    // Damage roll as a fraction, 0.1 means every hit lands between 90% and 110% of its base
+    final double damageRoll;
+
+    DuelRules(int maxRounds, double damageRoll) {
+        this.maxRounds = maxRounds;
+        this.damageRoll = damageRoll;
+    }
+
+    /**
+     * Damage of one hit before it is capped by the target's remaining hit points
+     */
+    int hit(Roster attacking, int attacker, Roster defending, int target, SplittableRandom random) {
+        double hit = attacking.damage[attacker];
+        if (attacking.critChance[attacker] > 0 && random.nextDouble() < attacking.critChance[attacker]) {
+            hit *= 2;
+        }
+        if (damageRoll > 0) {
+            hit *= 1 + damageRoll * (2 * random.nextDouble() - 1);
+        }
+        return Math.max(1, (int) Math.round(hit) - defending.defense[target]);
+    }
+
+    /**
+     * Fighter i of a against fighter j of b, a coin flip decides who strikes first
+     * @return rounds fought, positive when i wins, negative when j wins, 0 for a draw after maxRounds rounds
+     */
+    int duel(Roster a, int i, Roster b, int j, SplittableRandom random) {
+        int hpA = a.hitPoints[i];
+        int hpB = b.hitPoints[j];
+        boolean aFirst = random.nextBoolean();
+        int round = 0;
+        while (round < maxRounds) {
+            round++;
+            if (aFirst) {
+                hpB -= hit(a, i, b, j, random);
+                if (hpB <= 0) {
+                    return round;
+                }
+                hpA -= hit(b, j, a, i, random);
+                if (hpA <= 0) {
+                    return -round;
+                }
+            } else {
+                hpA -= hit(b, j, a, i, random);
+                if (hpA <= 0) {
+                    return -round;
+                }
+                hpB -= hit(a, i, b, j, random);
+                if (hpB <= 0) {
+                    return round;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.aoi_endka.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a guild war preview: every member of side A dueled every member of side B
+ * Rates come with 95% Wilson score intervals
+ */
+public class GuildWarResult {
+
+    private Integer guildA;
+    private Integer guildB;
+    private final int membersA;
+    private final int membersB;
+    private final int duelsPerPair;
+    private final long pairs;
+    private final long duels;
+    private final long seed;
+    private final double averageRounds;
+    private final long winsA;
+    private final long winsB;
+    private final long draws;
+    private final double winRateA;
+    private final double winRateALow;
+    private final double winRateAHigh;
+    private final double winRateB;
+    private final double drawRate;
+    private final List<MemberResult> members = new ArrayList<>();
+    private final double elapsedMs;
+    private final long duelsPerSecond;
+
+    GuildWarResult(PairTally tally, List<CombatProfile> a, List<CombatProfile> b, int duelsPerPair, long seed, long elapsedNanos) {
+        this.membersA = a.size();
+        this.membersB = b.size();
+        this.duelsPerPair = duelsPerPair;
+        this.pairs = (long) a.size() * b.size();
+        this.duels = tally.duels;
+        this.seed = seed;
+        this.averageRounds = tally.duels == 0 ? 0 : (double) tally.rounds / tally.duels;
+        long sumA = 0;
+        for (int i = 0; i < a.size(); i++) {
+            sumA += tally.winsA[i];
+            members.add(new MemberResult(a.get(i), "A", (long) b.size() * duelsPerPair, tally.winsA[i]));
+        }
+        long sumB = 0;
+        for (int j = 0; j < b.size(); j++) {
+            sumB += tally.winsB[j];
+            members.add(new MemberResult(b.get(j), "B", (long) a.size() * duelsPerPair, tally.winsB[j]));
+        }
+        members.sort(Comparator.comparingDouble(MemberResult::getWinRate).reversed()
+                .thenComparingInt(MemberResult::getId));
+        this.winsA = sumA;
+        this.winsB = sumB;
+        this.draws = tally.draws;
+        this.winRateA = SimulationResult.rate(sumA, tally.duels);
+        double[] interval = SimulationResult.wilson(sumA, tally.duels);
+        this.winRateALow = interval[0];
+        this.winRateAHigh = interval[1];
+        this.winRateB = SimulationResult.rate(sumB, tally.duels);
+        this.drawRate = SimulationResult.rate(tally.draws, tally.duels);
+        this.elapsedMs = elapsedNanos / 1_000_000.0;
+        this.duelsPerSecond = elapsedNanos == 0 ? 0 : Math.round(tally.duels * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    public void setGuilds(int guildA, int guildB) {
+        this.guildA = guildA;
+        this.guildB = guildB;
+    }
+
+    public Integer getGuildA() {
+        return guildA;
+    }
+
+    public Integer getGuildB() {
+        return guildB;
+    }
+
+    public int getMembersA() {
+        return membersA;
+    }
+
+    public int getMembersB() {
+        return membersB;
+    }
+
+    public int getDuelsPerPair() {
+        return duelsPerPair;
+    }
+
+    public long getPairs() {
+        return pairs;
+    }
+
+    public long getDuels() {
+        return duels;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getAverageRounds() {
+        return averageRounds;
+    }
+
+    public long getWinsA() {
+        return winsA;
+    }
+
+    public long getWinsB() {
+        return winsB;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Share of all duels won by a member of side A
+     */
+    public double getWinRateA() {
+        return winRateA;
+    }
+
+    public double getWinRateALow() {
+        return winRateALow;
+    }
+
+    public double getWinRateAHigh() {
+        return winRateAHigh;
+    }
+
+    public double getWinRateB() {
+        return winRateB;
+    }
+
+    public double getDrawRate() {
+        return drawRate;
+    }
+
+    /**
+     * Both rosters, best win rate first
+     */
+    public List<MemberResult> getMembers() {
+        return members;
+    }
+
+    public double getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Simulated duels per second of wall clock time
+     */
+    public long getDuelsPerSecond() {
+        return duelsPerSecond;
+    }
+
+    /**
+     * Record of one member against the whole other roster
+     */
+    public static class MemberResult {
+        private final int id;
+        private final String name;
+        private final String type;
+        private final String side;
+        private final long duels;
+        private final long wins;
+        private final double winRate;
+
+        MemberResult(CombatProfile profile, String side, long duels, long wins) {
+            this.id = profile.getId();
+            this.name = profile.getName();
+            this.type = profile.getType();
+            this.side = side;
+            this.duels = duels;
+            this.wins = wins;
+            this.winRate = SimulationResult.rate(wins, duels);
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getSide() {
+            return side;
+        }
+
+        public long getDuels() {
+            return duels;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public double getWinRate() {
+            return winRate;
+        }
+    }
+}
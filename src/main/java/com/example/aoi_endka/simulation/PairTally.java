@@ -0,0 +1,31 @@
+package com.example.aoi_endka.simulation;
+
+/**
+ * Counters of a batch of one-on-one duels, wins are kept per member
+ */
+class PairTally {
+
+    long duels;
+    long draws;
+    long rounds;
+    final long[] winsA;
+    final long[] winsB;
+
+    PairTally(int sizeA, int sizeB) {
+        winsA = new long[sizeA];
+        winsB = new long[sizeB];
+    }
+
+    PairTally merge(PairTally other) {
+        duels += other.duels;
+        draws += other.draws;
+        rounds += other.rounds;
+        for (int i = 0; i < winsA.length; i++) {
+            winsA[i] += other.winsA[i];
+        }
+        for (int j = 0; j < winsB.length; j++) {
+            winsB[j] += other.winsB[j];
+        }
+        return this;
+    }
+}
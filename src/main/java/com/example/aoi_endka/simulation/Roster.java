@@ -0,0 +1,33 @@
+package com.example.aoi_endka.simulation;
+
+import java.util.List;
+
+/**
+ * Combat numbers of a list of fighters as primitive arrays, fighter i is members.get(i)
+ */
+final class Roster {
+    final int size;
+    final int[] hitPoints;
+    final int[] damage;
+    final int[] defense;
+    final double[] critChance;
+    final long totalHitPoints;
+
+    Roster(List<CombatProfile> members) {
+        size = members.size();
+        hitPoints = new int[size];
+        damage = new int[size];
+        defense = new int[size];
+        critChance = new double[size];
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            CombatProfile member = members.get(i);
+            hitPoints[i] = member.getHitPoints();
+            damage[i] = member.getDamage();
+            defense[i] = member.getDefense();
+            critChance[i] = member.getCritChance();
+            total += member.getHitPoints();
+        }
+        totalHitPoints = total;
+    }
+}
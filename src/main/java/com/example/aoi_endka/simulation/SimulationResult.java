@@ -0,0 +1,225 @@
+package com.example.aoi_endka.simulation;
+
+import com.example.aoi_endka.analytics.StatsSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a Monte Carlo combat simulation
+ * Intervals are 95%: Wilson score intervals for rates, normal approximation for mean damage
+ */
+public class SimulationResult {
+
+    private static final double Z = 1.96;
+
+    private final long battles;
+    private final long seed;
+    private final double averageRounds;
+    private final long draws;
+    private final double drawRate;
+    private final SideResult sideA;
+    private final SideResult sideB;
+    private final long elapsedMs;
+
+    SimulationResult(Tally tally, long seed, List<CombatProfile> a, List<CombatProfile> b, long elapsedMs) {
+        this.battles = tally.battles;
+        this.seed = seed;
+        this.averageRounds = tally.battles == 0 ? 0 : (double) tally.rounds / tally.battles;
+        this.draws = tally.draws;
+        this.drawRate = rate(tally.draws, tally.battles);
+        this.sideA = new SideResult(a, tally.winsA, tally.battles, tally.damageA);
+        this.sideB = new SideResult(b, tally.winsB, tally.battles, tally.damageB);
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long getBattles() {
+        return battles;
+    }
+
+    /**
+     * Same seed and input give the same result, whatever the number of cores
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getAverageRounds() {
+        return averageRounds;
+    }
+
+    /**
+     * Battles that hit the round limit with both sides standing
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    public double getDrawRate() {
+        return drawRate;
+    }
+
+    public SideResult getSideA() {
+        return sideA;
+    }
+
+    public SideResult getSideB() {
+        return sideB;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Wins and damage of one side
+     */
+    public static class SideResult {
+        private final List<Integer> characterIds = new ArrayList<>();
+        private final long wins;
+        private final double winRate;
+        private final double winRateLow;
+        private final double winRateHigh;
+        private final DamageStats damage;
+
+        SideResult(List<CombatProfile> members, long wins, long battles, Tally.Damage damage) {
+            for (CombatProfile member : members) {
+                characterIds.add(member.getId());
+            }
+            this.wins = wins;
+            this.winRate = rate(wins, battles);
+            double[] interval = wilson(wins, battles);
+            this.winRateLow = interval[0];
+            this.winRateHigh = interval[1];
+            this.damage = new DamageStats(damage, battles);
+        }
+
+        public List<Integer> getCharacterIds() {
+            return characterIds;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public double getWinRate() {
+            return winRate;
+        }
+
+        public double getWinRateLow() {
+            return winRateLow;
+        }
+
+        public double getWinRateHigh() {
+            return winRateHigh;
+        }
+
+        /**
+         * Damage this side dealt per battle
+         */
+        public DamageStats getDamage() {
+            return damage;
+        }
+    }
+
+    /**
+     * Distribution of the damage one side dealt per battle
+     * Percentiles are read from the histogram, so they are exact to one bucket
+     */
+    public static class DamageStats {
+        private final double mean;
+        private final double standardDeviation;
+        private final double meanLow;
+        private final double meanHigh;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final List<StatsSnapshot.Bucket> histogram = new ArrayList<>();
+
+        DamageStats(Tally.Damage damage, long battles) {
+            this.mean = battles == 0 ? 0 : damage.sum / battles;
+            double variance = battles < 2 ? 0 : Math.max(0, (damage.sumOfSquares - battles * mean * mean) / (battles - 1));
+            this.standardDeviation = Math.sqrt(variance);
+            double margin = battles == 0 ? 0 : Z * standardDeviation / Math.sqrt(battles);
+            this.meanLow = mean - margin;
+            this.meanHigh = mean + margin;
+
+            long[] thresholds = {(long) Math.ceil(battles * 0.5), (long) Math.ceil(battles * 0.9), (long) Math.ceil(battles * 0.99)};
+            long[] percentiles = new long[3];
+            long seen = 0;
+            for (int i = 0; i < Tally.HISTOGRAM_BUCKETS; i++) {
+                long count = damage.histogram[i];
+                long from = firstValue(i, damage.max);
+                long to = Math.min(damage.max, firstValue(i + 1, damage.max) - 1);
+                for (int p = 0; p < 3; p++) {
+                    if (seen < thresholds[p] && seen + count >= thresholds[p]) {
+                        percentiles[p] = to;
+                    }
+                }
+                seen += count;
+                if (count > 0) {
+                    histogram.add(new StatsSnapshot.Bucket(from, to, count));
+                }
+            }
+            this.p50 = percentiles[0];
+            this.p90 = percentiles[1];
+            this.p99 = percentiles[2];
+        }
+
+        // Smallest damage that lands in bucket i, inverse of Tally.Damage.bucket
+        private static long firstValue(int bucket, long max) {
+            return (bucket * (max + 1) + Tally.HISTOGRAM_BUCKETS - 1) / Tally.HISTOGRAM_BUCKETS;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getStandardDeviation() {
+            return standardDeviation;
+        }
+
+        public double getMeanLow() {
+            return meanLow;
+        }
+
+        public double getMeanHigh() {
+            return meanHigh;
+        }
+
+        /**
+         * Upper edge of the bucket holding the median
+         */
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public List<StatsSnapshot.Bucket> getHistogram() {
+            return histogram;
+        }
+    }
+
+    static double rate(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    static double[] wilson(long successes, long trials) {
+        if (trials == 0) {
+            return new double[] {0, 0};
+        }
+        double p = (double) successes / trials;
+        double z2 = Z * Z;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2.0 * trials)) / denominator;
+        double margin = Z * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] {Math.max(0, center - margin), Math.min(1, center + margin)};
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.aoi_endka.simulation;
+
+/**
+ * Counters of a batch of battles, merged up the fork/join tree
+ * Damage is the damage a side dealt in one battle, kept as sum, sum of squares and a histogram
+ * over [0, hit points of the other side]
+ */
+class Tally {
+
+    static final int HISTOGRAM_BUCKETS = 50;
+
+    long battles;
+    long winsA;
+    long winsB;
+    long draws;
+    long rounds;
+    final Damage damageA;
+    final Damage damageB;
+
+    Tally(long maxDamageA, long maxDamageB) {
+        damageA = new Damage(maxDamageA);
+        damageB = new Damage(maxDamageB);
+    }
+
+    static final class Damage {
+        final long max;
+        double sum;
+        double sumOfSquares;
+        final long[] histogram = new long[HISTOGRAM_BUCKETS];
+
+        Damage(long max) {
+            this.max = Math.max(1, max);
+        }
+
+        void add(long damage) {
+            sum += damage;
+            sumOfSquares += (double) damage * damage;
+            histogram[bucket(damage)]++;
+        }
+
+        int bucket(long damage) {
+            return (int) Math.min(HISTOGRAM_BUCKETS - 1, damage * HISTOGRAM_BUCKETS / (max + 1));
+        }
+
+        void merge(Damage other) {
+            sum += other.sum;
+            sumOfSquares += other.sumOfSquares;
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+    }
+
+    Tally merge(Tally other) {
+        battles += other.battles;
+        winsA += other.winsA;
+        winsB += other.winsB;
+        draws += other.draws;
+        rounds += other.rounds;
+        damageA.merge(other.damageA);
+        damageB.merge(other.damageB);
+        return this;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.aoi_endka.simulation;
+
+/**
+ * How a tournament pairs its entrants
+ */
+public enum TournamentFormat {
+
+    /**
+     * Bracket seeded 1 vs n, 2 vs n-1, ..., top seeds get the byes, losers are out, a draw goes to a coin flip
+     */
+    SINGLE_ELIMINATION("single-elimination"),
+
+    /**
+     * Fixed number of rounds, entrants with equal points meet, no rematches while avoidable;
+     * win 1 point, draw half, bye 1; ties on points are broken by opponents' points, then by seed
+     */
+    SWISS("swiss");
+
+    // Bounded so standings still pack into one sort key, see TournamentTask
+    public static final int MAX_SWISS_ROUNDS = 100;
+
+    private final String label;
+
+    TournamentFormat(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return null for an unknown label
+     */
+    public static TournamentFormat fromLabel(String label) {
+        for (TournamentFormat format : values()) {
+            if (format.label.equalsIgnoreCase(label)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rounds of one tournament, swissRounds is only used by SWISS
+     */
+    public int rounds(int entrants, int swissRounds) {
+        return this == SWISS ? swissRounds : log2Rounds(entrants);
+    }
+
+    /**
+     * ceil(log2(entrants)): rounds of a full bracket, and the usual length of a Swiss tournament
+     */
+    public static int log2Rounds(int entrants) {
+        return 32 - Integer.numberOfLeadingZeros(entrants - 1);
+    }
+
+    /**
+     * Duels fought in one tournament, byes not counted
+     */
+    public long matches(int entrants, int swissRounds) {
+        if (this == SWISS) {
+            return (long) swissRounds * (entrants / 2);
+        }
+        return entrants - 1;
+    }
+}
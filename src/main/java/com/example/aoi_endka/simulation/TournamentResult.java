@@ -0,0 +1,175 @@
+package com.example.aoi_endka.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a tournament played many times
+ * Win probabilities come with 95% Wilson score intervals
+ */
+public class TournamentResult {
+
+    private final String format;
+    private final int entrants;
+    private final int rounds;
+    private final long runs;
+    private final long seed;
+    private final long matches;
+    private final long draws;
+    private final List<EntrantResult> standings = new ArrayList<>();
+    private final double elapsedMs;
+    private final long matchesPerSecond;
+
+    /**
+     * @param seeded entrants in seed order, as played
+     * @param limit number of entrants in the standings, best win probability first
+     */
+    TournamentResult(TournamentTally tally, TournamentFormat format, List<CombatProfile> seeded, int rounds, int limit,
+                     long seed, long elapsedNanos) {
+        this.format = format.getLabel();
+        this.entrants = seeded.size();
+        this.rounds = rounds;
+        this.runs = tally.runs;
+        this.seed = seed;
+        this.matches = tally.matches;
+        this.draws = tally.draws;
+        List<EntrantResult> all = new ArrayList<>(seeded.size());
+        for (int i = 0; i < seeded.size(); i++) {
+            all.add(new EntrantResult(seeded.get(i), i + 1, tally.titles[i], tally.matchWins[i], tally.runs));
+        }
+        all.sort(Comparator.comparingLong(EntrantResult::getTitles).reversed()
+                .thenComparingInt(EntrantResult::getSeed));
+        standings.addAll(all.subList(0, Math.min(limit, all.size())));
+        this.elapsedMs = elapsedNanos / 1_000_000.0;
+        this.matchesPerSecond = elapsedNanos == 0 ? 0 : Math.round(tally.matches * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public int getEntrants() {
+        return entrants;
+    }
+
+    /**
+     * Rounds of one tournament
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * How many times the tournament was played
+     */
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * Same seed and entrants give the same result, whatever the number of cores
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getMatches() {
+        return matches;
+    }
+
+    /**
+     * Matches that hit the round limit; elimination settles them with a coin flip, Swiss gives half a point each
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    public List<EntrantResult> getStandings() {
+        return standings;
+    }
+
+    public double getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public long getMatchesPerSecond() {
+        return matchesPerSecond;
+    }
+
+    /**
+     * How one entrant did over all runs
+     */
+    public static class EntrantResult {
+        private final int id;
+        private final String name;
+        private final String type;
+        private final int power;
+        private final int seed;
+        private final long titles;
+        private final double winProbability;
+        private final double winProbabilityLow;
+        private final double winProbabilityHigh;
+        private final double averageMatchWins;
+
+        EntrantResult(CombatProfile profile, int seed, long titles, long matchWins, long runs) {
+            this.id = profile.getId();
+            this.name = profile.getName();
+            this.type = profile.getType();
+            this.power = profile.getPower();
+            this.seed = seed;
+            this.titles = titles;
+            this.winProbability = SimulationResult.rate(titles, runs);
+            double[] interval = SimulationResult.wilson(titles, runs);
+            this.winProbabilityLow = interval[0];
+            this.winProbabilityHigh = interval[1];
+            this.averageMatchWins = runs == 0 ? 0 : (double) matchWins / runs;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public int getPower() {
+            return power;
+        }
+
+        /**
+         * 1 is the strongest by calculatePower()
+         */
+        public int getSeed() {
+            return seed;
+        }
+
+        /**
+         * Runs this entrant won
+         */
+        public long getTitles() {
+            return titles;
+        }
+
+        public double getWinProbability() {
+            return winProbability;
+        }
+
+        public double getWinProbabilityLow() {
+            return winProbabilityLow;
+        }
+
+        public double getWinProbabilityHigh() {
+            return winProbabilityHigh;
+        }
+
+        public double getAverageMatchWins() {
+            return averageMatchWins;
+        }
+    }
+}
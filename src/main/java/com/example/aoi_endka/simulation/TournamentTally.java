@@ -0,0 +1,29 @@
+package com.example.aoi_endka.simulation;
+
+/**
+ * Counters of a batch of tournaments, indexed by seed (0 is the top seed)
+ */
+class TournamentTally {
+
+    long runs;
+    long matches;
+    long draws;
+    final long[] titles;
+    final long[] matchWins;
+
+    TournamentTally(int entrants) {
+        titles = new long[entrants];
+        matchWins = new long[entrants];
+    }
+
+    TournamentTally merge(TournamentTally other) {
+        runs += other.runs;
+        matches += other.matches;
+        draws += other.draws;
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] += other.titles[i];
+            matchWins[i] += other.matchWins[i];
+        }
+        return this;
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.aoi_endka.simulation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays tournaments [from, to) of a repeated tournament
+ *
+ * The run range is split in halves like the battle range, each half with its own SplittableRandom.
+ * Inside a run every match gets its own stream split from the run's stream before the round starts,
+ * so a round with PARALLEL_MATCHES or more matches can be played across the pool and still give the
+ * same result as playing it in order
+ */
+final class TournamentTask extends RecursiveTask<TournamentTally> {
+
+    static final int PARALLEL_MATCHES = 256;
+    private static final int LEAF_MATCHES = 64;
+
+    private final Roster roster;
+    private final TournamentFormat format;
+    private final int rounds;
+    private final DuelRules rules;
+    private final int from;
+    private final int to;
+    private final int leafRuns;
+    private final SplittableRandom random;
+
+    /**
+     * @param roster entrants ordered by seed, index 0 is the top seed
+     */
+    TournamentTask(Roster roster, TournamentFormat format, int rounds, DuelRules rules, int from, int to, int leafRuns,
+                   SplittableRandom random) {
+        this.roster = roster;
+        this.format = format;
+        this.rounds = rounds;
+        this.rules = rules;
+        this.from = from;
+        this.to = to;
+        this.leafRuns = leafRuns;
+        this.random = random;
+    }
+
+    @Override
+    protected TournamentTally compute() {
+        if (to - from <= leafRuns) {
+            TournamentTally tally = new TournamentTally(roster.size);
+            Run run = format == TournamentFormat.SWISS ? new SwissRun(tally) : new EliminationRun(tally);
+            for (int i = from; i < to; i++) {
+                run.play();
+                tally.runs++;
+            }
+            return tally;
+        }
+        int mid = (from + to) >>> 1;
+        TournamentTask left = new TournamentTask(roster, format, rounds, rules, from, mid, leafRuns, random.split());
+        TournamentTask right = new TournamentTask(roster, format, rounds, rules, mid, to, leafRuns, random);
+        left.fork();
+        TournamentTally result = right.compute();
+        return result.merge(left.join());
+    }
+
+    /**
+     * Bracket positions of seeds 0..size-1 so that seed 0 and 1 can only meet in the final,
+     * 0 meets size-1 in the first round, and so on; entries >= entrants are byes
+     */
+    static int[] bracket(int size) {
+        int[] order = {0};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int k = 0; k < order.length; k++) {
+                next[2 * k] = order[k];
+                next[2 * k + 1] = next.length - 1 - order[k];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    /**
+     * State of one tournament, reused for every run of a leaf task
+     */
+    private abstract class Run {
+        final TournamentTally tally;
+        // Matches of the current round: left[k] against right[k], outcome[k] > 0 when left won, < 0 when right won
+        final int[] left;
+        final int[] right;
+        final int[] outcome;
+        final boolean[] drawn;
+        final SplittableRandom[] streams;
+
+        Run(TournamentTally tally, int maxMatches) {
+            this.tally = tally;
+            left = new int[maxMatches];
+            right = new int[maxMatches];
+            outcome = new int[maxMatches];
+            drawn = new boolean[maxMatches];
+            streams = new SplittableRandom[maxMatches];
+        }
+
+        abstract void play();
+
+        void playMatches(int matches, boolean breakTies) {
+            for (int k = 0; k < matches; k++) {
+                streams[k] = random.split();
+            }
+            if (matches >= PARALLEL_MATCHES) {
+                new Matches(this, 0, matches, breakTies).invoke();
+            } else {
+                playMatches(0, matches, breakTies);
+            }
+            tally.matches += matches;
+            for (int k = 0; k < matches; k++) {
+                if (outcome[k] > 0) {
+                    tally.matchWins[left[k]]++;
+                } else if (outcome[k] < 0) {
+                    tally.matchWins[right[k]]++;
+                }
+                if (drawn[k]) {
+                    tally.draws++;
+                }
+            }
+        }
+
+        void playMatches(int first, int last, boolean breakTies) {
+            for (int k = first; k < last; k++) {
+                int rounds = rules.duel(roster, left[k], roster, right[k], streams[k]);
+                drawn[k] = rounds == 0;
+                if (rounds == 0 && breakTies) {
+                    // Sudden death: a draw goes to whoever wins the coin flip
+                    rounds = streams[k].nextBoolean() ? 1 : -1;
+                }
+                outcome[k] = rounds;
+            }
+        }
+    }
+
+    private final class Matches extends RecursiveAction {
+        private final Run run;
+        private final int first;
+        private final int last;
+        private final boolean breakTies;
+
+        Matches(Run run, int first, int last, boolean breakTies) {
+            this.run = run;
+            this.first = first;
+            this.last = last;
+            this.breakTies = breakTies;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first <= LEAF_MATCHES) {
+                run.playMatches(first, last, breakTies);
+                return;
+            }
+            int mid = (first + last) >>> 1;
+            invokeAll(new Matches(run, first, mid, breakTies), new Matches(run, mid, last, breakTies));
+        }
+    }
+
+    private final class EliminationRun extends Run {
+        private final int[] firstRound;
+        private final int[] slots;
+
+        EliminationRun(TournamentTally tally) {
+            super(tally, Math.max(1, roster.size / 2));
+            firstRound = bracket(Integer.highestOneBit(Math.max(1, roster.size - 1)) << 1);
+            for (int k = 0; k < firstRound.length; k++) {
+                if (firstRound[k] >= roster.size) {
+                    firstRound[k] = -1;
+                }
+            }
+            slots = new int[firstRound.length];
+        }
+
+        @Override
+        void play() {
+            System.arraycopy(firstRound, 0, slots, 0, firstRound.length);
+            int length = firstRound.length;
+            while (length > 1) {
+                int matches = 0;
+                for (int k = 0; k < length; k += 2) {
+                    if (slots[k] >= 0 && slots[k + 1] >= 0) {
+                        left[matches] = slots[k];
+                        right[matches] = slots[k + 1];
+                        matches++;
+                    }
+                }
+                playMatches(matches, true);
+                int match = 0;
+                for (int k = 0; k < length; k += 2) {
+                    if (slots[k] < 0 || slots[k + 1] < 0) {
+                        slots[k / 2] = Math.max(slots[k], slots[k + 1]);
+                    } else {
+                        slots[k / 2] = outcome[match] > 0 ? left[match] : right[match];
+                        match++;
+                    }
+                }
+                length /= 2;
+            }
+            tally.titles[slots[0]]++;
+        }
+    }
+
+    private final class SwissRun extends Run {
+        // Points are doubled so a draw is 1 and a win 2
+        private final int[] points;
+        private final int[][] opponents;
+        private final int[] played;
+        private final boolean[] hadBye;
+        private final boolean[] paired;
+        private final long[] keys;
+        private final int[] order;
+
+        SwissRun(TournamentTally tally) {
+            super(tally, Math.max(1, roster.size / 2));
+            int n = roster.size;
+            points = new int[n];
+            opponents = new int[n][rounds];
+            played = new int[n];
+            hadBye = new boolean[n];
+            paired = new boolean[n];
+            keys = new long[n];
+            order = new int[n];
+        }
+
+        @Override
+        void play() {
+            int n = roster.size;
+            Arrays.fill(points, 0);
+            Arrays.fill(played, 0);
+            Arrays.fill(hadBye, false);
+            for (int round = 0; round < rounds; round++) {
+                rank(false);
+                Arrays.fill(paired, false);
+                if (n % 2 == 1) {
+                    // Lowest ranked entrant without a bye sits out and scores a win
+                    for (int k = n - 1; k >= 0; k--) {
+                        if (!hadBye[order[k]] || k == 0) {
+                            hadBye[order[k]] = true;
+                            paired[order[k]] = true;
+                            points[order[k]] += 2;
+                            break;
+                        }
+                    }
+                }
+                int matches = 0;
+                for (int k = 0; k < n; k++) {
+                    int a = order[k];
+                    if (paired[a]) {
+                        continue;
+                    }
+                    int b = -1;
+                    int fallback = -1;
+                    for (int m = k + 1; m < n && b < 0; m++) {
+                        int candidate = order[m];
+                        if (!paired[candidate]) {
+                            if (fallback < 0) {
+                                fallback = candidate;
+                            }
+                            if (!met(a, candidate)) {
+                                b = candidate;
+                            }
+                        }
+                    }
+                    b = b >= 0 ? b : fallback;
+                    paired[a] = true;
+                    paired[b] = true;
+                    left[matches] = a;
+                    right[matches] = b;
+                    matches++;
+                }
+                playMatches(matches, false);
+                for (int k = 0; k < matches; k++) {
+                    int a = left[k];
+                    int b = right[k];
+                    opponents[a][played[a]++] = b;
+                    opponents[b][played[b]++] = a;
+                    if (outcome[k] > 0) {
+                        points[a] += 2;
+                    } else if (outcome[k] < 0) {
+                        points[b] += 2;
+                    } else {
+                        points[a]++;
+                        points[b]++;
+                    }
+                }
+            }
+            rank(true);
+            tally.titles[order[0]]++;
+        }
+
+        private boolean met(int a, int b) {
+            for (int k = 0; k < played[a]; k++) {
+                if (opponents[a][k] == b) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * order = entrants by points, then by opponents' points when final, then by seed
+         */
+        private void rank(boolean tieBreak) {
+            int n = roster.size;
+            for (int i = 0; i < n; i++) {
+                long buchholz = 0;
+                if (tieBreak) {
+                    for (int k = 0; k < played[i]; k++) {
+                        buchholz += points[opponents[i][k]];
+                    }
+                }
+                // Ascending sort of (-points, -buchholz, seed) packed into one long: 16, 18 and 24 bits,
+                // enough for TournamentFormat.MAX_SWISS_ROUNDS rounds and 16M entrants
+                keys[i] = ((long) (0xFFFF - points[i]) << 42) | ((0x3FFFF - buchholz) << 24) | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) (keys[i] & 0xFFFFFF);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.aoi_endka.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation of a trace
+ *
+ * Started by Tracer, which makes it the current span of the thread, and ended on the same thread,
+ * which makes the span that was current before current again. Outside a sampled trace Tracer hands
+ * out NOOP, on which every method does nothing, so instrumented code never checks
+ */
+public final class Span {
+
+    static final Span NOOP = new Span(null, 0, 0, "noop", null);
+
+    final Trace trace;
+    final long spanId;
+    final long parentId;
+    final long startNanos;
+    final String thread;
+    private final TraceContext previous;
+    private volatile String name;
+    private volatile long durationNanos = -1;
+    private Map<String, String> tags;
+    private boolean error;
+
+    Span(Trace trace, long spanId, long parentId, String name, TraceContext previous) {
+        this.trace = trace;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.previous = previous;
+        this.startNanos = trace != null ? System.nanoTime() : 0;
+        this.thread = trace != null ? Thread.currentThread().getName() : null;
+    }
+
+    /**
+     * false for NOOP, worth checking before computing an expensive tag
+     */
+    public boolean isRecording() {
+        return trace != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTraceId() {
+        return trace != null ? Tracer.hex(trace.traceId) : null;
+    }
+
+    public Span rename(String name) {
+        if (trace != null) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span tag(String key, Object value) {
+        if (trace != null) {
+            synchronized (this) {
+                if (tags == null) {
+                    tags = new LinkedHashMap<>();
+                }
+                tags.put(key, String.valueOf(value));
+            }
+        }
+        return this;
+    }
+
+    public Span error(Throwable e) {
+        if (trace != null) {
+            error(e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : ""));
+        }
+        return this;
+    }
+
+    /**
+     * Mark the span failed where only a description of the failure is at hand
+     */
+    public Span error(String description) {
+        if (trace != null) {
+            synchronized (this) {
+                error = true;
+            }
+            tag("error", description);
+        }
+        return this;
+    }
+
+    /**
+     * Stop the clock and hand the span to its trace; a second call does nothing
+     */
+    public void end() {
+        if (trace == null || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        Tracer.CURRENT.set(previous);
+        Tracer.getInstance().finished(this);
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    synchronized Map<String, String> getTags() {
+        return tags != null ? new LinkedHashMap<>(tags) : Collections.emptyMap();
+    }
+
+    synchronized boolean isError() {
+        return error;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.aoi_endka.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finished spans of one trace, complete once its root span has ended
+ */
+final class Trace {
+
+    final long traceId;
+    final long startNanos;
+    final long startEpochMicros;
+    private final int maxSpans;
+    private final List<Span> spans = new ArrayList<>();
+    private Span root;
+    private int dropped;
+
+    Trace(long traceId, int maxSpans) {
+        this.traceId = traceId;
+        this.maxSpans = maxSpans;
+        this.startNanos = System.nanoTime();
+        this.startEpochMicros = System.currentTimeMillis() * 1000;
+    }
+
+    /**
+     * @return true when span is the root, the trace is complete then
+     */
+    synchronized boolean add(Span span) {
+        if (span.parentId == 0) {
+            root = span;
+        }
+        if (spans.size() < maxSpans || span.parentId == 0) {
+            spans.add(span);
+        } else {
+            dropped++;
+        }
+        return span.parentId == 0;
+    }
+
+    synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    synchronized Span getRoot() {
+        return root;
+    }
+
+    synchronized int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Epoch microseconds of a System.nanoTime() value taken during the trace
+     */
+    long epochMicros(long nanos) {
+        return startEpochMicros + (nanos - startNanos) / 1000;
+    }
+}
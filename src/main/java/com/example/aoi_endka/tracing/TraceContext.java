@@ -0,0 +1,87 @@
+package com.example.aoi_endka.tracing;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * The trace and span that new spans of some piece of work belong to
+ *
+ * Immutable, so it can be handed to another thread: Tracer keeps one per thread as the current
+ * context, wrap() captures the caller's and makes it current around a task that runs elsewhere
+ * (an executor, the fork/join pool, a callback), so spans started there join the same trace
+ */
+public final class TraceContext {
+
+    final Trace trace;
+    final Span span;
+
+    TraceContext(Trace trace, Span span) {
+        this.trace = trace;
+        this.span = span;
+    }
+
+    /**
+     * Context of the calling thread, null outside a sampled trace
+     */
+    public static TraceContext current() {
+        return Tracer.CURRENT.get();
+    }
+
+    public String getTraceId() {
+        return Tracer.hex(trace.traceId);
+    }
+
+    /**
+     * Make this the context of the calling thread until the scope is closed
+     */
+    public Scope makeCurrent() {
+        TraceContext previous = Tracer.CURRENT.get();
+        Tracer.CURRENT.set(this);
+        return () -> Tracer.CURRENT.set(previous);
+    }
+
+    /**
+     * task running in the caller's context, task itself outside a trace
+     */
+    public static Runnable wrap(Runnable task) {
+        TraceContext context = current();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            Scope scope = context.makeCurrent();
+            try {
+                task.run();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        TraceContext context = current();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            Scope scope = context.makeCurrent();
+            try {
+                return task.call();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * Executor that runs every task in the context of the thread that submitted it
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.aoi_endka.tracing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Every public method of a bean of this class gets a span "ClassName.method" in sampled traces,
+ * see TracingBeanPostProcessor
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Traced {
+}
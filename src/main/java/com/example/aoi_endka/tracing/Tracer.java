@@ -0,0 +1,215 @@
+package com.example.aoi_endka.tracing;
+
+import com.example.aoi_endka.patterns.singleton.ConfigurationManager;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Singleton in-process tracer
+ *
+ * TracingFilter starts a trace for one request in tracing.sample.rate (10; 0 = off, header X-Trace: 1
+ * forces one), spans are started below it by @Traced beans, repositories, connections and the cache.
+ * Outside a sampled trace start() returns Span.NOOP after one ThreadLocal read.
+ *
+ * Complete traces go to a ring of the last tracing.buffer.traces (200), shown by /actuator/traces,
+ * and, when tracing.export.file is set, to that file as Zipkin v2 JSON, one trace per line.
+ * A trace keeps at most tracing.max.spans (1000) spans, more are counted as dropped
+ */
+public class Tracer {
+
+    static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private final LoggingService logger = LoggingService.getInstance();
+    private final int sampleRate;
+    private final int maxSpans;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicReferenceArray<Trace> recent;
+    private final AtomicLong completed = new AtomicLong();
+    private final LongAdder sampled = new LongAdder();
+    private final ZipkinFileExporter exporter;
+
+    private Tracer() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.sampleRate = Math.max(0, config.getIntProperty("tracing.sample.rate", 10));
+        this.maxSpans = Math.max(1, config.getIntProperty("tracing.max.spans", 1000));
+        this.recent = new AtomicReferenceArray<>(Math.max(1, config.getIntProperty("tracing.buffer.traces", 200)));
+        String file = config.getProperty("tracing.export.file", "");
+        this.exporter = file.isBlank() ? null : ZipkinFileExporter.open(file.trim(),
+                config.getProperty("tracing.service.name", "character-management-api"),
+                config.getIntProperty("tracing.export.max.size.mb", 50));
+    }
+
+    // Bill Pugh Singleton implementation
+    private static class SingletonHelper {
+        private static final Tracer INSTANCE = new Tracer();
+    }
+
+    public static Tracer getInstance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    /**
+     * Root span of a new trace if this one is sampled, NOOP otherwise
+     * @param force trace regardless of the sample rate
+     */
+    public Span startTrace(String name, boolean force) {
+        if (!force && (sampleRate == 0 || requests.incrementAndGet() % sampleRate != 0)) {
+            return Span.NOOP;
+        }
+        sampled.increment();
+        return open(new Trace(randomId(), maxSpans), 0, name);
+    }
+
+    /**
+     * Child of the current span, NOOP outside a sampled trace
+     */
+    public Span start(String name) {
+        TraceContext parent = CURRENT.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        return open(parent.trace, parent.span.spanId, name);
+    }
+
+    /**
+     * The span new spans of this thread would be children of, NOOP outside a sampled trace
+     */
+    public Span currentSpan() {
+        TraceContext context = CURRENT.get();
+        return context != null ? context.span : Span.NOOP;
+    }
+
+    public boolean isTracing() {
+        return CURRENT.get() != null;
+    }
+
+    private Span open(Trace trace, long parentId, String name) {
+        Span span = new Span(trace, randomId(), parentId, name, CURRENT.get());
+        CURRENT.set(new TraceContext(trace, span));
+        return span;
+    }
+
+    void finished(Span span) {
+        if (!span.trace.add(span)) {
+            return;
+        }
+        recent.set((int) (completed.getAndIncrement() % recent.length()), span.trace);
+        if (exporter != null) {
+            exporter.export(span.trace);
+        }
+    }
+
+    /**
+     * Summaries of the buffered traces, newest first
+     * @param minMillis only traces at least this long
+     */
+    public List<Map<String, Object>> recentTraces(double minMillis, int limit) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        long newest = completed.get() - 1;
+        for (long i = newest; i >= 0 && i > newest - recent.length() && result.size() < limit; i--) {
+            Trace trace = recent.get((int) (i % recent.length()));
+            if (trace != null && trace.getRoot().getDurationNanos() / 1e6 >= minMillis) {
+                result.add(summary(trace));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A buffered trace with its spans in start order, null if it is not in the buffer
+     */
+    public Map<String, Object> findTrace(String traceId) {
+        for (int i = 0; i < recent.length(); i++) {
+            Trace trace = recent.get(i);
+            if (trace != null && hex(trace.traceId).equals(traceId)) {
+                Map<String, Object> result = summary(trace);
+                result.put("spans", spans(trace));
+                return result;
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+        for (int i = 0; i < recent.length(); i++) {
+            recent.set(i, null);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sampleRate", sampleRate);
+        stats.put("sampled", sampled.sum());
+        stats.put("completed", completed.get());
+        stats.put("buffer", recent.length());
+        if (exporter != null) {
+            stats.put("export", exporter.getStats());
+        }
+        return stats;
+    }
+
+    private static Map<String, Object> summary(Trace trace) {
+        Span root = trace.getRoot();
+        List<Span> spans = trace.getSpans();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("traceId", hex(trace.traceId));
+        summary.put("name", root.getName());
+        summary.put("start", Instant.ofEpochMilli(trace.startEpochMicros / 1000).toString());
+        summary.put("durationMs", millis(root.getDurationNanos()));
+        summary.put("spans", spans.size());
+        summary.put("droppedSpans", trace.getDropped());
+        summary.put("error", spans.stream().anyMatch(Span::isError));
+        return summary;
+    }
+
+    private static List<Map<String, Object>> spans(Trace trace) {
+        List<Span> spans = trace.getSpans();
+        spans.sort(Comparator.comparingLong(span -> span.startNanos));
+        Map<Long, Integer> depths = new HashMap<>();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Span span : spans) {
+            // Parents start before their children, so their depth is known; a dropped parent counts as the root
+            int depth = span.parentId == 0 ? 0 : depths.getOrDefault(span.parentId, 0) + 1;
+            depths.put(span.spanId, depth);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", hex(span.spanId));
+            row.put("parentId", span.parentId == 0 ? null : hex(span.parentId));
+            row.put("name", span.getName());
+            row.put("depth", depth);
+            row.put("offsetMs", millis(span.startNanos - trace.startNanos));
+            row.put("durationMs", millis(span.getDurationNanos()));
+            row.put("thread", span.thread);
+            row.put("tags", span.getTags());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    static String hex(long id) {
+        String digits = Long.toHexString(id);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    private static long randomId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.aoi_endka.tracing;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/traces?minMs=50&limit=20: the newest buffered traces, GET /actuator/traces/{traceId}:
+ * one trace with its spans, DELETE /actuator/traces empties the buffer
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final Tracer tracer = Tracer.getInstance();
+
+    @ReadOperation
+    public Map<String, Object> traces(@Nullable Double minMs, @Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>(tracer.getStats());
+        result.put("traces", tracer.recentTraces(minMs != null ? minMs : 0, limit != null && limit > 0 ? limit : DEFAULT_LIMIT));
+        return result;
+    }
+
+    /**
+     * null (404) when the trace is not or no longer in the buffer
+     */
+    @ReadOperation
+    public Map<String, Object> trace(@Selector String traceId) {
+        return tracer.findTrace(traceId);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        tracer.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.aoi_endka.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps beans of @Traced classes in a class-based proxy that runs every public method in a span
+ *
+ * Calls a bean makes to itself do not go through the proxy and get no span. Outside a sampled
+ * trace the proxy costs one ThreadLocal read per call
+ */
+@Component
+public class TracingBeanPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> type = AopUtils.getTargetClass(bean);
+        if (!type.isAnnotationPresent(Traced.class)) {
+            return bean;
+        }
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new SpanInterceptor(type.getSimpleName()));
+        return factory.getProxy(type.getClassLoader());
+    }
+
+    private static final class SpanInterceptor implements MethodInterceptor {
+        private final Tracer tracer = Tracer.getInstance();
+        private final String prefix;
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        SpanInterceptor(String className) {
+            this.prefix = className + ".";
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (!tracer.isTracing() || invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            Span span = tracer.start(names.computeIfAbsent(invocation.getMethod(), method -> prefix + method.getName()));
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        }
+    }
+}
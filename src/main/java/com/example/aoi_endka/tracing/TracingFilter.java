@@ -0,0 +1,64 @@
+package com.example.aoi_endka.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Starts the trace of a sampled request; its root span covers the whole request including the
+ * response body, so time outside the controller span is filters and serialization
+ *
+ * X-Trace: 1 traces the request whatever the sample rate, X-Trace-Id in the response names the
+ * trace to look up in /actuator/traces
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String FORCE_HEADER = "X-Trace";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final Tracer tracer = Tracer.getInstance();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span root = tracer.startTrace(request.getMethod() + " " + request.getRequestURI(),
+                "1".equals(request.getHeader(FORCE_HEADER)));
+        if (!root.isRecording()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(TRACE_ID_HEADER, root.getTraceId());
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } catch (IOException | ServletException | RuntimeException e) {
+            root.error(e);
+            throw e;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                root.rename(request.getMethod() + " " + pattern);
+                root.tag("http.route", pattern);
+            }
+            root.tag("http.method", request.getMethod());
+            root.tag("http.path", request.getRequestURI());
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            root.tag("http.status_code", status);
+            if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR && !failed) {
+                root.error("HTTP " + status);
+            }
+            root.end();
+        }
+    }
+}
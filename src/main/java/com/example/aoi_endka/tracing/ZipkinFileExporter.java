@@ -0,0 +1,121 @@
+package com.example.aoi_endka.tracing;
+
+import com.example.aoi_endka.logging.RollingLogFile;
+import com.example.aoi_endka.logging.RotationPolicy;
+import com.example.aoi_endka.patterns.singleton.LoggingService;
+import com.example.aoi_endka.utils.MpscRingBuffer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes complete traces to a file as Zipkin v2 JSON, one array of spans per line, so each line can
+ * be POSTed to /api/v2/spans of Zipkin or Jaeger as is
+ *
+ * Traces are offered to a ring buffer drained by one daemon thread, like DomainEventBus; when 1024
+ * are waiting further ones are dropped and counted.
+ * The file rolls like the log file, at tracing.export.max.size.mb, keeping 5 gzipped archives
+ */
+final class ZipkinFileExporter {
+
+    private static final int QUEUE = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final RollingLogFile file;
+    private final Map<String, Object> localEndpoint;
+    private final MpscRingBuffer<Trace> buffer = new MpscRingBuffer<>(QUEUE);
+    private final Thread writer;
+    private final LongAdder exported = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean idle;
+
+    private ZipkinFileExporter(RollingLogFile file, String serviceName) {
+        this.file = file;
+        this.localEndpoint = Map.of("serviceName", serviceName);
+        this.writer = new Thread(this::writeLoop, "trace-exporter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * null when the file cannot be opened, the error is logged
+     */
+    static ZipkinFileExporter open(String path, String serviceName, int maxSizeMb) {
+        try {
+            RotationPolicy rotation = new RotationPolicy(Math.max(1, maxSizeMb) * 1024L * 1024L, false, 5, true);
+            return new ZipkinFileExporter(new RollingLogFile(path, rotation), serviceName);
+        } catch (IOException e) {
+            LoggingService.getInstance().error("Cannot open trace export file " + path, e);
+            return null;
+        }
+    }
+
+    void export(Trace trace) {
+        if (!buffer.offer(trace)) {
+            dropped.increment();
+        } else if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("file", file.getPath());
+        stats.put("exported", exported.sum());
+        stats.put("dropped", dropped.sum());
+        return stats;
+    }
+
+    private void writeLoop() {
+        while (true) {
+            if (buffer.drain(this::write, 64) > 0) {
+                continue;
+            }
+            idle = true;
+            // Checked again after idle is set, so a trace offered in between either is seen here or unparks us
+            if (buffer.size() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    private void write(Trace trace) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        String traceId = Tracer.hex(trace.traceId);
+        for (Span span : trace.getSpans()) {
+            Map<String, Object> zipkin = new LinkedHashMap<>();
+            zipkin.put("traceId", traceId);
+            zipkin.put("id", Tracer.hex(span.spanId));
+            if (span.parentId != 0) {
+                zipkin.put("parentId", Tracer.hex(span.parentId));
+            } else {
+                zipkin.put("kind", "SERVER");
+            }
+            zipkin.put("name", span.getName());
+            zipkin.put("timestamp", trace.epochMicros(span.startNanos));
+            zipkin.put("duration", Math.max(1, span.getDurationNanos() / 1000));
+            zipkin.put("localEndpoint", localEndpoint);
+            Map<String, String> tags = new LinkedHashMap<>(span.getTags());
+            tags.put("thread", span.thread);
+            zipkin.put("tags", tags);
+            spans.add(zipkin);
+        }
+        try {
+            file.write(json.writeValueAsString(spans) + "\n", System.currentTimeMillis());
+            file.flush();
+            exported.increment();
+        } catch (IOException | RuntimeException e) {
+            dropped.increment();
+            LoggingService.getInstance().warn(() -> "Trace export failed: " + e.getMessage());
+        }
+    }
+}
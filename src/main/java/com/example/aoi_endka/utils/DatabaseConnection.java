@@ -3,17 +3,34 @@ package com.example.aoi_endka.utils;
 import com.example.aoi_endka.patterns.singleton.DatabaseConfigManager;
 import com.example.aoi_endka.patterns.singleton.LoggingService;
 import com.example.aoi_endka.exceptions.DatabaseOperationException;  // ДОБАВЬТЕ этот импорт
+import com.example.aoi_endka.jdbc.TracingConnection;
+import com.example.aoi_endka.jfr.ConnectionAcquireEvent;
+import com.example.aoi_endka.tracing.Span;
+import com.example.aoi_endka.tracing.Tracer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 public class DatabaseConnection {
 
     private static final DatabaseConfigManager dbConfig = DatabaseConfigManager.getInstance();
     private static final LoggingService logger = LoggingService.getInstance();
 
+    // db.connection.acquire: time to get a connection from DriverManager
+    private static final Timer ACQUIRE_SUCCESS = acquireTimer("success");
+    private static final Timer ACQUIRE_ERROR = acquireTimer("error");
+
     // ДОБАВЬТЕ throws к сигнатуре
     public static Connection getConnection() throws SQLException, DatabaseOperationException {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        Span span = Tracer.getInstance().start("db connect");
+        long start = System.nanoTime();
         try {
             Class.forName(dbConfig.getDriverClassName());
 
@@ -22,16 +39,34 @@ public class DatabaseConnection {
                     dbConfig.getUsername(),
                     dbConfig.getPassword()
             );
+            ACQUIRE_SUCCESS.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.finish(dbConfig.getJdbcUrl(), true);
 
             logger.info("Database connection established");
-            return conn;
+            return TracingConnection.wrap(conn);
 
         } catch (SQLException e) {
+            ACQUIRE_ERROR.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.finish(dbConfig.getJdbcUrl(), false);
+            span.error(e);
             logger.error("Failed to connect to database", e);
             throw new DatabaseOperationException("Cannot connect to database", e);
         } catch (ClassNotFoundException e) {
+            span.error(e);
             logger.error("Database driver not found", e);
             throw new DatabaseOperationException("Database driver not found", e);
+        } finally {
+            span.end();
         }
     }
+
+    private static Timer acquireTimer(String outcome) {
+        return Timer.builder("db.connection.acquire")
+                .description("Time to open a database connection")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(Metrics.globalRegistry);
+    }
 }
\ No newline at end of file
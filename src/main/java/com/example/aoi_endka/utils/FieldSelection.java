@@ -0,0 +1,58 @@
+package com.example.aoi_endka.utils;
+
+import com.example.aoi_endka.exceptions.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses the fields= request parameter (sparse fieldsets)
+ */
+public class FieldSelection {
+
+    /**
+     * Split a comma separated field list, keep request order and drop duplicates
+     * @param raw value of the fields parameter
+     * @param allowed fields the resource can project
+     * @return requested fields
+     * @throws InvalidInputException if the list is empty or contains an unknown field
+     */
+    public static List<String> parse(String raw, Set<String> allowed) throws InvalidInputException {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String part : raw.split(",")) {
+            String field = part.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(field)) {
+                throw new InvalidInputException("Unknown field '" + field + "'. Allowed fields: " + String.join(", ", allowed));
+            }
+            fields.add(field);
+        }
+
+        if (fields.isEmpty()) {
+            throw new InvalidInputException("fields parameter cannot be empty");
+        }
+        return new ArrayList<>(fields);
+    }
+
+    /**
+     * The same fields in any order, sorted, so every permutation of a projection maps to one cache entry and ETag
+     */
+    public static String canonical(List<String> fields) {
+        List<String> sorted = new ArrayList<>(fields);
+        Collections.sort(sorted);
+        return String.join(",", sorted);
+    }
+
+    /**
+     * A projection is its own representation, so its strong ETag gets a suffix per field set
+     */
+    public static String tagETag(String eTag, List<String> fields) {
+        String selection = canonical(fields);
+        return eTag.substring(0, eTag.length() - 1) + "-f" + Integer.toHexString(selection.hashCode()) + "\"";
+    }
+}
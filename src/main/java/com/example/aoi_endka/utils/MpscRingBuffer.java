@@ -0,0 +1,113 @@
+package com.example.aoi_endka.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer
+ *
+ * Every slot has a sequence number: a producer claims position p with a CAS on the tail once
+ * sequence[p] == p, writes the element and publishes it with sequence = p + 1; the consumer takes
+ * it when sequence == head + 1 and frees the slot for the next lap with sequence = head + capacity.
+ * A full buffer never blocks, offer just returns false
+ */
+public class MpscRingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Written by the consumer only, volatile so size() can read it from any thread
+    private volatile long head;
+
+    /**
+     * @param capacity rounded up to a power of two; at least 2, with one slot a published element
+     *                 would look like a free slot of the next lap
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30");
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.elements = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element, safe from any thread
+     * @return false if the buffer is full
+     */
+    public boolean offer(T element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long position;
+        int slot;
+        while (true) {
+            position = tail.get();
+            slot = (int) position & mask;
+            long lag = sequences.get(slot) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (lag < 0) {
+                // The consumer has not freed this slot since the last lap
+                return false;
+            }
+            // lag > 0: another producer claimed the position first, read the tail again
+        }
+        elements.lazySet(slot, element);
+        sequences.lazySet(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Take the oldest element, consumer thread only
+     * @return null if the buffer is empty or the oldest claimed slot is still being written
+     */
+    public T poll() {
+        long position = head;
+        int slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        T element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.lazySet(slot, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Pass up to max elements to the consumer, consumer thread only
+     * @return number of elements drained
+     */
+    public int drain(Consumer<? super T> consumer, int max) {
+        int drained = 0;
+        T element;
+        while (drained < max && (element = poll()) != null) {
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Elements claimed but not yet taken, approximate while producers are running
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
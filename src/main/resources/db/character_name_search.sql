@@ -0,0 +1,6 @@
+-- Optional database-side name search (search.backend=database)
+-- Needs the pg_trgm extension (CREATE EXTENSION requires a privileged role), not applied automatically
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram index: LOWER(name) LIKE '%text%' and LIKE 'text%' both use it
+CREATE INDEX IF NOT EXISTS idx_characters_name_trgm ON characters USING gin (LOWER(name) gin_trgm_ops);
@@ -0,0 +1,9 @@
+-- Persisted character power (Java calculatePower() stays the source of truth)
+-- Applied at startup by CharacterPowerJob, every statement is idempotent
+ALTER TABLE characters ADD COLUMN IF NOT EXISTS power INT;
+
+-- Global ranking and power BETWEEN queries
+CREATE INDEX IF NOT EXISTS idx_characters_power ON characters (power DESC, id);
+
+-- Ranking inside one character type
+CREATE INDEX IF NOT EXISTS idx_characters_type_power ON characters (character_type, power DESC);
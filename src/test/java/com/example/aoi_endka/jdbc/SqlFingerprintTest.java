@@ -0,0 +1,79 @@
+package com.example.aoi_endka.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SqlFingerprintTest {
+
+    static Stream<Arguments> sameFingerprint() {
+        return Stream.of(
+                Arguments.of("SELECT * FROM characters WHERE id = ?", List.of(
+                        "SELECT * FROM characters WHERE id = 1",
+                        "SELECT * FROM characters WHERE id = 42",
+                        "SELECT * FROM characters WHERE id = ?",
+                        "SELECT *\n  FROM characters\n WHERE id =\t1234567")),
+                Arguments.of("SELECT id FROM characters WHERE name = ?", List.of(
+                        "SELECT id FROM characters WHERE name = 'Bob'",
+                        "SELECT id FROM characters WHERE name = 'O''Brien'",
+                        "SELECT id FROM characters WHERE name = ''",
+                        "SELECT id FROM characters WHERE name = 'WHERE id = 5'")),
+                Arguments.of("SELECT * FROM characters WHERE level > ? AND power < ?", List.of(
+                        "SELECT * FROM characters WHERE level > -5 AND power < 3.5",
+                        "SELECT * FROM characters WHERE level > 10 AND power < 100",
+                        "SELECT * FROM characters WHERE level > ? AND power < ?")),
+                Arguments.of("SELECT * FROM characters WHERE id IN (?+)", List.of(
+                        "SELECT * FROM characters WHERE id IN (1, 2, 3)",
+                        "SELECT * FROM characters WHERE id IN (4,5)",
+                        "SELECT * FROM characters WHERE id IN ( 6 , 7 , 8 , 9 )",
+                        "SELECT * FROM characters WHERE id IN (?, ?)",
+                        "SELECT * FROM characters WHERE id IN (?, 2, ?)")),
+                Arguments.of("SELECT * FROM characters WHERE character_type IN (?+) LIMIT ? OFFSET ?", List.of(
+                        "SELECT * FROM characters WHERE character_type IN ('MAGE', 'ROGUE') LIMIT 20 OFFSET 0",
+                        "SELECT * FROM characters WHERE character_type IN ('WARRIOR','MAGE','ROGUE') LIMIT 50 OFFSET 100")),
+                Arguments.of("UPDATE characters SET name = ?, level = ? WHERE id = ?", List.of(
+                        "UPDATE characters SET name = 'A', level = 2 WHERE id = 3",
+                        "  UPDATE characters SET name = 'Long name, with 1 comma', level = 99 WHERE id = 1000  ")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sameFingerprint")
+    void literalsAndListsCollapseToOneFingerprint(String expected, List<String> statements) {
+        for (String sql : statements) {
+            assertEquals(expected, SqlFingerprint.normalize(sql), sql);
+            assertEquals(expected, SqlFingerprint.of(sql), sql);
+        }
+    }
+
+    static Stream<Arguments> differentFingerprint() {
+        return Stream.of(
+                // Digits inside identifiers are not literals
+                Arguments.of("SELECT col1 FROM table2", "SELECT col3 FROM table4"),
+                Arguments.of("SELECT t1.id FROM characters t1", "SELECT t2.id FROM characters t2"),
+                // A single value in parentheses is not a list
+                Arguments.of("SELECT * FROM characters WHERE id IN (1)", "SELECT * FROM characters WHERE id IN (1, 2)"),
+                Arguments.of("SELECT * FROM characters WHERE id = 1", "SELECT * FROM characters WHERE level = 1"),
+                Arguments.of("SELECT * FROM characters WHERE id = 1", "SELECT * FROM guilds WHERE id = 1"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("differentFingerprint")
+    void differentStatementsKeepDifferentFingerprints(String first, String second) {
+        assertNotEquals(SqlFingerprint.of(first), SqlFingerprint.of(second));
+    }
+
+    @Test
+    void identifiersWithDigitsAreKept() {
+        assertEquals("SELECT t1.col2 FROM table3 t1 WHERE t1.x = ?",
+                SqlFingerprint.normalize("SELECT t1.col2 FROM table3 t1 WHERE t1.x = 5"));
+        assertEquals("SELECT * FROM characters WHERE id IN (?)",
+                SqlFingerprint.normalize("SELECT * FROM characters WHERE id IN (7)"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.aoi_endka.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatisticTreeTest {
+
+    private static final Comparator<LeaderboardEntry> ORDER = LeaderboardEntry.BY_POWER_DESC;
+
+    @Test
+    void rankAndGetMatchSortedListUnderRandomAddsAndDeletes() {
+        Random random = new Random(7);
+        OrderStatisticTree<LeaderboardEntry> tree = new OrderStatisticTree<>(ORDER);
+        List<LeaderboardEntry> expected = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            // Few distinct powers and levels, so most entries tie and are ordered by id
+            LeaderboardEntry entry = entry(random.nextInt(300), random.nextInt(5) * 100, random.nextInt(3) + 1);
+            int index = Collections.binarySearch(expected, entry, ORDER);
+            if (random.nextInt(3) == 0) {
+                assertEquals(index >= 0, tree.remove(entry));
+                if (index >= 0) {
+                    expected.remove(index);
+                }
+            } else {
+                assertEquals(index < 0, tree.add(entry));
+                if (index < 0) {
+                    expected.add(-index - 1, entry);
+                }
+            }
+            assertEquals(expected.size(), tree.size());
+            if (step % 250 == 0) {
+                assertSameOrder(expected, tree);
+            }
+        }
+        assertSameOrder(expected, tree);
+    }
+
+    @Test
+    void absentRankIsInsertionPoint() {
+        OrderStatisticTree<LeaderboardEntry> tree = new OrderStatisticTree<>(ORDER);
+        List<LeaderboardEntry> expected = new ArrayList<>();
+        for (int id = 0; id < 20; id += 2) {
+            LeaderboardEntry entry = entry(id, 100, 1);
+            tree.add(entry);
+            expected.add(entry);
+        }
+
+        for (int id = -1; id <= 21; id++) {
+            LeaderboardEntry probe = entry(id, 100, 1);
+            assertEquals(Collections.binarySearch(expected, probe, ORDER), tree.rank(probe), "id " + id);
+        }
+        // Higher power sorts before every tie on 100, lower power after
+        assertEquals(-1, tree.rank(entry(99, 200, 1)));
+        assertEquals(-expected.size() - 1, tree.rank(entry(99, 50, 1)));
+    }
+
+    @Test
+    void tiesOnPowerAreBrokenByLevelThenId() {
+        OrderStatisticTree<LeaderboardEntry> tree = new OrderStatisticTree<>(ORDER);
+        LeaderboardEntry lowLevel = entry(1, 500, 10);
+        LeaderboardEntry highLevelNewer = entry(3, 500, 20);
+        LeaderboardEntry highLevelOlder = entry(2, 500, 20);
+        tree.add(lowLevel);
+        tree.add(highLevelNewer);
+        tree.add(highLevelOlder);
+
+        assertEquals(List.of(highLevelOlder, highLevelNewer, lowLevel), tree.range(0, 3));
+        assertEquals(0, tree.rank(highLevelOlder));
+        assertEquals(2, tree.rank(lowLevel));
+
+        assertTrue(tree.remove(highLevelOlder));
+        assertEquals(0, tree.rank(highLevelNewer));
+        assertEquals(1, tree.rank(lowLevel));
+        assertEquals(-1, tree.rank(highLevelOlder));
+    }
+
+    @Test
+    void duplicatesAndMissingElementsAreRejected() {
+        OrderStatisticTree<LeaderboardEntry> tree = new OrderStatisticTree<>(ORDER);
+        assertTrue(tree.add(entry(1, 100, 1)));
+        // Equal by comparator, the name does not take part
+        assertFalse(tree.add(new LeaderboardEntry(1, "Other", "MAGE", 1, 100, null)));
+        assertFalse(tree.remove(entry(2, 100, 1)));
+        assertEquals(1, tree.size());
+
+        assertTrue(tree.remove(entry(1, 100, 1)));
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.remove(entry(1, 100, 1)));
+    }
+
+    @Test
+    void getOutsideTheTreeThrowsAndRangeIsClamped() {
+        OrderStatisticTree<LeaderboardEntry> tree = new OrderStatisticTree<>(ORDER);
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(0));
+        for (int id = 0; id < 5; id++) {
+            tree.add(entry(id, 100, 1));
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(5));
+        assertEquals(5, tree.range(-3, 10).size());
+        assertEquals(List.of(tree.get(3), tree.get(4)), tree.range(3, 99));
+        assertTrue(tree.range(4, 2).isEmpty());
+    }
+
+    private static void assertSameOrder(List<LeaderboardEntry> expected, OrderStatisticTree<LeaderboardEntry> tree) {
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i), "get(" + i + ")");
+            assertEquals(i, tree.rank(expected.get(i)), "rank of " + expected.get(i).getId());
+        }
+        assertEquals(expected, tree.range(0, expected.size()));
+        if (expected.size() > 10) {
+            assertEquals(expected.subList(3, 10), tree.range(3, 10));
+        }
+    }
+
+    private static LeaderboardEntry entry(int id, int power, int level) {
+        return new LeaderboardEntry(id, "Hero" + id, "WARRIOR", level, power, null);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.aoi_endka.logging;
+
+import com.example.aoi_endka.logging.AsyncLogAppender.OverflowPolicy;
+import com.example.aoi_endka.patterns.singleton.LoggingService.LogLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogAppenderTest {
+
+    private static final int CAPACITY = 8;
+
+    @TempDir
+    Path dir;
+
+    private final CountDownLatch consumerStuck = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncLogAppender appender;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (appender != null) {
+            appender.shutdown(5000);
+        }
+    }
+
+    @Test
+    void dropPolicyRejectsRecordsWhileTheBufferIsFull() throws Exception {
+        fillWhileConsumerIsStuck(OverflowPolicy.DROP, 1);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(appender.append(LogLevel.INFO, "dropped-" + i));
+        }
+        assertEquals(5L, appender.getStats().get("overflows"));
+        assertEquals(5L, appender.getStats().get("dropped"));
+
+        release.countDown();
+        assertTrue(appender.flush(5000));
+        List<String> lines = messages();
+        assertEquals(1 + CAPACITY + 1, lines.size());
+        assertEquals(queued(), lines.subList(1, 1 + CAPACITY));
+        assertEquals("5 log messages dropped, buffer full", lines.get(CAPACITY + 1));
+    }
+
+    @Test
+    void samplePolicyKeepsOneOfEverySampleRateOverflows() throws Exception {
+        fillWhileConsumerIsStuck(OverflowPolicy.SAMPLE, 4);
+        // Overflow 0 is kept and waits for a slot
+        Future<Boolean> first = appendInBackground("sampled-0");
+        awaitOverflows(1);
+        for (int i = 1; i < 4; i++) {
+            assertFalse(appender.append(LogLevel.INFO, "dropped-" + i));
+        }
+        // Overflow 4 is kept again
+        Future<Boolean> second = appendInBackground("sampled-4");
+        awaitOverflows(5);
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(3L, appender.getStats().get("dropped"));
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertTrue(appender.flush(5000));
+        List<String> lines = messages();
+        assertTrue(lines.contains("sampled-0"));
+        assertTrue(lines.contains("sampled-4"));
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("dropped-")));
+        assertTrue(lines.contains("3 log messages dropped, buffer full"));
+        assertEquals((long) 1 + CAPACITY + 2, appender.getStats().get("written"));
+    }
+
+    @Test
+    void blockPolicyWaitsForAFreeSlotAndLosesNothing() throws Exception {
+        fillWhileConsumerIsStuck(OverflowPolicy.BLOCK, 1);
+        Future<Boolean> late = appendInBackground("late");
+        awaitOverflows(1);
+        Thread.sleep(100);
+        assertFalse(late.isDone());
+        assertEquals(0L, appender.getStats().get("dropped"));
+
+        release.countDown();
+        assertTrue(late.get(5, TimeUnit.SECONDS));
+        assertTrue(appender.flush(5000));
+        List<String> expected = new ArrayList<>(queued());
+        expected.add("late");
+        assertEquals(expected, messages().subList(1, messages().size()));
+    }
+
+    @Test
+    void flushWaitsForQueuedRecordsAndTimesOut() throws Exception {
+        fillWhileConsumerIsStuck(OverflowPolicy.BLOCK, 1);
+        assertFalse(appender.flush(50));
+
+        release.countDown();
+        assertTrue(appender.flush(5000));
+        assertEquals((long) 1 + CAPACITY, appender.getStats().get("written"));
+        assertEquals(1 + CAPACITY, messages().size());
+        // Nothing queued: returns at once
+        assertTrue(appender.flush(0));
+    }
+
+    @Test
+    void manyProducersLoseAndDuplicateNothingWhenBlocking() throws Exception {
+        int producers = 4;
+        int perProducer = 2500;
+        appender = new AsyncLogAppender(64, OverflowPolicy.BLOCK, 1, new RotationPolicy(0, false, 1, false));
+        appender.setFile(dir.resolve("app.log").toString());
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        List<Future<?>> done = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            done.add(pool.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(appender.append(LogLevel.DEBUG, producer + "-" + i));
+                }
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertTrue(appender.flush(10_000));
+
+        List<String> lines = messages();
+        Set<String> unique = new HashSet<>(lines);
+        assertEquals(producers * perProducer, lines.size());
+        assertEquals(lines.size(), unique.size());
+        for (int p = 0; p < producers; p++) {
+            assertTrue(unique.contains(p + "-0") && unique.contains(p + "-" + (perProducer - 1)));
+        }
+    }
+
+    // The consumer takes the first record, then waits inside its supplier; the buffer is empty again and CAPACITY records fill it
+    private void fillWhileConsumerIsStuck(OverflowPolicy policy, int sampleRate) throws Exception {
+        appender = new AsyncLogAppender(CAPACITY, policy, sampleRate, new RotationPolicy(0, false, 1, false));
+        appender.setFile(dir.resolve("app.log").toString());
+        Supplier<String> stuck = () -> {
+            consumerStuck.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        };
+        assertTrue(appender.append(LogLevel.INFO, stuck));
+        assertTrue(consumerStuck.await(5, TimeUnit.SECONDS));
+        for (String message : queued()) {
+            assertTrue(appender.append(LogLevel.INFO, message));
+        }
+        assertEquals(CAPACITY, appender.getStats().get("pending"));
+    }
+
+    private static List<String> queued() {
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            messages.add("queued-" + i);
+        }
+        return messages;
+    }
+
+    private Future<Boolean> appendInBackground(String message) {
+        ExecutorService thread = Executors.newSingleThreadExecutor();
+        Future<Boolean> result = thread.submit(() -> appender.append(LogLevel.INFO, message));
+        thread.shutdown();
+        return result;
+    }
+
+    private void awaitOverflows(long overflows) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((Long) appender.getStats().get("overflows") < overflows) {
+            assertTrue(System.nanoTime() < deadline, "no overflow " + overflows);
+            Thread.sleep(1);
+        }
+    }
+
+    // Messages of the log file without "[time] [LEVEL] "
+    private List<String> messages() throws IOException {
+        List<String> messages = new ArrayList<>();
+        for (String line : Files.readAllLines(dir.resolve("app.log"))) {
+            messages.add(line.substring(line.indexOf("] ", line.indexOf("] ") + 2) + 2));
+        }
+        return messages;
+    }
+}
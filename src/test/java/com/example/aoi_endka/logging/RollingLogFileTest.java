@@ -0,0 +1,188 @@
+package com.example.aoi_endka.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollingLogFileTest {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    // 20 bytes with the newline
+    private static final String RECORD = "0123456789abcdefghi\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rollsOverBeforeARecordWouldPassTheSizeLimit() throws IOException {
+        long now = System.currentTimeMillis();
+        RollingLogFile file = open(new RotationPolicy(50, false, 10, false));
+        for (int i = 0; i < 5; i++) {
+            file.write(RECORD, now);
+        }
+        file.close();
+
+        String day = day(now).toString();
+        // 2 records fit in 50 bytes, the third starts a new file
+        assertEquals(RECORD + RECORD, read("app.log." + day + ".1"));
+        assertEquals(RECORD + RECORD, read("app.log." + day + ".2"));
+        assertEquals(RECORD, read("app.log"));
+        assertEquals(2, file.getRollovers());
+        assertEquals(20, file.getSize());
+    }
+
+    @Test
+    void recordLargerThanTheLimitGetsAFileOfItsOwn() throws IOException {
+        long now = System.currentTimeMillis();
+        RollingLogFile file = open(new RotationPolicy(50, false, 10, false));
+        String large = "x".repeat(100 * 1024) + "\n";
+        file.write(RECORD, now);
+        file.write(large, now);
+        file.write(RECORD, now);
+        file.close();
+
+        String day = day(now).toString();
+        assertEquals(RECORD, read("app.log." + day + ".1"));
+        assertEquals(large, read("app.log." + day + ".2"));
+        assertEquals(RECORD, read("app.log"));
+    }
+
+    @Test
+    void firstRecordOfANewDayRollsOverUnderTheOldDay() throws IOException {
+        LocalDate today = LocalDate.now(ZONE);
+        long todayNoon = noon(today);
+        RollingLogFile file = open(new RotationPolicy(0, true, 10, false));
+        file.write(RECORD, todayNoon);
+        file.write(RECORD, todayNoon + 1000);
+        // A size limit of 0 never rolls, however much is written on one day
+        assertEquals(0, file.getRollovers());
+
+        file.write("tomorrow\n", noon(today.plusDays(1)));
+        file.close();
+        assertEquals(RECORD + RECORD, read("app.log." + today + ".1"));
+        assertEquals("tomorrow\n", read("app.log"));
+        assertEquals(1, file.getRollovers());
+    }
+
+    @Test
+    void fileLeftFromAnEarlierDayRollsOnItsFirstWrite() throws IOException {
+        LocalDate yesterday = LocalDate.now(ZONE).minusDays(1);
+        Path log = dir.resolve("app.log");
+        Files.writeString(log, "old\n");
+        Files.setLastModifiedTime(log, FileTime.fromMillis(noon(yesterday)));
+
+        RollingLogFile file = open(new RotationPolicy(0, true, 10, false));
+        file.write(RECORD, System.currentTimeMillis());
+        file.close();
+        assertEquals("old\n", read("app.log." + yesterday + ".1"));
+        assertEquals(RECORD, read("app.log"));
+    }
+
+    @Test
+    void rolledFilesAreGzipped() throws IOException {
+        long now = System.currentTimeMillis();
+        RollingLogFile file = open(new RotationPolicy(25, false, 10, true));
+        file.write(RECORD, now);
+        file.write("second\n", now);
+        file.close();
+
+        String archive = "app.log." + day(now) + ".1";
+        await(() -> Files.exists(dir.resolve(archive + ".gz")) && !Files.exists(dir.resolve(archive)));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(dir.resolve(archive + ".gz")))) {
+            assertEquals(RECORD, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals("second\n", read("app.log"));
+    }
+
+    @Test
+    void onlyTheNewestArchivesAreKept() throws IOException {
+        long now = System.currentTimeMillis();
+        RollingLogFile file = open(new RotationPolicy(20, false, 2, false));
+        for (int i = 1; i <= 6; i++) {
+            file.write("record " + i + " ........\n", now);
+        }
+        file.close();
+
+        String day = day(now).toString();
+        await(() -> archives().size() == 2);
+        assertEquals(List.of("app.log." + day + ".4", "app.log." + day + ".5"), archives());
+        assertEquals("record 5 ........\n", read("app.log." + day + ".5"));
+        assertEquals("record 6 ........\n", read("app.log"));
+    }
+
+    @Test
+    void reopeningAppendsToTheExistingFile() throws IOException {
+        RollingLogFile file = open(new RotationPolicy(0, true, 10, false));
+        file.write(RECORD, System.currentTimeMillis());
+        file.close();
+
+        RollingLogFile reopened = open(new RotationPolicy(0, true, 10, false));
+        assertEquals(20, reopened.getSize());
+        reopened.write(RECORD, System.currentTimeMillis());
+        reopened.close();
+        assertEquals(RECORD + RECORD, read("app.log"));
+        assertEquals(0, reopened.getRollovers());
+    }
+
+    private RollingLogFile open(RotationPolicy policy) throws IOException {
+        return new RollingLogFile(dir.resolve("app.log").toString(), policy);
+    }
+
+    private String read(String name) throws IOException {
+        Path file = dir.resolve(name);
+        assertTrue(Files.exists(file), name + " in " + archives());
+        return Files.readString(file);
+    }
+
+    private List<String> archives() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("app.log."))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Compression and pruning run on the archiver thread
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertFalse(System.nanoTime() > deadline, "archiver did not finish");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static LocalDate day(long millis) {
+        return Instant.ofEpochMilli(millis).atZone(ZONE).toLocalDate();
+    }
+
+    private static long noon(LocalDate day) {
+        return day.atTime(12, 0).atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.aoi_endka.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitmapTest {
+
+    // Values per chunk around the 4096 switch between array and bitmap chunks
+    private static final int[] DENSITIES = {0, 1, 100, 2047, 2048, 4095, 4096, 4097, 5000, 30000, 65536};
+    private static final int CHUNK = 1 << 16;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void addSwitchesToBitmapChunkAfter4096Values() {
+        Bitmap bitmap = new Bitmap();
+        BitSet expected = new BitSet();
+        int high = 3 * CHUNK;
+        for (int i = 0; i < 4100; i++) {
+            int value = high + i * 7;
+            bitmap.add(value);
+            expected.set(value);
+            if (i >= 4090) {
+                assertContent(expected, bitmap);
+            }
+        }
+        // Adding a present value at the limit changes nothing
+        bitmap.add(high);
+        assertEquals(4100, bitmap.cardinality());
+        assertTrue(bitmap.contains(high + 4099 * 7));
+        assertFalse(bitmap.contains(high + 1));
+    }
+
+    @Test
+    void removeSwitchesBackBelowHalfTheLimit() {
+        Bitmap bitmap = new Bitmap();
+        BitSet expected = new BitSet();
+        for (int value = CHUNK; value < CHUNK + 5000; value++) {
+            bitmap.add(value);
+            expected.set(value);
+        }
+        for (int value = CHUNK + 4999; value >= CHUNK; value--) {
+            bitmap.remove(value);
+            expected.clear(value);
+            int left = value - CHUNK;
+            if (left > 4090 || left > 2040 && left < 2060 || left < 5) {
+                assertContent(expected, bitmap);
+            }
+        }
+        assertTrue(bitmap.isEmpty());
+        // Removing from a missing chunk or a missing value is a no-op
+        bitmap.remove(7);
+        bitmap.add(1);
+        bitmap.remove(2);
+        assertContent(bitSet(1), bitmap);
+    }
+
+    @Test
+    void setOperationsMatchBitSetAcrossChunkTypes() {
+        for (int round = 0; round < 200; round++) {
+            BitSet a = randomSet();
+            BitSet b = randomSet();
+            Bitmap left = bitmap(a);
+            Bitmap right = bitmap(b);
+
+            BitSet and = (BitSet) a.clone();
+            and.and(b);
+            BitSet or = (BitSet) a.clone();
+            or.or(b);
+            BitSet andNot = (BitSet) a.clone();
+            andNot.andNot(b);
+
+            assertContent(and, left.and(right));
+            assertContent(and, right.and(left));
+            assertContent(or, left.or(right));
+            assertContent(or, right.or(left));
+            assertContent(andNot, left.andNot(right));
+            // Inputs are left untouched
+            assertContent(a, left);
+            assertContent(b, right);
+        }
+    }
+
+    @Test
+    void resultsCanBeModifiedWithoutTouchingInputs() {
+        BitSet a = denseChunk(0, 5000);
+        Bitmap left = bitmap(a);
+        Bitmap copy = left.or(new Bitmap());
+        copy.add(CHUNK - 1);
+        copy.remove(0);
+        assertContent(a, left);
+    }
+
+    @Test
+    void orOfManyMatchesBitSetUnion() {
+        for (int round = 0; round < 50; round++) {
+            List<Bitmap> bitmaps = new ArrayList<>();
+            BitSet expected = new BitSet();
+            int count = random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                BitSet set = randomSet();
+                expected.or(set);
+                bitmaps.add(bitmap(set));
+            }
+            Bitmap union = Bitmap.or(bitmaps);
+            assertContent(expected, union);
+            assertEquals(count, bitmaps.size());
+        }
+    }
+
+    @Test
+    void orOfManyMergesSparseChunksIntoBitmapAndBack() {
+        // 8 disjoint array chunks of 1000 values with the same key: the union needs a bitmap chunk
+        List<Bitmap> bitmaps = new ArrayList<>();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 8; i++) {
+            Bitmap bitmap = new Bitmap();
+            for (int j = 0; j < 1000; j++) {
+                int value = CHUNK + i + j * 8;
+                bitmap.add(value);
+                expected.set(value);
+            }
+            bitmaps.add(bitmap);
+        }
+        assertContent(expected, Bitmap.or(bitmaps));
+
+        // Overlapping chunks whose union stays at 4096 end up as an array again
+        assertContent(denseChunk(0, 4096), Bitmap.or(List.of(bitmap(denseChunk(0, 4096)), bitmap(denseChunk(0, 3000)))));
+        assertTrue(Bitmap.or(List.of()).isEmpty());
+    }
+
+    @Test
+    void andOfBitmapChunksShrinksToArrayAtTheLimit() {
+        // Both inputs are bitmap chunks, the intersection has 4095, 4096 or 4097 values
+        for (int overlap : new int[] {4095, 4096, 4097}) {
+            BitSet a = denseChunk(0, 10000);
+            BitSet b = new BitSet();
+            b.set(10000 - overlap, 20000);
+            BitSet expected = (BitSet) a.clone();
+            expected.and(b);
+            assertEquals(overlap, expected.cardinality());
+            assertContent(expected, bitmap(a).and(bitmap(b)));
+        }
+    }
+
+    @Test
+    void toArrayReturnsTheSmallestValuesInOrder() {
+        BitSet set = randomSet();
+        Bitmap bitmap = bitmap(set);
+        int[] all = set.stream().toArray();
+        assertArrayEquals(all, bitmap.toArray(Integer.MAX_VALUE));
+        for (int limit : new int[] {0, 1, 4096, 4097, all.length / 2}) {
+            int[] head = new int[Math.min(limit, all.length)];
+            System.arraycopy(all, 0, head, 0, head.length);
+            assertArrayEquals(head, bitmap.toArray(limit), "limit " + limit);
+        }
+    }
+
+    // Up to 4 chunks, each at one of the densities around the limit
+    private BitSet randomSet() {
+        BitSet set = new BitSet();
+        for (int high = 0; high < 4; high++) {
+            int density = DENSITIES[random.nextInt(DENSITIES.length)];
+            if (density == CHUNK) {
+                set.set(high * CHUNK, (high + 1) * CHUNK);
+            } else if (random.nextBoolean()) {
+                // A contiguous run overlaps a lot with other runs
+                int from = random.nextInt(CHUNK - density + 1);
+                set.set(high * CHUNK + from, high * CHUNK + from + density);
+            } else {
+                for (int added = 0; added < density; ) {
+                    int value = high * CHUNK + random.nextInt(CHUNK);
+                    if (!set.get(value)) {
+                        set.set(value);
+                        added++;
+                    }
+                }
+            }
+        }
+        return set;
+    }
+
+    private static BitSet denseChunk(int from, int to) {
+        BitSet set = new BitSet();
+        set.set(from, to);
+        return set;
+    }
+
+    private static BitSet bitSet(int... values) {
+        BitSet set = new BitSet();
+        for (int value : values) {
+            set.set(value);
+        }
+        return set;
+    }
+
+    private static Bitmap bitmap(BitSet set) {
+        Bitmap bitmap = new Bitmap();
+        set.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static void assertContent(BitSet expected, Bitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray(Integer.MAX_VALUE));
+        expected.stream().limit(50).forEach(value -> assertTrue(actual.contains(value), "contains " + value));
+        int probe = expected.isEmpty() ? 0 : expected.nextClearBit(expected.nextSetBit(0));
+        assertEquals(expected.get(probe), actual.contains(probe));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.aoi_endka.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MpscRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(2, new MpscRingBuffer<String>(2).capacity());
+        assertEquals(8, new MpscRingBuffer<String>(5).capacity());
+        assertEquals(1024, new MpscRingBuffer<String>(1024).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<String>(1));
+        assertThrows(NullPointerException.class, () -> new MpscRingBuffer<String>(4).offer(null));
+    }
+
+    @Test
+    void fullBufferRejectsUntilTheConsumerFreesASlot() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        assertNull(buffer.poll());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drain(drained::add, 3));
+        assertEquals(List.of(1, 2, 3), drained);
+        assertEquals(4, buffer.poll());
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void manyProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 200_000;
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> rejections = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            rejections.add(pool.submit(() -> {
+                start.await();
+                int rejected = 0;
+                for (int i = 0; i < perProducer; i++) {
+                    // A small buffer is full most of the time, retry until accepted
+                    while (!buffer.offer(producer << 32 | i)) {
+                        rejected++;
+                        Thread.yield();
+                    }
+                }
+                return rejected;
+            }));
+        }
+
+        // Elements of one producer must come out in the order it offered them
+        int[] next = new int[producers];
+        long received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        start.countDown();
+        while (received < (long) producers * perProducer) {
+            Long element = buffer.poll();
+            if (element == null) {
+                assertTrue(System.nanoTime() < deadline, "timed out after " + received + " elements");
+                Thread.yield();
+                continue;
+            }
+            int producer = (int) (element >>> 32);
+            int sequence = (int) (long) element;
+            assertEquals(next[producer], sequence, "producer " + producer);
+            next[producer]++;
+            received++;
+        }
+        for (Future<Integer> rejected : rejections) {
+            rejected.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, next[p]);
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+}